@@ -0,0 +1,26 @@
+package com.justlife.home.cleaning.availability.calendar;
+
+import java.time.LocalDate;
+
+/**
+ * Answers whether the company works on a date and whether a single cleaner
+ * is off on it. Checks are constant time and never hit the database on the
+ * request path once the date's year has been compiled.
+ */
+public interface WorkingCalendar {
+
+    /**
+     * False on weekly rest days and public holidays.
+     */
+    boolean isWorkingDay(LocalDate date);
+
+    /**
+     * True when the cleaner has a day off on the date.
+     */
+    boolean isCleanerOff(Long cleanerId, LocalDate date);
+
+    /**
+     * Re-reads holidays and days off of every compiled year.
+     */
+    void reload();
+}
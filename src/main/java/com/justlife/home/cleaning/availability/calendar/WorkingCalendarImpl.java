@@ -0,0 +1,139 @@
+package com.justlife.home.cleaning.availability.calendar;
+
+import com.justlife.home.cleaning.config.CalendarProperties;
+import com.justlife.home.cleaning.entity.CleanerDayOff;
+import com.justlife.home.cleaning.entity.Holiday;
+import com.justlife.home.cleaning.event.WorkingCalendarChangedEvent;
+import com.justlife.home.cleaning.repository.CleanerDayOffRepository;
+import com.justlife.home.cleaning.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar compiled into one bitset per year: a bit per day for the days
+ * nobody works, plus a bitset per cleaner for that cleaner's days off.
+ *
+ * Years are compiled on first use. Readers only see complete, immutable
+ * snapshots; a reload compiles the new years aside and swaps the whole
+ * map in one volatile write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkingCalendarImpl implements WorkingCalendar {
+
+    private final HolidayRepository holidayRepository;
+    private final CleanerDayOffRepository cleanerDayOffRepository;
+    private final CalendarProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Map<Integer, CompiledYear> years = Map.of();
+
+    @Override
+    public boolean isWorkingDay(LocalDate date) {
+        return !year(date.getYear()).closed().get(date.getDayOfYear() - 1);
+    }
+
+    @Override
+    public boolean isCleanerOff(Long cleanerId, LocalDate date) {
+        BitSet daysOff = year(date.getYear()).daysOff().get(cleanerId);
+        return daysOff != null && daysOff.get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Recompiles every year still in use and publishes a change event when
+     * the outcome differs. Past years are dropped.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${cleaning.calendar.reload-interval:5m}",
+            initialDelayString = "${cleaning.calendar.reload-interval:5m}")
+    public void reload() {
+        int currentYear = LocalDate.now().getYear();
+
+        Map<Integer, CompiledYear> fresh = new HashMap<>();
+        years.keySet().stream()
+                .filter(year -> year >= currentYear)
+                .forEach(year -> fresh.put(year, compile(year)));
+
+        Map<Integer, CompiledYear> previous;
+        synchronized (this) {
+            previous = years;
+            // keep years compiled on demand while this reload was running
+            previous.forEach((year, compiled) -> {
+                if (year >= currentYear) {
+                    fresh.putIfAbsent(year, compiled);
+                }
+            });
+            years = Map.copyOf(fresh);
+        }
+
+        Set<Integer> changed = fresh.keySet().stream()
+                .filter(year -> !fresh.get(year).equals(previous.get(year)))
+                .collect(Collectors.toSet());
+
+        if (!changed.isEmpty()) {
+            log.info("Working calendar changed for years {}", changed);
+            eventPublisher.publishEvent(WorkingCalendarChangedEvent.builder().years(changed).build());
+        }
+    }
+
+    private CompiledYear year(int year) {
+        CompiledYear compiled = years.get(year);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        synchronized (this) {
+            compiled = years.get(year);
+            if (compiled == null) {
+                compiled = compile(year);
+                Map<Integer, CompiledYear> next = new HashMap<>(years);
+                next.put(year, compiled);
+                years = Map.copyOf(next);
+            }
+            return compiled;
+        }
+    }
+
+    private CompiledYear compile(int year) {
+        LocalDate first = LocalDate.ofYearDay(year, 1);
+        LocalDate last = first.plusYears(1).minusDays(1);
+
+        BitSet closed = new BitSet(Year.of(year).length());
+        first.datesUntil(last.plusDays(1))
+                .filter(date -> properties.getWeeklyRestDays().contains(date.getDayOfWeek()))
+                .forEach(date -> closed.set(date.getDayOfYear() - 1));
+
+        for (Holiday holiday : holidayRepository.findByHolidayDateBetween(first, last)) {
+            closed.set(holiday.getHolidayDate().getDayOfYear() - 1);
+        }
+
+        Map<Long, BitSet> daysOff = new HashMap<>();
+        for (CleanerDayOff dayOff : cleanerDayOffRepository.findByDayOffDateBetween(first, last)) {
+            daysOff.computeIfAbsent(dayOff.getCleanerId(), id -> new BitSet(Year.of(year).length()))
+                    .set(dayOff.getDayOffDate().getDayOfYear() - 1);
+        }
+
+        log.debug("Compiled working calendar {}: {} closed days, {} cleaners with days off",
+                year, closed.cardinality(), daysOff.size());
+
+        return new CompiledYear(closed, Map.copyOf(daysOff));
+    }
+
+    /**
+     * Bitsets indexed by day of year (0-based). Never modified once compiled.
+     */
+    private record CompiledYear(BitSet closed, Map<Long, BitSet> daysOff) {
+    }
+}
@@ -0,0 +1,323 @@
+package com.justlife.home.cleaning.availability.heatmap;
+
+import com.justlife.home.cleaning.constants.ApplicationConstants;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import com.justlife.home.cleaning.event.RosterChangedEvent;
+import com.justlife.home.cleaning.event.WorkingCalendarChangedEvent;
+import com.justlife.home.cleaning.utils.BookingMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-(date, vehicle, half-hour slot) free-cleaner counters behind the availability heatmap.
+ *
+ * For every cleaner the store keeps how many bookings (including the break
+ * around them) block each slot. A slot is free for the cleaner when nothing
+ * blocks it and it lies inside the cleaner's shift. Per vehicle it counts the
+ * free cleaners of each slot, and per slot the number of teams of 1, 2 and 3
+ * cleaners that can be formed from a single vehicle.
+ *
+ * Booking writes only touch the slots covered by the booking, and every
+ * counter is updated by delta, so reading a cell never needs a scan. The
+ * slot each booking holds is kept by booking id, so a change applied to
+ * counters that already contain it (a change feed replay of a write that
+ * was loaded meanwhile) moves nothing.
+ */
+@Slf4j
+@Component
+public class SlotCounterStore {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int MAX_TEAM_SIZE = 3;
+
+    private static final int ORIGIN = minuteOfDay(ApplicationConstants.WORK_START);
+    public static final int SLOTS = (minuteOfDay(ApplicationConstants.WORK_END) - ORIGIN) / SLOT_MINUTES;
+
+    private final Map<LocalDate, DayCounters> days = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Start time of a slot.
+     */
+    public static LocalTime slotStart(int slot) {
+        return ApplicationConstants.WORK_START.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    /**
+     * Generation of a date, to be read before loading the bookings used for {@link #populate}.
+     */
+    public long generation(LocalDate date) {
+        return generations.getOrDefault(date, 0L);
+    }
+
+    /**
+     * Team counts of a date as teams[size - 1][slot], if the date has been loaded.
+     */
+    public Optional<int[][]> teams(LocalDate date) {
+        return Optional.ofNullable(days.get(date)).map(DayCounters::teams);
+    }
+
+    /**
+     * Builds the counters of a date from its roster and confirmed bookings.
+     * They are kept unless a booking write for the date happened after the
+     * given generation was read; the computed team counts are returned either way.
+     */
+    public int[][] populate(LocalDate date, long generation, List<Cleaner> cleaners, List<Booking> bookings) {
+
+        evictPastDates();
+
+        DayCounters day = new DayCounters(cleaners);
+        for (Booking booking : bookings) {
+            day.hold(booking.getId(), BookingMapper.toSlot(booking), date);
+        }
+        day.recount();
+
+        days.compute(date, (d, existing) -> {
+            if (generation(d) != generation) {
+                log.debug("Skipping stale heatmap counters for {}", d);
+                return existing;
+            }
+            return day;
+        });
+
+        return day.teams();
+    }
+
+    /**
+     * Drops every loaded date.
+     */
+    public void clear() {
+        days.keySet().forEach(date -> {
+            generations.merge(date, 1L, Long::sum);
+            days.remove(date);
+        });
+    }
+
+    /**
+     * Holidays or days off changed: counters were built from the old roster of the day.
+     */
+    @EventListener
+    public void onCalendarChanged(WorkingCalendarChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Shifts or vehicles changed: counters were built from the old roster of the day.
+     */
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Moves the counters of the touched slots when a booking write commits,
+     * here or on another node (replayed by the change feed).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+
+        event.getAffectedDates()
+                .forEach(date -> generations.merge(date, 1L, Long::sum));
+
+        if (event.getPrevious() != null) {
+            apply(event.getBookingId(), event.getPrevious(), false);
+        }
+        if (event.getCurrent() != null) {
+            apply(event.getBookingId(), event.getCurrent(), true);
+        }
+    }
+
+    private void apply(Long bookingId, BookingSlot slot, boolean hold) {
+        LocalDate date = slot.getDate();
+
+        days.computeIfPresent(date, (d, day) -> {
+            for (Long cleanerId : slot.getCleanerIds()) {
+                if (!day.knows(cleanerId)) {
+                    log.debug("Cleaner {} not part of heatmap counters for {}, dropping them", cleanerId, d);
+                    return null;
+                }
+            }
+            day.update(bookingId, hold ? slot : null, d);
+            return day;
+        });
+    }
+
+    private void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(date -> date.isBefore(today));
+        generations.keySet().removeIf(date -> date.isBefore(today));
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Counters of one date. Mutated only inside {@code days.compute*}, read under its own lock.
+     */
+    private static final class DayCounters {
+
+        private final Map<Long, Long> vehicleOf = new HashMap<>();
+        private final Map<Long, int[]> blocked = new HashMap<>();
+        private final Map<Long, int[]> freeByVehicle = new HashMap<>();
+        private final Map<Long, BookingSlot> held = new HashMap<>();
+        private final int[][] teams = new int[MAX_TEAM_SIZE][SLOTS];
+
+        private DayCounters(List<Cleaner> cleaners) {
+            for (Cleaner cleaner : cleaners) {
+                Long vehicleId = cleaner.getVehicle().getId();
+                vehicleOf.put(cleaner.getId(), vehicleId);
+                freeByVehicle.computeIfAbsent(vehicleId, id -> new int[SLOTS]);
+
+                // slots outside the shift stay blocked for good
+                int[] cells = new int[SLOTS];
+                int shiftStart = minuteOfDay(cleaner.getWorkStart());
+                int shiftEnd = minuteOfDay(cleaner.getWorkEnd());
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    int from = ORIGIN + slot * SLOT_MINUTES;
+                    if (from < shiftStart || from + SLOT_MINUTES > shiftEnd) {
+                        cells[slot] = 1;
+                    }
+                }
+                blocked.put(cleaner.getId(), cells);
+            }
+        }
+
+        private boolean knows(Long cleanerId) {
+            return blocked.containsKey(cleanerId);
+        }
+
+        private synchronized int[][] teams() {
+            int[][] copy = new int[MAX_TEAM_SIZE][];
+            for (int size = 0; size < MAX_TEAM_SIZE; size++) {
+                copy[size] = teams[size].clone();
+            }
+            return copy;
+        }
+
+        /**
+         * Holds the slot of a loaded booking. Only adjusts the per-cleaner block
+         * counts; {@link #recount()} derives the rest.
+         */
+        private void hold(Long bookingId, BookingSlot slot, LocalDate date) {
+            held.put(bookingId, slot);
+            for (Long cleanerId : slot.getCleanerIds()) {
+                int[] cells = blocked.get(cleanerId);
+                if (cells != null) {
+                    forEachSlot(slot.getStart(), slot.getEnd(), date, index -> cells[index]++);
+                }
+            }
+        }
+
+        /**
+         * Gives the booking the slot, or takes it away when {@code slot} is
+         * null, and moves the counters by the difference to what it held.
+         */
+        private synchronized void update(Long bookingId, BookingSlot slot, LocalDate date) {
+            BookingSlot before = slot == null ? held.remove(bookingId) : held.put(bookingId, slot);
+            if (Objects.equals(before, slot)) {
+                return;
+            }
+
+            if (before != null) {
+                for (Long cleanerId : before.getCleanerIds()) {
+                    blockAndCount(cleanerId, before.getStart(), before.getEnd(), date, -1);
+                }
+            }
+            if (slot != null) {
+                for (Long cleanerId : slot.getCleanerIds()) {
+                    blockAndCount(cleanerId, slot.getStart(), slot.getEnd(), date, 1);
+                }
+            }
+        }
+
+        /**
+         * Adjusts block counts and, for every slot that turns free or busy,
+         * the vehicle's free count and the team counts.
+         */
+        private synchronized void blockAndCount(Long cleanerId, LocalDateTime start, LocalDateTime end,
+                                                LocalDate date, int delta) {
+            int[] cells = blocked.get(cleanerId);
+            if (cells == null) {
+                return;
+            }
+            int[] free = freeByVehicle.get(vehicleOf.get(cleanerId));
+
+            forEachSlot(start, end, date, slot -> {
+                boolean wasFree = cells[slot] == 0;
+                cells[slot] += delta;
+                boolean isFree = cells[slot] == 0;
+
+                if (wasFree != isFree) {
+                    int before = free[slot];
+                    int after = before + (isFree ? 1 : -1);
+                    free[slot] = after;
+
+                    for (int size = 1; size <= MAX_TEAM_SIZE; size++) {
+                        teams[size - 1][slot] += after / size - before / size;
+                    }
+                }
+            });
+        }
+
+        private synchronized void recount() {
+            freeByVehicle.values().forEach(free -> Arrays.fill(free, 0));
+            for (int[] row : teams) {
+                Arrays.fill(row, 0);
+            }
+
+            blocked.forEach((cleanerId, cells) -> {
+                int[] free = freeByVehicle.get(vehicleOf.get(cleanerId));
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    if (cells[slot] == 0) {
+                        free[slot]++;
+                    }
+                }
+            });
+
+            freeByVehicle.values().forEach(free -> {
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    for (int size = 1; size <= MAX_TEAM_SIZE; size++) {
+                        teams[size - 1][slot] += free[slot] / size;
+                    }
+                }
+            });
+        }
+
+        /**
+         * Slots of the date overlapping the booking extended by the break on both sides.
+         */
+        private static void forEachSlot(LocalDateTime start, LocalDateTime end, LocalDate date,
+                                        IntConsumer action) {
+            LocalDateTime dayStart = date.atTime(ApplicationConstants.WORK_START);
+
+            long from = Duration.between(dayStart, start).toMinutes() - ApplicationConstants.BREAK_MINUTES;
+            long to = Duration.between(dayStart, end).toMinutes() + ApplicationConstants.BREAK_MINUTES;
+
+            int first = (int) Math.max(0, Math.floorDiv(from, SLOT_MINUTES));
+            int last = (int) Math.min(SLOTS, Math.ceilDiv(to, SLOT_MINUTES));
+
+            for (int slot = first; slot < last; slot++) {
+                action.accept(slot);
+            }
+        }
+    }
+}
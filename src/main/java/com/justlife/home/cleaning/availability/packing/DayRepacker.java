@@ -0,0 +1,265 @@
+package com.justlife.home.cleaning.availability.packing;
+
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
+import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculator;
+import com.justlife.home.cleaning.config.RepackingProperties;
+import com.justlife.home.cleaning.constants.ApplicationConstants;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reassigns the bookings of one vehicle's day among its cleaners so that
+ * the free time left is as sellable and contiguous as possible.
+ *
+ * Booking times never change; a cleaner only takes a booking when the
+ * {@link CleanerAvailabilityRule} allows it (shift, days off, break between
+ * bookings). The search is an iterated local search: hill climbing over
+ * "move one cleaner of a booking to a teammate" and "swap two cleaners
+ * between bookings", then a few random moves from the best assignment to
+ * leave the local optimum, until the deadline or the restart limit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DayRepacker {
+
+    private final CleanerAvailabilityRule cleanerAvailabilityRule;
+    private final FreeWindowCalculator freeWindowCalculator;
+    private final WorkingCalendar workingCalendar;
+    private final RepackingProperties properties;
+
+    /**
+     * Best assignment found for {@code bookings}, all served by {@code team}.
+     */
+    public Result repack(LocalDate date, List<Cleaner> team, List<Booking> bookings, Instant deadline, Random random) {
+
+        Search search = new Search(date, team, bookings);
+
+        PackingScore initial = search.total;
+        Map<Long, Set<Long>> best = search.snapshot();
+        PackingScore bestScore = initial;
+
+        for (int restart = 0; restart <= properties.getMaxRestarts() && Instant.now().isBefore(deadline); restart++) {
+            search.climb(deadline);
+
+            if (search.total.compareTo(bestScore) > 0) {
+                best = search.snapshot();
+                bestScore = search.total;
+            } else {
+                search.restore(best);
+            }
+            search.perturb(random, properties.getPerturbationMoves());
+        }
+
+        log.debug("Re-packed {} bookings of {} cleaners on {}: {} -> {}",
+                bookings.size(), team.size(), date, initial, bestScore);
+
+        return new Result(initial, bestScore, best);
+    }
+
+    /**
+     * @param assignment booking id to the ids of its cleaners
+     */
+    public record Result(PackingScore before, PackingScore after, Map<Long, Set<Long>> assignment) {
+    }
+
+    /**
+     * Mutable state of one vehicle's search.
+     */
+    private final class Search {
+
+        private final LocalDate date;
+        private final Map<Long, Cleaner> cleaners;
+        private final List<Long> cleanerIds;
+        private final List<Booking> bookings;
+
+        private final Map<Booking, Set<Long>> assigned = new LinkedHashMap<>();
+        private final Map<Long, List<Booking>> byCleaner = new HashMap<>();
+        private final Map<Long, PackingScore> scores = new HashMap<>();
+        private PackingScore total = PackingScore.ZERO;
+
+        private Search(LocalDate date, List<Cleaner> team, List<Booking> bookings) {
+            this.date = date;
+            this.cleaners = team.stream().collect(Collectors.toMap(Cleaner::getId, Function.identity()));
+            this.cleanerIds = team.stream().map(Cleaner::getId).sorted().toList();
+            this.bookings = bookings.stream()
+                    .sorted(Comparator.comparing(Booking::getStartDateTime).thenComparing(Booking::getId))
+                    .toList();
+
+            restore(this.bookings.stream().collect(Collectors.toMap(Booking::getId,
+                    b -> b.getCleaners().stream().map(Cleaner::getId).collect(Collectors.toSet()))));
+        }
+
+        private Map<Long, Set<Long>> snapshot() {
+            Map<Long, Set<Long>> snapshot = new HashMap<>();
+            assigned.forEach((booking, ids) -> snapshot.put(booking.getId(), Set.copyOf(ids)));
+            return snapshot;
+        }
+
+        private void restore(Map<Long, Set<Long>> assignment) {
+            assigned.clear();
+            byCleaner.clear();
+            cleanerIds.forEach(id -> byCleaner.put(id, new ArrayList<>()));
+
+            for (Booking booking : bookings) {
+                Set<Long> ids = new TreeSet<>(assignment.get(booking.getId()));
+                assigned.put(booking, ids);
+                ids.forEach(id -> byCleaner.computeIfAbsent(id, k -> new ArrayList<>()).add(booking));
+            }
+
+            total = PackingScore.ZERO;
+            scores.clear();
+            for (Long id : byCleaner.keySet()) {
+                PackingScore score = scoreOf(id, byCleaner.get(id));
+                scores.put(id, score);
+                total = total.plus(score);
+            }
+        }
+
+        /**
+         * Applies improving moves until none is left or time is up.
+         */
+        private void climb(Instant deadline) {
+            boolean improved = true;
+            while (improved && Instant.now().isBefore(deadline)) {
+                improved = improveByMove() || improveBySwap();
+            }
+        }
+
+        private boolean improveByMove() {
+            for (Booking booking : bookings) {
+                for (Long from : List.copyOf(assigned.get(booking))) {
+                    for (Long to : cleanerIds) {
+                        if (!assigned.get(booking).contains(to) && canTake(to, booking, null)
+                                && gain(from, without(from, booking), to, with(to, booking, null)) > 0) {
+                            move(booking, from, to);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean improveBySwap() {
+            for (Booking first : bookings) {
+                for (Booking second : bookings) {
+                    if (first.getId() >= second.getId()) {
+                        continue;
+                    }
+                    for (Long a : List.copyOf(assigned.get(first))) {
+                        for (Long b : List.copyOf(assigned.get(second))) {
+                            if (assigned.get(first).contains(b) || assigned.get(second).contains(a)) {
+                                continue;
+                            }
+                            // a leaves first for second, b leaves second for first
+                            if (canTake(b, first, second) && canTake(a, second, first)
+                                    && gain(a, with(a, second, first), b, with(b, first, second)) > 0) {
+                                move(first, a, b);
+                                move(second, b, a);
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Random feasible moves, whatever their effect on the score.
+         */
+        private void perturb(Random random, int moves) {
+            if (bookings.isEmpty() || cleanerIds.size() < 2) {
+                return;
+            }
+            for (int attempt = 0, done = 0; done < moves && attempt < moves * 10; attempt++) {
+                Booking booking = bookings.get(random.nextInt(bookings.size()));
+                List<Long> current = List.copyOf(assigned.get(booking));
+                Long from = current.get(random.nextInt(current.size()));
+                Long to = cleanerIds.get(random.nextInt(cleanerIds.size()));
+
+                if (!current.contains(to) && canTake(to, booking, null)) {
+                    move(booking, from, to);
+                    done++;
+                }
+            }
+        }
+
+        private boolean canTake(Long cleanerId, Booking booking, Booking leaving) {
+            Cleaner cleaner = cleaners.get(cleanerId);
+            return cleaner != null && cleanerAvailabilityRule.isCleanerAvailable(
+                    cleaner, date, booking.getStartDateTime(), booking.getEndDateTime(),
+                    without(cleanerId, leaving));
+        }
+
+        /**
+         * Score change of two cleaners getting the given booking lists.
+         */
+        private int gain(Long a, List<Booking> aBookings, Long b, List<Booking> bBookings) {
+            PackingScore after = total
+                    .minus(scores.get(a)).minus(scores.get(b))
+                    .plus(scoreOf(a, aBookings)).plus(scoreOf(b, bBookings));
+            return after.compareTo(total);
+        }
+
+        private void move(Booking booking, Long from, Long to) {
+            assigned.get(booking).remove(from);
+            assigned.get(booking).add(to);
+            byCleaner.get(from).remove(booking);
+            byCleaner.get(to).add(booking);
+            rescore(from);
+            rescore(to);
+        }
+
+        private void rescore(Long cleanerId) {
+            PackingScore score = scoreOf(cleanerId, byCleaner.get(cleanerId));
+            total = total.minus(scores.get(cleanerId)).plus(score);
+            scores.put(cleanerId, score);
+        }
+
+        private List<Booking> with(Long cleanerId, Booking added, Booking removed) {
+            List<Booking> result = without(cleanerId, removed);
+            result.add(added);
+            return result;
+        }
+
+        private List<Booking> without(Long cleanerId, Booking removed) {
+            List<Booking> result = new ArrayList<>(byCleaner.getOrDefault(cleanerId, List.of()));
+            if (removed != null) {
+                result.remove(removed);
+            }
+            return result;
+        }
+
+        private PackingScore scoreOf(Long cleanerId, List<Booking> cleanerBookings) {
+            Cleaner cleaner = cleaners.get(cleanerId);
+            // free time of a cleaner who is off cannot be sold whatever the assignment
+            if (cleaner == null || workingCalendar.isCleanerOff(cleanerId, date)) {
+                return PackingScore.ZERO;
+            }
+            LocalTime workEnd = Optional.ofNullable(cleaner.getWorkEnd()).orElse(ApplicationConstants.WORK_END);
+            return PackingScore.of(freeWindowCalculator.computeFreeWindows(cleaner, date, cleanerBookings), workEnd);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.justlife.home.cleaning.availability.packing;
+
+import com.justlife.home.cleaning.constants.ApplicationConstants;
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * How well free time is packed. Ordered by sellable minutes first (free
+ * time that can still take the shortest booking, break included), then by
+ * the sum of squared window lengths, which grows as free time gets more
+ * contiguous.
+ */
+public record PackingScore(long sellableMinutes, long freeMinutes, long contiguity)
+        implements Comparable<PackingScore> {
+
+    public static final PackingScore ZERO = new PackingScore(0, 0, 0);
+
+    // bookings last 2 or 4 hours
+    static final int SHORTEST_BOOKING_MINUTES = 120;
+
+    /**
+     * Score of one cleaner's free windows; {@code workEnd} tells the last
+     * window, which needs no break before a following booking.
+     */
+    public static PackingScore of(List<TimeWindowDTO> windows, LocalTime workEnd) {
+        long sellable = 0;
+        long free = 0;
+        long contiguity = 0;
+
+        for (TimeWindowDTO window : windows) {
+            long minutes = Duration.between(window.getStart(), window.getEnd()).toMinutes();
+            long usable = window.getEnd().isBefore(workEnd)
+                    ? minutes - ApplicationConstants.BREAK_MINUTES
+                    : minutes;
+
+            free += minutes;
+            contiguity += minutes * minutes;
+            if (usable >= SHORTEST_BOOKING_MINUTES) {
+                sellable += usable;
+            }
+        }
+
+        return new PackingScore(sellable, free, contiguity);
+    }
+
+    public PackingScore plus(PackingScore other) {
+        return new PackingScore(sellableMinutes + other.sellableMinutes,
+                freeMinutes + other.freeMinutes,
+                contiguity + other.contiguity);
+    }
+
+    public PackingScore minus(PackingScore other) {
+        return new PackingScore(sellableMinutes - other.sellableMinutes,
+                freeMinutes - other.freeMinutes,
+                contiguity - other.contiguity);
+    }
+
+    @Override
+    public int compareTo(PackingScore other) {
+        int bySellable = Long.compare(sellableMinutes, other.sellableMinutes);
+        return bySellable != 0 ? bySellable : Long.compare(contiguity, other.contiguity);
+    }
+}
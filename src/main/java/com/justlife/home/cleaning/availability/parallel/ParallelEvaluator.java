@@ -0,0 +1,81 @@
+package com.justlife.home.cleaning.availability.parallel;
+
+import com.justlife.home.cleaning.config.AvailabilityEvaluationProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Applies a per-cleaner computation to a whole fleet.
+ *
+ * Once bookings are in memory the cleaners are independent of each other,
+ * so large fleets are split in halves until chunks are small enough and the
+ * chunks are evaluated on the dedicated availability pool (never the common
+ * pool). Fleets below the sequential threshold stay on the calling thread,
+ * where forking would cost more than it saves. Results keep the input order.
+ */
+@Component
+public class ParallelEvaluator {
+
+    private final ForkJoinPool availabilityEvaluationPool;
+    private final AvailabilityEvaluationProperties properties;
+
+    public ParallelEvaluator(@Qualifier("availabilityEvaluationPool") ForkJoinPool availabilityEvaluationPool,
+                             AvailabilityEvaluationProperties properties) {
+        this.availabilityEvaluationPool = availabilityEvaluationPool;
+        this.properties = properties;
+    }
+
+    public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+        if (!properties.isParallel() || items.size() < properties.getSequentialThreshold()) {
+            return items.stream().<R>map(function).toList();
+        }
+
+        Object[] results = new Object[items.size()];
+        availabilityEvaluationPool.invoke(new Chunk<>(items, function, results, 0, items.size(),
+                Math.max(1, properties.getChunkSize())));
+
+        @SuppressWarnings("unchecked")
+        List<R> mapped = (List<R>) Arrays.asList(results);
+        return mapped;
+    }
+
+    private static final class Chunk<T, R> extends RecursiveAction {
+
+        private final List<T> items;
+        private final Function<? super T, ? extends R> function;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private Chunk(List<T> items, Function<? super T, ? extends R> function, Object[] results,
+                      int from, int to, int chunkSize) {
+            this.items = items;
+            this.function = function;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = function.apply(items.get(i));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk<>(items, function, results, from, middle, chunkSize),
+                    new Chunk<>(items, function, results, middle, to, chunkSize));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.justlife.home.cleaning.availability.roster;
+
+import com.justlife.home.cleaning.entity.Cleaner;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the cleaners, grouped into shift buckets ordered by
+ * shift start (then shift end).
+ */
+public final class Roster {
+
+    private static final Comparator<ShiftKey> SHIFT_ORDER = Comparator
+            .comparing(ShiftKey::start)
+            .thenComparing(ShiftKey::end);
+
+    private final List<Cleaner> cleaners;
+    private final List<ShiftBucket> buckets;
+
+    private Roster(List<Cleaner> cleaners, List<ShiftBucket> buckets) {
+        this.cleaners = cleaners;
+        this.buckets = buckets;
+    }
+
+    public static Roster of(List<Cleaner> cleaners) {
+        Map<ShiftKey, List<Cleaner>> grouped = new TreeMap<>(SHIFT_ORDER);
+        for (Cleaner cleaner : cleaners) {
+            grouped.computeIfAbsent(new ShiftKey(cleaner.getWorkStart(), cleaner.getWorkEnd()),
+                    key -> new ArrayList<>()).add(cleaner);
+        }
+
+        List<ShiftBucket> buckets = grouped.entrySet().stream()
+                .map(e -> new ShiftBucket(e.getKey().start(), e.getKey().end(), List.copyOf(e.getValue())))
+                .toList();
+
+        return new Roster(List.copyOf(cleaners), buckets);
+    }
+
+    public List<Cleaner> cleaners() {
+        return cleaners;
+    }
+
+    public List<ShiftBucket> buckets() {
+        return buckets;
+    }
+
+    /**
+     * Cleaners whose shift contains the whole interval, in id order.
+     * Buckets are scanned by shift start and the scan stops at the first
+     * bucket starting after the interval; buckets ending too early are
+     * skipped without looking at their cleaners.
+     */
+    public List<Cleaner> cleanersCovering(LocalDateTime start, LocalDateTime end) {
+        if (!start.toLocalDate().equals(end.toLocalDate())) {
+            return List.of();
+        }
+
+        LocalTime from = start.toLocalTime();
+        LocalTime to = end.toLocalTime();
+
+        List<Cleaner> covering = new ArrayList<>();
+        for (ShiftBucket bucket : buckets) {
+            if (bucket.shiftStart().isAfter(from)) {
+                break;
+            }
+            if (bucket.covers(from, to)) {
+                covering.addAll(bucket.cleaners());
+            }
+        }
+
+        covering.sort(Comparator.comparing(Cleaner::getId));
+        return covering;
+    }
+
+    private record ShiftKey(LocalTime start, LocalTime end) {
+    }
+}
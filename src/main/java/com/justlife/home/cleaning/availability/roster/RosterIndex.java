@@ -0,0 +1,137 @@
+package com.justlife.home.cleaning.availability.roster;
+
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.event.RosterChangedEvent;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory roster grouped by shift pattern, so slot queries only look at
+ * cleaners whose shift can cover the requested interval. The roster is also
+ * partitioned by vehicle zone, so a zone-scoped request never sees the
+ * cleaners of other zones.
+ *
+ * Loaded on first use with the vehicles fetched in the same query, and
+ * replaced as a whole on refresh; callers keep working on the snapshot
+ * they obtained. A refresh that finds cleaners added, removed or with a
+ * different shift, vehicle or zone publishes a {@link RosterChangedEvent}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RosterIndex {
+
+    private static final Roster EMPTY = Roster.of(List.of());
+
+    private final CleanerRepository cleanerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Fleet fleet;
+
+    /**
+     * Current snapshot of the whole fleet, loading it if needed.
+     */
+    public Roster current() {
+        return fleet().all();
+    }
+
+    /**
+     * Current snapshot of one zone; empty for an unknown zone.
+     */
+    public Roster current(String zone) {
+        return fleet().byZone().getOrDefault(zone, EMPTY);
+    }
+
+    /**
+     * Zones having at least one cleaner, in name order.
+     */
+    public Set<String> zones() {
+        return fleet().byZone().keySet();
+    }
+
+    /**
+     * Re-reads the roster, picking up new cleaners and changed shifts or zones.
+     */
+    @Scheduled(fixedDelayString = "${cleaning.roster.refresh-interval:5m}",
+            initialDelayString = "${cleaning.roster.refresh-interval:5m}")
+    public void refresh() {
+        Fleet fresh = load();
+        Fleet previous;
+        synchronized (this) {
+            previous = fleet;
+            fleet = fresh;
+        }
+
+        if (previous == null) {
+            return;
+        }
+
+        Set<Long> changed = new HashSet<>(previous.assignments().keySet());
+        changed.addAll(fresh.assignments().keySet());
+        changed.removeIf(id -> Objects.equals(previous.assignments().get(id), fresh.assignments().get(id)));
+
+        if (!changed.isEmpty()) {
+            log.info("Roster changed for cleaners {}", changed);
+            eventPublisher.publishEvent(RosterChangedEvent.builder().cleanerIds(changed).build());
+        }
+    }
+
+    private Fleet fleet() {
+        Fleet current = fleet;
+        if (current == null) {
+            synchronized (this) {
+                current = fleet;
+                if (current == null) {
+                    current = load();
+                    fleet = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Fleet load() {
+        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+
+        Map<String, Roster> byZone = cleaners.stream()
+                .collect(Collectors.groupingBy(c -> c.getVehicle().getZone(), TreeMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> Roster.of(e.getValue()),
+                        (a, b) -> a, TreeMap::new));
+
+        Map<Long, Assignment> assignments = cleaners.stream()
+                .collect(Collectors.toMap(Cleaner::getId, Assignment::of));
+
+        Fleet loaded = new Fleet(Roster.of(cleaners), byZone, assignments);
+        log.debug("Loaded roster of {} cleaners in {} shift buckets across zones {}",
+                cleaners.size(), loaded.all().buckets().size(), byZone.keySet());
+        return loaded;
+    }
+
+    private record Fleet(Roster all, Map<String, Roster> byZone, Map<Long, Assignment> assignments) {
+    }
+
+    /**
+     * What cached views depend on from a cleaner.
+     */
+    private record Assignment(LocalTime workStart, LocalTime workEnd, Long vehicleId, String zone) {
+
+        static Assignment of(Cleaner cleaner) {
+            return new Assignment(cleaner.getWorkStart(), cleaner.getWorkEnd(),
+                    cleaner.getVehicle().getId(), cleaner.getVehicle().getZone());
+        }
+    }
+}
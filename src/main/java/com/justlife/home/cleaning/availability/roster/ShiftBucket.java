@@ -0,0 +1,19 @@
+package com.justlife.home.cleaning.availability.roster;
+
+import com.justlife.home.cleaning.entity.Cleaner;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * All cleaners sharing the same shift pattern.
+ */
+public record ShiftBucket(LocalTime shiftStart, LocalTime shiftEnd, List<Cleaner> cleaners) {
+
+    /**
+     * Whether the shift contains the whole interval.
+     */
+    public boolean covers(LocalTime start, LocalTime end) {
+        return !start.isBefore(shiftStart) && !end.isAfter(shiftEnd);
+    }
+}
@@ -15,10 +15,4 @@ public interface CleanerAvailabilityRule {
             LocalDateTime end,
             List<Booking> bookings
     );
-
-    boolean isCleanerAvailableForUpdate(Cleaner cleaner,
-                                        Long bookingId,
-                                        LocalDate date,
-                                        LocalDateTime start,
-                                        LocalDateTime end);
 }
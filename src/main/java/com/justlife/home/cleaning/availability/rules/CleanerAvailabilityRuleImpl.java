@@ -1,9 +1,10 @@
 package com.justlife.home.cleaning.availability.rules;
 
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
 import com.justlife.home.cleaning.constants.ApplicationConstants;
 import com.justlife.home.cleaning.entity.Booking;
 import com.justlife.home.cleaning.entity.Cleaner;
-import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.utils.ValidationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Implementation of CleanerAvailabilityRule responsible for checking
@@ -23,11 +23,12 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class CleanerAvailabilityRuleImpl implements CleanerAvailabilityRule {
 
-    private final BookingRepository bookingRepository;
+    private final WorkingCalendar workingCalendar;
 
     /**
      * Validates whether a cleaner is available for a new booking.
      * Applies break buffer and checks for time overlap with existing bookings.
+     * Cleaners on a day off, or whose shift does not cover the slot, are never available.
      */
     @Override
     public boolean isCleanerAvailable(
@@ -37,6 +38,10 @@ public class CleanerAvailabilityRuleImpl implements CleanerAvailabilityRule {
             LocalDateTime end,
             List<Booking> bookings) {
 
+        if (isOffOrOutsideShift(cleaner, date, start, end)) {
+            return false;
+        }
+
         for (Booking booking : bookings) {
             if (isOverlappingWithBreak(start, end, booking)) {
                 logConflict(cleaner, booking, "new booking");
@@ -47,37 +52,23 @@ public class CleanerAvailabilityRuleImpl implements CleanerAvailabilityRule {
         return true;
     }
 
-    /**
-     * Validates availability for booking updates.
-     * Ignores the booking being updated.
-     */
-    @Override
-    public boolean isCleanerAvailableForUpdate(
-            Cleaner cleaner,
-            Long bookingId,
-            LocalDate date,
-            LocalDateTime start,
-            LocalDateTime end) {
-
-        List<Booking> bookings = bookingRepository.findByCleanerAndDate(cleaner, date);
-
-        for (Booking booking : bookings) {
+    // Private Helpers
 
-            if (Objects.equals(booking.getId(), bookingId)) {
-                continue; // Skip the booking being updated
-            }
+    private boolean isOffOrOutsideShift(Cleaner cleaner, LocalDate date, LocalDateTime start, LocalDateTime end) {
+        if (workingCalendar.isCleanerOff(cleaner.getId(), date)) {
+            log.debug("Cleaner '{}' is off on {}", cleaner.getName(), date);
+            return true;
+        }
 
-            if (isOverlappingWithBreak(start, end, booking)) {
-                logConflict(cleaner, booking, "update request");
-                return false;
-            }
+        if (ValidationUtils.isOutsideShift(start, end, cleaner.getWorkStart(), cleaner.getWorkEnd())) {
+            log.debug("Cleaner '{}' shift {} - {} does not cover {} - {}",
+                    cleaner.getName(), cleaner.getWorkStart(), cleaner.getWorkEnd(), start, end);
+            return true;
         }
 
-        return true;
+        return false;
     }
 
-    // Private Helpers
-
     /**
      * Applies break buffer and checks if (start, end) overlaps with an existing booking.
      */
@@ -0,0 +1,299 @@
+package com.justlife.home.cleaning.availability.utilization;
+
+import com.justlife.home.cleaning.availability.packing.PackingScore;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculator;
+import com.justlife.home.cleaning.config.UtilizationProperties;
+import com.justlife.home.cleaning.constants.ApplicationConstants;
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import com.justlife.home.cleaning.event.RosterChangedEvent;
+import com.justlife.home.cleaning.event.WorkingCalendarChangedEvent;
+import com.justlife.home.cleaning.utils.BookingMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-(date, vehicle) utilization counters: available, booked, break, free
+ * and fragmented cleaner-minutes.
+ *
+ * Each vehicle total is the sum of its cleaners' counters. A booking write
+ * only recomputes the cleaners it holds, from their few bookings of the day,
+ * and moves the vehicle totals by the difference, so reading a vehicle's
+ * utilization never needs an aggregate over the bookings.
+ *
+ * Only today and the configured horizon ahead are kept, so memory stays
+ * bounded however far back or ahead reports and writes reach; dates outside
+ * it are computed for the caller and dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UtilizationCounterStore {
+
+    private final FreeWindowCalculator freeWindowCalculator;
+    private final UtilizationProperties properties;
+
+    private final Map<LocalDate, DayUtilization> days = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Generation of a date, to be read before loading the bookings used for {@link #populate}.
+     */
+    public long generation(LocalDate date) {
+        return generations.getOrDefault(date, 0L);
+    }
+
+    /**
+     * Totals per vehicle id of a date, if the date has been loaded.
+     */
+    public Optional<Map<Long, VehicleUtilization>> get(LocalDate date) {
+        return Optional.ofNullable(days.get(date)).map(DayUtilization::totals);
+    }
+
+    /**
+     * Totals of one vehicle on a date, if the date has been loaded and the vehicle works that day.
+     */
+    public Optional<VehicleUtilization> get(LocalDate date, Long vehicleId) {
+        return Optional.ofNullable(days.get(date)).map(day -> day.total(vehicleId));
+    }
+
+    /**
+     * Builds the counters of a date from the cleaners working that day and its
+     * confirmed bookings. They are kept unless a booking write for the date
+     * happened after the given generation was read; the computed totals are
+     * returned either way.
+     */
+    public Map<Long, VehicleUtilization> populate(LocalDate date, long generation,
+                                                  List<Cleaner> cleaners, List<Booking> bookings) {
+
+        evictPastDates();
+
+        DayUtilization day = new DayUtilization(date, cleaners);
+        for (Booking booking : bookings) {
+            BookingSlot slot = BookingMapper.toSlot(booking);
+            slot.getCleanerIds().forEach(cleanerId -> day.hold(cleanerId, booking.getId(), slot));
+        }
+        day.recount();
+
+        if (!inHorizon(date)) {
+            return day.totals();
+        }
+
+        days.compute(date, (d, existing) -> {
+            if (generation(d) != generation) {
+                log.debug("Skipping stale utilization counters for {}", d);
+                return existing;
+            }
+            return day;
+        });
+
+        return day.totals();
+    }
+
+    /**
+     * Drops every loaded date.
+     */
+    public void clear() {
+        days.keySet().forEach(date -> {
+            generations.merge(date, 1L, Long::sum);
+            days.remove(date);
+        });
+    }
+
+    /**
+     * Holidays or days off changed: available minutes were counted from the old roster of the day.
+     */
+    @EventListener
+    public void onCalendarChanged(WorkingCalendarChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Shifts or vehicles changed: available minutes and vehicle totals follow the old roster.
+     */
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Moves the counters of the booking's cleaners when a write commits,
+     * here or on another node (replayed by the change feed).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+
+        // dates outside the horizon are never kept, so their generation is not needed
+        event.getAffectedDates().stream()
+                .filter(this::inHorizon)
+                .forEach(date -> generations.merge(date, 1L, Long::sum));
+
+        if (event.getPrevious() != null) {
+            apply(event.getBookingId(), event.getPrevious(), false);
+        }
+        if (event.getCurrent() != null) {
+            apply(event.getBookingId(), event.getCurrent(), true);
+        }
+    }
+
+    private void apply(Long bookingId, BookingSlot slot, boolean hold) {
+        LocalDate date = slot.getDate();
+
+        days.computeIfPresent(date, (d, day) -> {
+            for (Long cleanerId : slot.getCleanerIds()) {
+                if (!day.knows(cleanerId)) {
+                    log.debug("Cleaner {} not part of utilization counters for {}, dropping them", cleanerId, d);
+                    return null;
+                }
+            }
+            day.update(slot.getCleanerIds(), bookingId, hold ? slot : null);
+            return day;
+        });
+    }
+
+    private boolean inHorizon(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(properties.getHorizonDays()));
+    }
+
+    private void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(date -> date.isBefore(today));
+        generations.keySet().removeIf(date -> date.isBefore(today));
+    }
+
+    /**
+     * Counters of one date. Mutated only inside {@code days.compute*}, read under its own lock.
+     */
+    private final class DayUtilization {
+
+        private final LocalDate date;
+        private final Map<Long, Cleaner> workdays = new HashMap<>();
+        private final Map<Long, Long> vehicleOf = new HashMap<>();
+        private final Map<Long, Map<Long, BookingSlot>> held = new HashMap<>();
+        private final Map<Long, VehicleUtilization> byCleaner = new HashMap<>();
+        private final Map<Long, VehicleUtilization> byVehicle = new HashMap<>();
+
+        private DayUtilization(LocalDate date, List<Cleaner> cleaners) {
+            this.date = date;
+            for (Cleaner cleaner : cleaners) {
+                workdays.put(cleaner.getId(), Cleaner.builder()
+                        .id(cleaner.getId())
+                        .name(cleaner.getName())
+                        .workStart(Optional.ofNullable(cleaner.getWorkStart()).orElse(ApplicationConstants.WORK_START))
+                        .workEnd(Optional.ofNullable(cleaner.getWorkEnd()).orElse(ApplicationConstants.WORK_END))
+                        .build());
+                vehicleOf.put(cleaner.getId(), cleaner.getVehicle().getId());
+                held.put(cleaner.getId(), new HashMap<>());
+            }
+        }
+
+        private boolean knows(Long cleanerId) {
+            return workdays.containsKey(cleanerId);
+        }
+
+        private synchronized Map<Long, VehicleUtilization> totals() {
+            return Map.copyOf(byVehicle);
+        }
+
+        private synchronized VehicleUtilization total(Long vehicleId) {
+            return byVehicle.get(vehicleId);
+        }
+
+        /**
+         * Only records the booking; {@link #recount()} derives the counters.
+         */
+        private void hold(Long cleanerId, Long bookingId, BookingSlot slot) {
+            Map<Long, BookingSlot> bookings = held.get(cleanerId);
+            if (bookings != null) {
+                bookings.put(bookingId, slot);
+            }
+        }
+
+        /**
+         * Gives the booking to the cleaners, or takes it away when {@code slot}
+         * is null, and moves their vehicles' totals by the difference.
+         */
+        private synchronized void update(List<Long> cleanerIds, Long bookingId, BookingSlot slot) {
+            for (Long cleanerId : cleanerIds) {
+                if (slot == null) {
+                    held.get(cleanerId).remove(bookingId);
+                } else {
+                    held.get(cleanerId).put(bookingId, slot);
+                }
+
+                VehicleUtilization before = byCleaner.get(cleanerId);
+                VehicleUtilization after = count(cleanerId);
+                byCleaner.put(cleanerId, after);
+                byVehicle.merge(vehicleOf.get(cleanerId), after.minus(before), VehicleUtilization::plus);
+            }
+        }
+
+        private synchronized void recount() {
+            byCleaner.clear();
+            byVehicle.clear();
+            for (Long cleanerId : workdays.keySet()) {
+                VehicleUtilization counters = count(cleanerId);
+                byCleaner.put(cleanerId, counters);
+                byVehicle.merge(vehicleOf.get(cleanerId), counters, VehicleUtilization::plus);
+            }
+        }
+
+        /**
+         * Counters of one cleaner from the bookings they hold on the date.
+         */
+        private VehicleUtilization count(Long cleanerId) {
+            Cleaner workday = workdays.get(cleanerId);
+            LocalDateTime shiftStart = date.atTime(workday.getWorkStart());
+            LocalDateTime shiftEnd = date.atTime(workday.getWorkEnd());
+
+            long booked = 0;
+            List<Booking> bookings = held.get(cleanerId).values().stream()
+                    .map(slot -> Booking.builder()
+                            .startDateTime(slot.getStart())
+                            .endDateTime(slot.getEnd())
+                            .build())
+                    .toList();
+            for (Booking booking : bookings) {
+                LocalDateTime from = booking.getStartDateTime().isBefore(shiftStart)
+                        ? shiftStart
+                        : booking.getStartDateTime();
+                LocalDateTime to = booking.getEndDateTime().isAfter(shiftEnd)
+                        ? shiftEnd
+                        : booking.getEndDateTime();
+                booked += Math.max(0, Duration.between(from, to).toMinutes());
+            }
+
+            long free = 0;
+            long fragmented = 0;
+            for (TimeWindowDTO window : freeWindowCalculator.computeFreeWindows(workday, date, bookings)) {
+                long minutes = Duration.between(window.getStart(), window.getEnd()).toMinutes();
+                free += minutes;
+                // same rule as re-packing: a window is sellable when a 2h booking and its break fit
+                if (PackingScore.of(List.of(window), workday.getWorkEnd()).sellableMinutes() == 0) {
+                    fragmented += minutes;
+                }
+            }
+
+            long available = Math.max(0, Duration.between(shiftStart, shiftEnd).toMinutes());
+            long breaks = Math.max(0, available - booked - free);
+
+            return new VehicleUtilization(available, booked, breaks, free, fragmented);
+        }
+    }
+}
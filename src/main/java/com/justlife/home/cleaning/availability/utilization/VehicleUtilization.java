@@ -0,0 +1,48 @@
+package com.justlife.home.cleaning.availability.utilization;
+
+/**
+ * Cleaner-minutes of one vehicle, or one cleaner, on one date.
+ *
+ * Available minutes are the shifts of the cleaners working that day; they
+ * split into booked minutes, break minutes kept after bookings and free
+ * minutes. Fragmented minutes are the free minutes lying in windows too
+ * short to take the shortest booking. All fields add up across cleaners.
+ */
+public record VehicleUtilization(long availableMinutes,
+                                 long bookedMinutes,
+                                 long breakMinutes,
+                                 long freeMinutes,
+                                 long fragmentedMinutes) {
+
+    public static final VehicleUtilization ZERO = new VehicleUtilization(0, 0, 0, 0, 0);
+
+    public VehicleUtilization plus(VehicleUtilization other) {
+        return new VehicleUtilization(availableMinutes + other.availableMinutes,
+                bookedMinutes + other.bookedMinutes,
+                breakMinutes + other.breakMinutes,
+                freeMinutes + other.freeMinutes,
+                fragmentedMinutes + other.fragmentedMinutes);
+    }
+
+    public VehicleUtilization minus(VehicleUtilization other) {
+        return new VehicleUtilization(availableMinutes - other.availableMinutes,
+                bookedMinutes - other.bookedMinutes,
+                breakMinutes - other.breakMinutes,
+                freeMinutes - other.freeMinutes,
+                fragmentedMinutes - other.fragmentedMinutes);
+    }
+
+    /**
+     * Share of the available minutes that is booked, 0 to 1.
+     */
+    public double utilization() {
+        return availableMinutes == 0 ? 0 : (double) bookedMinutes / availableMinutes;
+    }
+
+    /**
+     * Share of the free minutes that cannot be sold, 0 (one contiguous block) to 1.
+     */
+    public double fragmentation() {
+        return freeMinutes == 0 ? 0 : (double) fragmentedMinutes / freeMinutes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.justlife.home.cleaning.availability.version;
+
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.RosterChangedEvent;
+import com.justlife.home.cleaning.event.WorkingCalendarChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-date change version of the availability data.
+ *
+ * Every committed booking write bumps the versions of the dates it touches,
+ * so (date, version) identifies one state of that date's availability.
+ * Versions live in memory only; the node epoch in the ETag makes sure a
+ * restarted node (or another node) never matches a tag it did not issue.
+ * A calendar change renews the epoch, invalidating every tag at once.
+ */
+@Component
+public class AvailabilityVersionRegistry {
+
+    private volatile long epoch = newEpoch();
+    private final Map<LocalDate, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Current version of a date. Must be read before the availability
+     * data it describes is loaded.
+     */
+    public long version(LocalDate date) {
+        return versions.getOrDefault(date, 0L);
+    }
+
+    /**
+     * Strong ETag for the current version of a date. Past dates are rejected
+     * before any tag is computed, so only today and later dates get one.
+     */
+    public String etag(LocalDate date) {
+        return "\"" + Long.toHexString(epoch) + "-" + version(date) + "\"";
+    }
+
+    /**
+     * ETag of one representation of the date (e.g. a compact encoding),
+     * distinct from the tags of the other representations.
+     */
+    public String etag(LocalDate date, String variant) {
+        String base = etag(date);
+        return base.substring(0, base.length() - 1) + "-" + variant + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        versions.keySet().removeIf(date -> date.isBefore(today));
+
+        event.getAffectedDates()
+                .forEach(date -> versions.merge(date, 1L, Long::sum));
+    }
+
+    @EventListener
+    public void onCalendarChanged(WorkingCalendarChangedEvent event) {
+        epoch = newEpoch();
+    }
+
+    /**
+     * Shifts or vehicles changed, so no tag issued for the old roster may match anymore.
+     */
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        epoch = newEpoch();
+    }
+
+    private static long newEpoch() {
+        return ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,191 @@
+package com.justlife.home.cleaning.availability.windows;
+
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import com.justlife.home.cleaning.event.RosterChangedEvent;
+import com.justlife.home.cleaning.event.WorkingCalendarChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-date cache of free windows keyed by cleaner id.
+ *
+ * A booking write does not throw the date away: only the windows of the
+ * cleaners touched by the booking are patched through the incremental
+ * {@link FreeWindowCalculator} operations, every other cleaner keeps the
+ * exact same window list.
+ *
+ * A per-date generation counter protects against caching a view that was
+ * computed from bookings read before a concurrent write committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FreeWindowCache {
+
+    private final FreeWindowCalculator freeWindowCalculator;
+
+    private final Map<LocalDate, DayWindows> days = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached windows of a date, if the date has been computed before.
+     */
+    public Optional<Map<Long, List<TimeWindowDTO>>> get(LocalDate date) {
+        return Optional.ofNullable(days.get(date)).map(DayWindows::windows);
+    }
+
+    /**
+     * Generation of a date, to be read before loading the bookings used for {@link #populate}.
+     */
+    public long generation(LocalDate date) {
+        return generations.getOrDefault(date, 0L);
+    }
+
+    /**
+     * Stores a computed view of some or all cleaners, unless a booking write
+     * for the date happened after the given generation was read. Cleaners
+     * already cached for the date are kept: without a write in between they
+     * are still current, so zone-scoped views add up to the fleet's view.
+     */
+    public void populate(LocalDate date,
+                         long generation,
+                         List<Cleaner> cleaners,
+                         Map<Long, List<TimeWindowDTO>> windowsByCleaner) {
+
+        evictPastDates();
+
+        Map<Long, Cleaner> workdays = new HashMap<>();
+        Map<Long, List<TimeWindowDTO>> windows = new HashMap<>();
+
+        for (Cleaner cleaner : cleaners) {
+            workdays.put(cleaner.getId(), workdayOf(cleaner));
+            windows.put(cleaner.getId(),
+                    List.copyOf(windowsByCleaner.getOrDefault(cleaner.getId(), List.of())));
+        }
+
+        days.compute(date, (d, existing) -> {
+            if (generation(d) != generation) {
+                log.debug("Skipping stale availability view for {}", d);
+                return existing;
+            }
+            if (existing != null) {
+                existing.workdays().forEach(workdays::putIfAbsent);
+                existing.windows().forEach(windows::putIfAbsent);
+            }
+            return new DayWindows(Map.copyOf(workdays), Collections.unmodifiableMap(windows));
+        });
+    }
+
+    /**
+     * Drops the cached view of a date.
+     */
+    public void invalidate(LocalDate date) {
+        generations.merge(date, 1L, Long::sum);
+        days.remove(date);
+    }
+
+    /**
+     * Drops every cached view.
+     */
+    public void clear() {
+        days.keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * Holidays or days off changed, so cached views may list cleaners who are now off.
+     */
+    @EventListener
+    public void onCalendarChanged(WorkingCalendarChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * A cleaner was added or removed, or changed shift or vehicle: cached windows follow the old roster.
+     */
+    @EventListener
+    public void onRosterChanged(RosterChangedEvent event) {
+        clear();
+    }
+
+    /**
+     * Applies a committed booking change, local or replayed from another node
+     * by the change feed, to the cached dates it touches.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+
+        event.getAffectedDates()
+                .forEach(date -> generations.merge(date, 1L, Long::sum));
+
+        BookingSlot previous = event.getPrevious();
+        BookingSlot current = event.getCurrent();
+
+        if (previous != null) {
+            patch(previous, true);
+        }
+        if (current != null) {
+            patch(current, false);
+        }
+    }
+
+    /**
+     * Rebuilds only the windows of the cleaners in the slot, sharing every
+     * other cleaner's windows with the previous view.
+     */
+    private void patch(BookingSlot slot, boolean release) {
+        LocalDate date = slot.getDate();
+
+        days.computeIfPresent(date, (d, day) -> {
+            Map<Long, List<TimeWindowDTO>> windows = new HashMap<>(day.windows());
+
+            for (Long cleanerId : slot.getCleanerIds()) {
+                Cleaner workday = day.workdays().get(cleanerId);
+                if (workday == null) {
+                    log.debug("Cleaner {} not part of cached view for {}, dropping it", cleanerId, d);
+                    return null;
+                }
+
+                List<TimeWindowDTO> current = windows.get(cleanerId);
+                List<TimeWindowDTO> updated = release
+                        ? freeWindowCalculator.releaseInterval(workday, d, current, slot.getStart(), slot.getEnd())
+                        : freeWindowCalculator.reserveInterval(workday, d, current, slot.getStart(), slot.getEnd());
+
+                windows.put(cleanerId, List.copyOf(updated));
+            }
+
+            return new DayWindows(day.workdays(), Collections.unmodifiableMap(windows));
+        });
+    }
+
+    private void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(date -> date.isBefore(today));
+        generations.keySet().removeIf(date -> date.isBefore(today));
+    }
+
+    /**
+     * Keeps only what the incremental calculation needs from a cleaner.
+     */
+    private static Cleaner workdayOf(Cleaner cleaner) {
+        return Cleaner.builder()
+                .id(cleaner.getId())
+                .name(cleaner.getName())
+                .workStart(cleaner.getWorkStart())
+                .workEnd(cleaner.getWorkEnd())
+                .build();
+    }
+
+    private record DayWindows(Map<Long, Cleaner> workdays,
+                              Map<Long, List<TimeWindowDTO>> windows) {
+    }
+}
@@ -5,6 +5,7 @@ import com.justlife.home.cleaning.entity.Booking;
 import com.justlife.home.cleaning.entity.Cleaner;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface FreeWindowCalculator {
@@ -14,4 +15,28 @@ public interface FreeWindowCalculator {
             LocalDate date,
             List<Booking> bookings
     );
+
+    /**
+     * Incrementally removes a booking interval (plus break buffer) from
+     * previously computed free windows.
+     */
+    List<TimeWindowDTO> reserveInterval(
+            Cleaner cleaner,
+            LocalDate date,
+            List<TimeWindowDTO> windows,
+            LocalDateTime start,
+            LocalDateTime end
+    );
+
+    /**
+     * Incrementally gives a booking interval (plus break buffer) back to
+     * previously computed free windows, merging neighbouring windows.
+     */
+    List<TimeWindowDTO> releaseInterval(
+            Cleaner cleaner,
+            LocalDate date,
+            List<TimeWindowDTO> windows,
+            LocalDateTime start,
+            LocalDateTime end
+    );
 }
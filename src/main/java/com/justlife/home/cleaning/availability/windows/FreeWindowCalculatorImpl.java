@@ -99,7 +99,10 @@ public class FreeWindowCalculatorImpl implements FreeWindowCalculator {
             if (cursor.isBefore(b.getStartDateTime())) {
                 windows.add(new TimeWindowDTO(cursor.toLocalTime(), b.getStartDateTime().toLocalTime()));
             }
-            cursor = b.getEndDateTime();
+            // never move the cursor backwards when a booking is nested in the previous one
+            if (b.getEndDateTime().isAfter(cursor)) {
+                cursor = b.getEndDateTime();
+            }
         }
 
         // Window after last booking
@@ -112,6 +115,111 @@ public class FreeWindowCalculatorImpl implements FreeWindowCalculator {
     }
 
 
+    /**
+     * Cuts the blocked interval of a single booking out of existing windows.
+     * Windows that do not intersect the interval are kept as they are.
+     */
+    @Override
+    public List<TimeWindowDTO> reserveInterval(Cleaner cleaner,
+                                               LocalDate date,
+                                               List<TimeWindowDTO> windows,
+                                               LocalDateTime start,
+                                               LocalDateTime end) {
+
+        LocalDateTime dayStart = getWorkdayStart(cleaner, date);
+        LocalDateTime dayEnd = getWorkdayEnd(cleaner, date);
+
+        LocalDateTime blockedStart = max(start, dayStart);
+        LocalDateTime blockedEnd = min(end.plusMinutes(ApplicationConstants.BREAK_MINUTES), dayEnd);
+
+        if (!blockedStart.isBefore(blockedEnd)) {
+            return windows;
+        }
+
+        List<TimeWindowDTO> result = new ArrayList<>(windows.size() + 1);
+
+        for (TimeWindowDTO w : windows) {
+            LocalDateTime wStart = LocalDateTime.of(date, w.getStart());
+            LocalDateTime wEnd = LocalDateTime.of(date, w.getEnd());
+
+            // No intersection → window stays untouched
+            if (!wEnd.isAfter(blockedStart) || !wStart.isBefore(blockedEnd)) {
+                result.add(w);
+                continue;
+            }
+
+            if (wStart.isBefore(blockedStart)) {
+                result.add(new TimeWindowDTO(w.getStart(), blockedStart.toLocalTime()));
+            }
+            if (blockedEnd.isBefore(wEnd)) {
+                result.add(new TimeWindowDTO(blockedEnd.toLocalTime(), w.getEnd()));
+            }
+        }
+
+        log.debug("Reserved {} - {} for {}: {}", blockedStart, blockedEnd, cleaner.getName(), result);
+        return result;
+    }
+
+    /**
+     * Adds the blocked interval of a single booking back to existing windows.
+     * Relies on the availability rule guarantee that bookings of one cleaner
+     * (including their breaks) never overlap each other.
+     */
+    @Override
+    public List<TimeWindowDTO> releaseInterval(Cleaner cleaner,
+                                               LocalDate date,
+                                               List<TimeWindowDTO> windows,
+                                               LocalDateTime start,
+                                               LocalDateTime end) {
+
+        LocalDateTime dayStart = getWorkdayStart(cleaner, date);
+        LocalDateTime dayEnd = getWorkdayEnd(cleaner, date);
+
+        LocalDateTime mergedStart = max(start, dayStart);
+        LocalDateTime mergedEnd = min(end.plusMinutes(ApplicationConstants.BREAK_MINUTES), dayEnd);
+
+        if (!mergedStart.isBefore(mergedEnd)) {
+            return windows;
+        }
+
+        List<TimeWindowDTO> result = new ArrayList<>(windows.size() + 1);
+        boolean inserted = false;
+
+        for (TimeWindowDTO w : windows) {
+            LocalDateTime wStart = LocalDateTime.of(date, w.getStart());
+            LocalDateTime wEnd = LocalDateTime.of(date, w.getEnd());
+
+            if (wEnd.isBefore(mergedStart)) {
+                result.add(w);
+            } else if (wStart.isAfter(mergedEnd)) {
+                if (!inserted) {
+                    result.add(new TimeWindowDTO(mergedStart.toLocalTime(), mergedEnd.toLocalTime()));
+                    inserted = true;
+                }
+                result.add(w);
+            } else {
+                // Touching or overlapping → absorb into the released interval
+                mergedStart = min(mergedStart, wStart);
+                mergedEnd = max(mergedEnd, wEnd);
+            }
+        }
+
+        if (!inserted) {
+            result.add(new TimeWindowDTO(mergedStart.toLocalTime(), mergedEnd.toLocalTime()));
+        }
+
+        log.debug("Released {} - {} for {}: {}", start, end, cleaner.getName(), result);
+        return result;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
     private LocalDateTime getWorkdayStart(Cleaner cleaner, LocalDate date) {
         LocalTime start = Optional.ofNullable(cleaner.getWorkStart())
                 .orElse(ApplicationConstants.WORK_START);
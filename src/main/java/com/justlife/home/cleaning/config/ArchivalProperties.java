@@ -0,0 +1,23 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the job moving past bookings into the archive tables.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.archival")
+public class ArchivalProperties {
+
+    private boolean enabled = true;
+
+    // bookings starting before now - horizon are archived
+    private Duration horizon = Duration.ofDays(90);
+
+    private int batchSize = 500;
+
+    private Duration pauseBetweenBatches = Duration.ofMillis(200);
+}
@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the optional asynchronous booking pipeline.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.async-booking")
+public class AsyncBookingProperties {
+
+    private boolean enabled = false;
+
+    private int partitions = 4;
+
+    private int queueCapacity = 100;
+
+    private Duration statusRetention = Duration.ofMinutes(30);
+}
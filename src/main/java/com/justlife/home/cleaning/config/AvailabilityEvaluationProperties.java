@@ -0,0 +1,23 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-cleaner evaluation of a date's availability.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.availability-evaluation")
+public class AvailabilityEvaluationProperties {
+
+    private boolean parallel = true;
+
+    // threads of the dedicated evaluation pool; the work is CPU only
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // fleets smaller than this are evaluated on the calling thread
+    private int sequentialThreshold = 500;
+
+    // cleaners evaluated by one fork-join leaf task
+    private int chunkSize = 64;
+}
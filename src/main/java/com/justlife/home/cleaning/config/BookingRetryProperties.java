@@ -0,0 +1,21 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retry policy for booking writes that lost an optimistic schedule conflict.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.booking-retry")
+public class BookingRetryProperties {
+
+    // attempts in total, including the first one
+    private int maxAttempts = 4;
+
+    private Duration initialBackoff = Duration.ofMillis(20);
+
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
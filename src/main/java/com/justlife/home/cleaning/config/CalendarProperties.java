@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Working calendar: weekly rest days and how often holidays and days off
+ * are re-read from the database.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.calendar")
+public class CalendarProperties {
+
+    private Set<DayOfWeek> weeklyRestDays = EnumSet.of(DayOfWeek.FRIDAY);
+
+    private Duration reloadInterval = Duration.ofMinutes(5);
+}
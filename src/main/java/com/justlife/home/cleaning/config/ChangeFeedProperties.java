@@ -0,0 +1,32 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Settings of the booking change feed shared by all nodes through the database.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.change-feed")
+public class ChangeFeedProperties {
+
+    private boolean enabled = true;
+
+    // identifies this instance in the log; random per start unless configured
+    private String nodeId = UUID.randomUUID().toString();
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private int batchSize = 200;
+
+    // tailing waits this long, by this node's clock, for a missing id that may still commit
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    // skipped ids are looked up again for this long in case their transaction commits late
+    private Duration gapRecheck = Duration.ofMinutes(5);
+
+    private Duration retention = Duration.ofDays(1);
+}
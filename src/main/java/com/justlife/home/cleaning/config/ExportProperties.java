@@ -0,0 +1,15 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the streaming CSV export.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.export")
+public class ExportProperties {
+
+    // rows the driver holds at a time; Integer.MIN_VALUE makes MySQL Connector/J stream row by row
+    private int fetchSize = Integer.MIN_VALUE;
+}
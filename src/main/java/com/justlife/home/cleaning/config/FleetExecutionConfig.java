@@ -0,0 +1,25 @@
+package com.justlife.home.cleaning.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Dedicated fork-join pools for the fleet-wide views. Zone evaluations block
+ * on the database, so they must not run on the common pool; per-cleaner
+ * evaluations are CPU only and get their own pool so zones can't starve them.
+ */
+@Configuration
+public class FleetExecutionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool zoneEvaluationPool(FleetProperties properties) {
+        return new ForkJoinPool(properties.getParallelism());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool availabilityEvaluationPool(AvailabilityEvaluationProperties properties) {
+        return new ForkJoinPool(properties.getParallelism());
+    }
+}
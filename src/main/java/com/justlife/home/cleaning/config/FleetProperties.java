@@ -0,0 +1,15 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the fleet-wide (all zones) availability views.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.fleet")
+public class FleetProperties {
+
+    // zones evaluated concurrently; each evaluation holds a database connection
+    private int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+}
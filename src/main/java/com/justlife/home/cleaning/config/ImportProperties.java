@@ -0,0 +1,18 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the streaming CSV booking import.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.import")
+public class ImportProperties {
+
+    // rows validated and written per transaction / JDBC batch
+    private int chunkSize = 500;
+
+    // the report lists at most this many rejected rows, the rest are only counted
+    private int maxReportedRejections = 1000;
+}
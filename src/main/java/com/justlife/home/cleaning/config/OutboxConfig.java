@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.config;
+
+import com.justlife.home.cleaning.service.outbox.LoggingOutboxSink;
+import com.justlife.home.cleaning.service.outbox.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Falls back to the local file/log sink when no other {@link OutboxSink} is defined.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties) {
+        return new LoggingOutboxSink(properties.getSinkFile() == null ? null : Path.of(properties.getSinkFile()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Delivery of booking events to downstream systems through the outbox table.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    // messages claimed and handed to the sink at once
+    private int batchSize = 100;
+
+    // relay workers draining the outbox in parallel
+    private int concurrency = 2;
+
+    // file the default sink appends to; messages are only logged when unset
+    private String sinkFile;
+
+    // deliveries of one message before it is parked and needs manual attention
+    private int maxAttempts = 10;
+
+    // wait before the second attempt of a failed message, doubled per attempt
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(10);
+
+    // delivered messages are kept this long
+    private Duration retention = Duration.ofDays(7);
+}
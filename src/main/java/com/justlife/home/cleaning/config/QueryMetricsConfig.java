@@ -0,0 +1,44 @@
+package com.justlife.home.cleaning.config;
+
+import com.justlife.home.cleaning.repository.metrics.QueryMetrics;
+import com.justlife.home.cleaning.repository.metrics.QueryNamingRepositoryPostProcessor;
+import com.justlife.home.cleaning.repository.metrics.QueryTimingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in the statement timing layer and names statements
+ * after the repository method issuing them.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cleaning.query-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    @Bean
+    public QueryMetrics queryMetrics(MeterRegistry meterRegistry, QueryMetricsProperties properties) {
+        return new QueryMetrics(meterRegistry, properties);
+    }
+
+    @Bean
+    public static QueryNamingRepositoryPostProcessor queryNamingRepositoryPostProcessor() {
+        return new QueryNamingRepositoryPostProcessor();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryTimingDataSourcePostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof QueryTimingDataSource)
+                        ? new QueryTimingDataSource(dataSource, queryMetrics.getObject())
+                        : bean;
+            }
+        };
+    }
+}
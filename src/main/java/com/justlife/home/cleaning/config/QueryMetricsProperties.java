@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the statement timing layer wrapped around the DataSource.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.query-metrics")
+public class QueryMetricsProperties {
+
+    private boolean enabled = true;
+
+    // statements running longer are counted as slow and sampled to the log with their bind parameters
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    // at most one slow sample per logical query within this interval
+    private Duration slowSampleInterval = Duration.ofSeconds(10);
+}
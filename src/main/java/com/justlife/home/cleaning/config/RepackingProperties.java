@@ -0,0 +1,23 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the day re-packing search.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.repacking")
+public class RepackingProperties {
+
+    // wall-clock budget of one proposal, shared by all vehicles of the day
+    private Duration timeBudget = Duration.ofSeconds(2);
+
+    // local optima escaped per vehicle before the search stops early
+    private int maxRestarts = 30;
+
+    // random reassignments applied to escape a local optimum
+    private int perturbationMoves = 2;
+}
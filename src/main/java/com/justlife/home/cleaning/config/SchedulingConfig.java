@@ -0,0 +1,12 @@
+package com.justlife.home.cleaning.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (status cleanup, maintenance jobs).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Utilization counters and the gauges of today's vehicles.
+ */
+@Data
+@ConfigurationProperties(prefix = "cleaning.utilization")
+public class UtilizationProperties {
+
+    // counters are kept for today and this many days ahead; other dates are computed per request
+    private int horizonDays = 62;
+
+    private boolean metricsEnabled = true;
+
+    // how often the gauges pick up the current date and fleet
+    private Duration metricsRefresh = Duration.ofMinutes(1);
+}
@@ -1,8 +1,10 @@
 package com.justlife.home.cleaning.config;
 
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
 import com.justlife.home.cleaning.validation.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 /**
  * Configuration class responsible for building the validation chain used
@@ -15,9 +17,10 @@ public class ValidatorConfig {
      * Constructs a complete validation chain for booking requests.
      */
     @Bean
-    public BookingValidator bookingValidator() {
+    @Primary
+    public BookingValidator bookingValidator(WorkingCalendar workingCalendar) {
 
-        BookingValidator nonWorkingDayValidator = new NonWorkingDayValidator();
+        BookingValidator nonWorkingDayValidator = new NonWorkingDayValidator(workingCalendar);
         BookingValidator workingHoursValidator = new WorkingHoursValidator();
         BookingValidator durationValidator = new DurationValidator();
         BookingValidator cleanerCountValidator = new CleanerCountValidator();
@@ -32,4 +35,21 @@ public class ValidatorConfig {
 
         return nonWorkingDayValidator;
     }
+
+    /**
+     * Chain for imported bookings: same rules as above, except that
+     * bookings in the past (a partner's history) are accepted.
+     */
+    @Bean
+    public BookingValidator importBookingValidator(WorkingCalendar workingCalendar) {
+
+        BookingValidator nonWorkingDayValidator = new NonWorkingDayValidator(workingCalendar);
+
+        nonWorkingDayValidator
+                .linkWith(new WorkingHoursValidator())
+                .linkWith(new DurationValidator())
+                .linkWith(new CleanerCountValidator());
+
+        return nonWorkingDayValidator;
+    }
 }
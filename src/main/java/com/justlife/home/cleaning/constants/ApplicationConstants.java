@@ -10,4 +10,5 @@ public final class ApplicationConstants {
     public static final int BREAK_MINUTES = 30;
     public static final LocalTime WORK_START = LocalTime.of(8, 0);
     public static final LocalTime WORK_END   = LocalTime.of(22, 0);
+    public static final String DEFAULT_ZONE = "DEFAULT";
 }
@@ -0,0 +1,97 @@
+package com.justlife.home.cleaning.controller;
+
+import com.justlife.home.cleaning.dto.BookingRequestStatusDTO;
+import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.ErrorResponseDTO;
+import com.justlife.home.cleaning.exception.ResourceNotFoundException;
+import com.justlife.home.cleaning.service.async.PartitionedBookingPipeline;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+import static com.justlife.home.cleaning.enums.ApplicationErrorCode.BOOKING_REQUEST_NOT_FOUND;
+
+@Tag(name = "Async Booking API", description = "Queue booking requests and poll for their outcome")
+@RestController
+@RequestMapping("/api/v1/bookings")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.async-booking", name = "enabled", havingValue = "true")
+public class AsyncBookingController {
+
+    private final PartitionedBookingPipeline bookingPipeline;
+
+    // -------------------------------------------------------------------------
+    // SUBMIT BOOKING REQUEST
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Queue a new booking",
+            description = """
+                    Validates the request and queues it in the partition of its booking date.
+                    Returns 202 with a status URL (also in the Location header) to poll for the result.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "202",
+            description = "Booking request accepted",
+            content = @Content(schema = @Schema(implementation = BookingRequestStatusDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error — invalid duration, cleaners count, working hours, etc.",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "503",
+            description = "Queue for the booking date is full, retry later",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @PostMapping("/async")
+    public ResponseEntity<BookingRequestStatusDTO> submitBooking(
+            @Valid @RequestBody CreateBookingRequestDTO request
+    ) {
+        BookingRequestStatusDTO status = bookingPipeline.submit(request);
+
+        return ResponseEntity.accepted()
+                .location(URI.create(status.getStatusUrl()))
+                .body(status);
+    }
+
+    // -------------------------------------------------------------------------
+    // POLL BOOKING REQUEST
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Get the status of a queued booking request",
+            description = """
+                    Returns QUEUED, PROCESSING, COMPLETED (with the created booking)
+                    or FAILED (with the error code and message).
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Current request status",
+            content = @Content(schema = @Schema(implementation = BookingRequestStatusDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Unknown or expired request id",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping("/requests/{requestId}")
+    public BookingRequestStatusDTO getRequestStatus(@PathVariable String requestId) {
+        return bookingPipeline.status(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException(BOOKING_REQUEST_NOT_FOUND));
+    }
+}
@@ -1,9 +1,23 @@
 package com.justlife.home.cleaning.controller;
 
+import com.justlife.home.cleaning.availability.version.AvailabilityVersionRegistry;
+import com.justlife.home.cleaning.dto.AvailabilityFilterDTO;
+import com.justlife.home.cleaning.dto.AvailabilityHeatmapDTO;
+import com.justlife.home.cleaning.dto.BatchSlotQueryRequestDTO;
 import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
 import com.justlife.home.cleaning.dto.CleanerDTO;
+import com.justlife.home.cleaning.dto.CompactAvailabilityDTO;
 import com.justlife.home.cleaning.dto.ErrorResponseDTO;
+import com.justlife.home.cleaning.dto.SlotAvailabilityDTO;
+import com.justlife.home.cleaning.dto.ZoneAvailabilityDTO;
+import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.enums.AvailabilityEncoding;
+import com.justlife.home.cleaning.exception.BookingValidationException;
 import com.justlife.home.cleaning.service.AvailabilityService;
+import com.justlife.home.cleaning.service.FleetAvailabilityService;
+import com.justlife.home.cleaning.service.HeatmapService;
+import com.justlife.home.cleaning.utils.CompactAvailabilityMapper;
+import com.justlife.home.cleaning.utils.ValidationUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,14 +27,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Tag(
         name = "Availability API",
@@ -31,7 +55,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AvailabilityController {
 
+    private static final List<MediaType> COMPACT_TYPES = List.of(
+            MediaType.parseMediaType(CompactAvailabilityDTO.MEDIA_TYPE),
+            MediaType.APPLICATION_CBOR
+    );
+
     private final AvailabilityService availabilityService;
+    private final AvailabilityVersionRegistry versionRegistry;
+    private final HeatmapService heatmapService;
+    private final FleetAvailabilityService fleetAvailabilityService;
 
     // -------------------------------------------------------------------------
     // Availability for a whole date
@@ -40,7 +72,12 @@ public class AvailabilityController {
             summary = "Get availability for a specific date",
             description = """
                     Returns all cleaners with their free time windows for the given date. 
-                    Excludes Fridays and respects working hours (08:00–22:00) and break rules.
+                    Excludes non-working days (configured weekly rest days, public holidays), cleaners on a day off, and respects working hours (08:00–22:00) and break rules.
+                    Responses carry an ETag; send it back in If-None-Match to get 304 while the date is unchanged.
+                    With a zone, only the cleaners of that zone's vehicles are returned.
+                    vehicleId, minWindowHours, page and limit are applied while the view is computed:
+                    other vehicles' bookings are not read, and evaluation stops once the page is full.
+                    A page shorter than the limit is the last one.
                     """
     )
     @ApiResponse(
@@ -49,6 +86,10 @@ public class AvailabilityController {
             content = @Content(array = @ArraySchema(
                     schema = @Schema(implementation = CleanerAvailabilityDTO.class)))
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "No booking for the date changed since the given ETag"
+    )
     @ApiResponse(
             responseCode = "400",
             description = "Invalid date or validation error",
@@ -63,9 +104,129 @@ public class AvailabilityController {
             )
             @RequestParam("date")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            LocalDate date
+            LocalDate date,
+
+            @Parameter(
+                    description = "City zone; all zones when omitted",
+                    example = "DUBAI_MARINA"
+            )
+            @RequestParam(value = "zone", required = false)
+            String zone,
+
+            @Parameter(
+                    description = "Only cleaners of these vehicles (repeatable); all vehicles when omitted",
+                    example = "1"
+            )
+            @RequestParam(value = "vehicleId", required = false)
+            List<Long> vehicleIds,
+
+            @Parameter(
+                    description = "Only free windows of at least this many hours",
+                    example = "4"
+            )
+            @RequestParam(value = "minWindowHours", required = false)
+            Integer minWindowHours,
+
+            @Parameter(description = "Zero-based page", example = "0")
+            @RequestParam(value = "page", defaultValue = "0")
+            int page,
+
+            @Parameter(description = "Cleaners per page (max 500); all cleaners when omitted", example = "20")
+            @RequestParam(value = "limit", required = false)
+            Integer limit,
+
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) {
+        AvailabilityFilterDTO filter = AvailabilityFilterDTO.builder()
+                .zone(zone)
+                .vehicleIds(vehicleIds)
+                .minWindowHours(minWindowHours)
+                .page(page)
+                .limit(limit)
+                .build();
+
+        if (filter.isUnrestricted()) {
+            if (notModified(date, etag(date, zone), webRequest, response)) {
+                return null;
+            }
+            return zone == null
+                    ? availabilityService.getAvailabilityForDate(date)
+                    : availabilityService.getAvailabilityForDate(date, zone);
+        }
+
+        if (notModified(date, etag(date, filter), webRequest, response)) {
+            return null;
+        }
+        return availabilityService.getAvailabilityForDate(date, filter);
+    }
+
+    // -------------------------------------------------------------------------
+    // Compact availability for a whole date
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Get availability for a specific date in a compact representation",
+            description = """
+                    Same data as GET /api/v1/availability, for bandwidth constrained clients.
+                    The Accept header selects compact JSON (application/vnd.justlife.availability-compact+json,
+                    the default) or binary CBOR (application/cbor).
+                    Vehicles are listed once; free time is sent as minute offsets (WINDOWS)
+                    or as a 15 minute slot bitmask of the working day (BITMASK).
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Compact availability of the date",
+            content = {
+                    @Content(mediaType = CompactAvailabilityDTO.MEDIA_TYPE,
+                            schema = @Schema(implementation = CompactAvailabilityDTO.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                            schema = @Schema(implementation = CompactAvailabilityDTO.class))
+            }
+    )
+    @ApiResponse(
+            responseCode = "304",
+            description = "No booking for the date changed since the given ETag"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date or validation error",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping(value = "/compact", produces = {CompactAvailabilityDTO.MEDIA_TYPE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<CompactAvailabilityDTO> getCompactAvailabilityForDate(
+            @Parameter(
+                    description = "Date to check (YYYY-MM-DD)",
+                    example = "2025-12-05",
+                    required = true
+            )
+            @RequestParam("date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date,
+
+            @Parameter(description = "Encoding of the free time (WINDOWS or BITMASK)", example = "WINDOWS")
+            @RequestParam(value = "encoding", defaultValue = "WINDOWS")
+            AvailabilityEncoding encoding,
+
+            WebRequest webRequest,
+            HttpServletResponse response
     ) {
-        return availabilityService.getAvailabilityForDate(date);
+        MediaType contentType = compactContentType(webRequest.getHeader(HttpHeaders.ACCEPT));
+        String etag = versionRegistry.etag(date, contentType.getSubtype() + "-" + encoding.name().toLowerCase());
+
+        // the same URL has several representations, selected by Accept
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        if (notModified(date, etag, webRequest, response)) {
+            return null;
+        }
+
+        CompactAvailabilityDTO body = CompactAvailabilityMapper.toCompact(
+                date, availabilityService.getAvailabilityForDate(date), encoding);
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(body);
     }
 
     // -------------------------------------------------------------------------
@@ -77,6 +238,7 @@ public class AvailabilityController {
                     Returns only cleaners available for the exact appointment slot.
                     Duration must be 2 or 4 hours.
                     Cleaners must not have overlapping bookings and must respect break rules.
+                    Responses carry an ETag; send it back in If-None-Match to get 304 while the date is unchanged.
                     """
     )
     @ApiResponse(
@@ -85,6 +247,10 @@ public class AvailabilityController {
             content = @Content(array = @ArraySchema(
                     schema = @Schema(implementation = CleanerDTO.class)))
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "No booking for the date changed since the given ETag"
+    )
     @ApiResponse(
             responseCode = "400",
             description = "Invalid request (duration, working hours, non-working day)",
@@ -116,8 +282,195 @@ public class AvailabilityController {
                     required = true
             )
             @RequestParam("durationHours")
-            int durationHours
+            int durationHours,
+
+            @Parameter(
+                    description = "City zone; all zones when omitted",
+                    example = "DUBAI_MARINA"
+            )
+            @RequestParam(value = "zone", required = false)
+            String zone,
+
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) {
+        if (notModified(date, etag(date, zone), webRequest, response)) {
+            return null;
+        }
+        return zone == null
+                ? availabilityService.getAvailableCleaners(date, start, durationHours)
+                : availabilityService.getAvailableCleaners(date, start, durationHours, zone);
+    }
+
+    // -------------------------------------------------------------------------
+    // Availability for many time slots at once
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Check many candidate timeslots in one call",
+            description = """
+                    Evaluates a list of (date, start, durationHours, cleanerCount) queries.
+                    Each date's roster and bookings are loaded once and shared by all queries.
+                    For every query, reports whether a team from a single vehicle can take the slot.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "One result per query, in request order",
+            content = @Content(array = @ArraySchema(
+                    schema = @Schema(implementation = SlotAvailabilityDTO.class)))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Malformed request (missing fields, too many queries)",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @PostMapping("/slot/batch")
+    public List<SlotAvailabilityDTO> checkSlots(
+            @Valid @RequestBody BatchSlotQueryRequestDTO request
+    ) {
+        return availabilityService.checkSlots(request.getQueries());
+    }
+
+    // -------------------------------------------------------------------------
+    // Heatmap for a date range
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Get the number of bookable teams per half-hour for a date range",
+            description = """
+                    For every date and half-hour slot of the working day, returns how many teams of
+                    1, 2 and 3 cleaners from the same vehicle are free for the whole slot (breaks included).
+                    Backed by counters that are updated on every booking write, for calendar views.
+                    The range may span at most 62 days; past and non-working days have no slots.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Team counts per date and slot",
+            content = @Content(schema = @Schema(implementation = AvailabilityHeatmapDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping("/heatmap")
+    public AvailabilityHeatmapDTO getHeatmap(
+            @Parameter(
+                    description = "First date (YYYY-MM-DD)",
+                    example = "2025-12-01",
+                    required = true
+            )
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+
+            @Parameter(
+                    description = "Last date, inclusive (YYYY-MM-DD)",
+                    example = "2025-12-31",
+                    required = true
+            )
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to
+    ) {
+        return heatmapService.getHeatmap(from, to);
+    }
+
+    // -------------------------------------------------------------------------
+    // Fleet-wide availability, per zone
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Get the availability of every zone for a specific date",
+            description = """
+                    Admin view of the whole fleet: the free time windows of every cleaner, grouped by zone.
+                    Zones are evaluated in parallel.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "One entry per zone, in zone order",
+            content = @Content(array = @ArraySchema(
+                    schema = @Schema(implementation = ZoneAvailabilityDTO.class)))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date or validation error",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping("/zones")
+    public List<ZoneAvailabilityDTO> getFleetAvailability(
+            @Parameter(
+                    description = "Date to check (YYYY-MM-DD)",
+                    example = "2025-12-05",
+                    required = true
+            )
+            @RequestParam("date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date
     ) {
-        return availabilityService.getAvailableCleaners(date, start, durationHours);
+        return fleetAvailabilityService.getFleetAvailability(date);
+    }
+
+    /**
+     * Zone-scoped responses are separate representations of the date.
+     */
+    private String etag(LocalDate date, String zone) {
+        return zone == null ? versionRegistry.etag(date) : versionRegistry.etag(date, "zone-" + zone);
+    }
+
+    /**
+     * Every filter combination is its own representation of the date.
+     */
+    private String etag(LocalDate date, AvailabilityFilterDTO filter) {
+        String vehicles = filter.getVehicleIds() == null ? "" : filter.getVehicleIds().stream()
+                .sorted()
+                .distinct()
+                .map(String::valueOf)
+                .collect(Collectors.joining("."));
+
+        return versionRegistry.etag(date, "filter-" + filter.getZone() + "-" + vehicles + "-"
+                + filter.getMinWindowHours() + "-" + filter.getPage() + "-" + filter.getLimit());
+    }
+
+    /**
+     * First compact representation accepted by the client, compact JSON by default.
+     * Chosen here rather than by the converters, so the ETag can name it.
+     */
+    private static MediaType compactContentType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return COMPACT_TYPES.getFirst();
+        }
+
+        try {
+            for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+                if (accepted.getQualityValue() == 0) {
+                    continue;
+                }
+                for (MediaType candidate : COMPACT_TYPES) {
+                    if (accepted.includes(candidate)) {
+                        return candidate;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException ex) {
+            // fall through to the default
+        }
+
+        return COMPACT_TYPES.getFirst();
+    }
+
+    /**
+     * Answers If-None-Match from the date's change version alone, before any
+     * cleaner or booking is loaded. Past dates are rejected first, so an error
+     * never carries validators or cache headers.
+     */
+    private boolean notModified(LocalDate date, String etag, WebRequest webRequest, HttpServletResponse response) {
+        if (ValidationUtils.isPastDate(date)) {
+            throw new BookingValidationException(ApplicationErrorCode.PAST_DATE_NOT_ALLOWED);
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        return webRequest.checkNotModified(etag);
     }
 }
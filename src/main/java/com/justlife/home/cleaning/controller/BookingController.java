@@ -1,23 +1,40 @@
 package com.justlife.home.cleaning.controller;
 
+import com.justlife.home.cleaning.dto.BookingImportReportDTO;
 import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSearchCriteriaDTO;
+import com.justlife.home.cleaning.dto.BookingSearchPageDTO;
 import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.CreateRecurringBookingRequestDTO;
 import com.justlife.home.cleaning.dto.ErrorResponseDTO;
+import com.justlife.home.cleaning.dto.RecurrenceConflictResponseDTO;
+import com.justlife.home.cleaning.dto.RecurringBookingResponseDTO;
 import com.justlife.home.cleaning.dto.UpdateBookingRequestDTO;
+import com.justlife.home.cleaning.enums.BookingStatus;
 import com.justlife.home.cleaning.service.BookingService;
+import com.justlife.home.cleaning.service.export.BookingCsvExporter;
+import com.justlife.home.cleaning.service.importing.BookingCsvImporter;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
 @Tag(name = "Booking API", description = "Create, update, and retrieve bookings")
 @RestController
 @RequestMapping("/api/v1/bookings")
@@ -25,6 +42,8 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingCsvExporter bookingCsvExporter;
+    private final BookingCsvImporter bookingCsvImporter;
 
     // -------------------------------------------------------------------------
     // CREATE BOOKING
@@ -58,6 +77,39 @@ public class BookingController {
         return bookingService.createBooking(request);
     }
 
+    // -------------------------------------------------------------------------
+    // CREATE RECURRING BOOKING
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Create a recurring booking",
+            description = """
+                    Creates one booking per occurrence, every intervalWeeks weeks at the same time,
+                    all served by the same cleaners of one vehicle. Either every occurrence is
+                    booked or none is; when no team is free on all of them the blocking dates are returned.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "All occurrences booked",
+            content = @Content(schema = @Schema(implementation = RecurringBookingResponseDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Validation error — invalid duration, cleaners count, working hours, occurrences etc.",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "No team of one vehicle is free on every occurrence; the conflicting dates are listed",
+            content = @Content(schema = @Schema(implementation = RecurrenceConflictResponseDTO.class))
+    )
+    @PostMapping("/recurring")
+    public RecurringBookingResponseDTO createRecurringBooking(
+            @Valid @RequestBody CreateRecurringBookingRequestDTO request
+    ) {
+        return bookingService.createRecurringBooking(request);
+    }
+
     // -------------------------------------------------------------------------
     // UPDATE BOOKING
     // -------------------------------------------------------------------------
@@ -115,4 +167,136 @@ public class BookingController {
     public BookingResponseDTO getBooking(@PathVariable Long id) {
         return bookingService.getBooking(id);
     }
+
+    // -------------------------------------------------------------------------
+    // SEARCH BOOKINGS
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Search bookings",
+            description = """
+                    Lists bookings starting within a date range, ordered by start time and id,
+                    optionally filtered by customer name prefix, status and vehicle.
+                    Pages are keyset based: pass the nextCursor of a page as cursor to get the next one.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "One page of bookings",
+            content = @Content(schema = @Schema(implementation = BookingSearchPageDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range, limit or cursor",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping("/search")
+    public BookingSearchPageDTO searchBookings(
+            @Parameter(description = "First start date (YYYY-MM-DD)", example = "2025-12-01", required = true)
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+
+            @Parameter(description = "Last start date (YYYY-MM-DD)", example = "2025-12-31", required = true)
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+
+            @Parameter(description = "Customer name prefix", example = "John")
+            @RequestParam(value = "customerName", required = false)
+            String customerName,
+
+            @Parameter(description = "Booking status", example = "CONFIRMED")
+            @RequestParam(value = "status", required = false)
+            BookingStatus status,
+
+            @Parameter(description = "Vehicle serving the booking", example = "1")
+            @RequestParam(value = "vehicleId", required = false)
+            Long vehicleId,
+
+            @Parameter(description = "nextCursor of the previous page")
+            @RequestParam(value = "cursor", required = false)
+            String cursor,
+
+            @Parameter(description = "Bookings per page (max 200)", example = "50")
+            @RequestParam(value = "limit", defaultValue = "50")
+            int limit
+    ) {
+        return bookingService.searchBookings(BookingSearchCriteriaDTO.builder()
+                .from(from)
+                .to(to)
+                .customerName(customerName)
+                .status(status)
+                .vehicleId(vehicleId)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+    }
+
+    // -------------------------------------------------------------------------
+    // EXPORT BOOKINGS
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Export bookings as CSV",
+            description = """
+                    Streams every booking starting between the two dates (inclusive) as CSV,
+                    ordered by start time, with its vehicle and assigned cleaner ids (';'-separated).
+                    Rows are written as they are read, so any range can be exported.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "CSV file", content = @Content(mediaType = "text/csv"))
+    @ApiResponse(
+            responseCode = "400",
+            description = "Range ends before it starts",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping("/export")
+    public void exportBookings(
+            @Parameter(description = "First start date (YYYY-MM-DD)", example = "2025-12-01", required = true)
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+
+            @Parameter(description = "Last start date (YYYY-MM-DD)", example = "2025-12-31", required = true)
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+
+            HttpServletResponse response
+    ) throws IOException {
+        // before any header: an invalid range is answered with the JSON error body
+        BookingCsvExporter.checkRange(from, to);
+
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"bookings-" + from + "-" + to + ".csv\"");
+
+        bookingCsvExporter.export(from, to, response.getOutputStream());
+    }
+
+    // -------------------------------------------------------------------------
+    // IMPORT BOOKINGS
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Import bookings from CSV",
+            description = """
+                    Reads the request body as CSV with a header naming start_date_time, duration_hours,
+                    customer_name, cleaner_ids (';'-separated) and optionally status; the export format works as is.
+                    Rows are validated like new bookings (past dates allowed) and against each other,
+                    valid ones are inserted in batches, and every rejected row is reported with its reason.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Import finished",
+            content = @Content(schema = @Schema(implementation = BookingImportReportDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Missing or incomplete header",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public BookingImportReportDTO importBookings(InputStream body) throws IOException {
+        return bookingCsvImporter.importCsv(body);
+    }
 }
@@ -0,0 +1,87 @@
+package com.justlife.home.cleaning.controller;
+
+import com.justlife.home.cleaning.dto.ErrorResponseDTO;
+import com.justlife.home.cleaning.dto.RepackingProposalDTO;
+import com.justlife.home.cleaning.service.RepackingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Tag(name = "Re-packing API", description = "Reassign cleaners of a future day to reduce unsellable gaps")
+@RestController
+@RequestMapping("/api/v1/repacking")
+@RequiredArgsConstructor
+public class RepackingController {
+
+    private final RepackingService repackingService;
+
+    // -------------------------------------------------------------------------
+    // PROPOSE
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Propose a re-packing of a future day",
+            description = """
+                    Searches, within a time budget, for cleaner assignments of the day's bookings that leave
+                    more free time able to take a 2h booking. Cleaners stay within each booking's vehicle,
+                    shifts, days off and the break between bookings are respected, and booking times never change.
+                    Nothing is written; post the proposal to /apply to make it effective.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Proposed changes, possibly none",
+            content = @Content(schema = @Schema(implementation = RepackingProposalDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Date is not in the future",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping
+    public RepackingProposalDTO propose(
+            @Parameter(description = "Future date to re-pack (YYYY-MM-DD)", example = "2025-12-05", required = true)
+            @RequestParam("date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date
+    ) {
+        return repackingService.propose(date);
+    }
+
+    // -------------------------------------------------------------------------
+    // APPLY
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Apply a re-packing proposal",
+            description = """
+                    Applies all changes of a proposal in one transaction, or none of them when a booking
+                    changed since it was proposed or the new assignment no longer fits the day.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Proposal applied",
+            content = @Content(schema = @Schema(implementation = RepackingProposalDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "409",
+            description = "The schedule changed since the proposal; propose again",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @PostMapping("/apply")
+    public RepackingProposalDTO apply(@Valid @RequestBody RepackingProposalDTO proposal) {
+        return repackingService.apply(proposal);
+    }
+}
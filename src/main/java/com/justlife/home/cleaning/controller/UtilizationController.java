@@ -0,0 +1,66 @@
+package com.justlife.home.cleaning.controller;
+
+import com.justlife.home.cleaning.dto.ErrorResponseDTO;
+import com.justlife.home.cleaning.dto.UtilizationReportDTO;
+import com.justlife.home.cleaning.service.UtilizationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Tag(name = "Utilization API", description = "Booked against available cleaner time per vehicle and day")
+@RestController
+@RequestMapping("/api/v1/utilization")
+@RequiredArgsConstructor
+public class UtilizationController {
+
+    private final UtilizationService utilizationService;
+
+    // -------------------------------------------------------------------------
+    // Utilization for a date range
+    // -------------------------------------------------------------------------
+    @Operation(
+            summary = "Get booked, break and free minutes per vehicle for a date range",
+            description = """
+                    For every date and vehicle, returns the shift minutes of the cleaners working that day,
+                    how many of them are booked, kept as break after bookings or still free, and how much
+                    of the free time lies in windows too short to sell. Backed by counters that are updated
+                    on every booking write. The range may span at most 62 days; past and non-working days
+                    have no vehicles.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Utilization per date and vehicle",
+            content = @Content(schema = @Schema(implementation = UtilizationReportDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+    )
+    @GetMapping
+    public UtilizationReportDTO getUtilization(
+            @Parameter(description = "First date (YYYY-MM-DD)", example = "2025-12-01", required = true)
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+
+            @Parameter(description = "Last date, inclusive (YYYY-MM-DD)", example = "2025-12-07", required = true)
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to
+    ) {
+        return utilizationService.getUtilization(from, to);
+    }
+}
@@ -0,0 +1,34 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Restrictions applied while a date's availability is computed, not afterwards.
+ */
+@Data
+@Builder
+public class AvailabilityFilterDTO {
+
+    @Schema(description = "City zone; all zones when null", example = "DUBAI_MARINA")
+    private String zone;
+
+    @Schema(description = "Only cleaners of these vehicles; all vehicles when empty", example = "[1, 2]")
+    private List<Long> vehicleIds;
+
+    @Schema(description = "Only windows of at least this many hours; cleaners without one are left out", example = "4")
+    private Integer minWindowHours;
+
+    @Schema(description = "Zero-based page of cleaners", example = "0")
+    private int page;
+
+    @Schema(description = "Cleaners per page; all cleaners when null", example = "20")
+    private Integer limit;
+
+    public boolean isUnrestricted() {
+        return (vehicleIds == null || vehicleIds.isEmpty()) && minWindowHours == null && limit == null && page == 0;
+    }
+}
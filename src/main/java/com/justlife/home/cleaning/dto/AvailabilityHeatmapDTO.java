@@ -0,0 +1,62 @@
+package com.justlife.home.cleaning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Number of bookable teams per day and half-hour slot of a date range.
+ */
+@Data
+@Builder
+public class AvailabilityHeatmapDTO {
+
+    @Schema(description = "First date of the range", example = "2025-12-01")
+    private LocalDate from;
+
+    @Schema(description = "Last date of the range (inclusive)", example = "2025-12-31")
+    private LocalDate to;
+
+    @Schema(description = "Length of one slot in minutes", example = "30")
+    private int slotMinutes;
+
+    @Schema(description = "One entry per date of the range")
+    private List<Day> days;
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class Day {
+
+        @Schema(description = "Date", example = "2025-12-01")
+        private LocalDate date;
+
+        @Schema(description = "False for past dates and non-working days, which have no slots", example = "true")
+        private boolean bookable;
+
+        @Schema(description = "Half-hour slots of the working day")
+        private List<Slot> slots;
+    }
+
+    @Data
+    @Builder
+    public static class Slot {
+
+        @Schema(description = "Start of the slot", example = "10:00")
+        private LocalTime start;
+
+        @Schema(description = "Teams of one cleaner free during the slot", example = "20")
+        private int teamsOf1;
+
+        @Schema(description = "Teams of two cleaners from the same vehicle free during the slot", example = "10")
+        private int teamsOf2;
+
+        @Schema(description = "Teams of three cleaners from the same vehicle free during the slot", example = "5")
+        private int teamsOf3;
+    }
+}
@@ -0,0 +1,23 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchSlotQueryRequestDTO {
+
+    @Schema(description = "Candidate slots to evaluate (max 50)")
+    @NotEmpty
+    @Size(max = 50)
+    @Valid
+    private List<SlotQueryDTO> queries;
+}
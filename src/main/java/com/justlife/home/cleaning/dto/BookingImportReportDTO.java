@@ -0,0 +1,27 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV booking import.
+ */
+@Data
+@Builder
+public class BookingImportReportDTO {
+
+    @Schema(description = "Data rows read, header excluded", example = "1200")
+    private long rowsRead;
+
+    @Schema(description = "Bookings created", example = "1187")
+    private long imported;
+
+    @Schema(description = "Rows rejected", example = "13")
+    private long rejected;
+
+    @Schema(description = "Rejected rows with reasons; only the first ones when there are many")
+    private List<RejectedImportRowDTO> rejections;
+}
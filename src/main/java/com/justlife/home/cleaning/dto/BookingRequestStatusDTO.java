@@ -0,0 +1,40 @@
+package com.justlife.home.cleaning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.justlife.home.cleaning.enums.BookingRequestState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingRequestStatusDTO {
+
+    @Schema(description = "Id of the queued booking request", example = "7b0e3a9e-5f7c-4c57-9a55-0f0e2c1b8f10")
+    private String requestId;
+
+    @Schema(description = "Processing state", example = "COMPLETED")
+    private BookingRequestState state;
+
+    @Schema(description = "URL to poll for the request status",
+            example = "/api/v1/bookings/requests/7b0e3a9e-5f7c-4c57-9a55-0f0e2c1b8f10")
+    private String statusUrl;
+
+    @Schema(description = "Time the request was accepted")
+    private Instant submittedAt;
+
+    @Schema(description = "Time processing finished")
+    private Instant completedAt;
+
+    @Schema(description = "Created booking, once the request is completed")
+    private BookingResponseDTO booking;
+
+    @Schema(description = "Error code, when the request failed", example = "3003")
+    private Integer errorCode;
+
+    @Schema(description = "Error message, when the request failed")
+    private String message;
+}
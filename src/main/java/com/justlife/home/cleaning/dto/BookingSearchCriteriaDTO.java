@@ -0,0 +1,33 @@
+package com.justlife.home.cleaning.dto;
+
+import com.justlife.home.cleaning.enums.BookingStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a booking search page. Null filters are not applied.
+ */
+@Data
+@Builder
+public class BookingSearchCriteriaDTO {
+
+    // prefix of the customer name
+    private String customerName;
+
+    // bookings starting on or after this date
+    private LocalDate from;
+
+    // bookings starting on or before this date
+    private LocalDate to;
+
+    private BookingStatus status;
+
+    private Long vehicleId;
+
+    // nextCursor of the previous page; first page when null
+    private String cursor;
+
+    private int limit;
+}
@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of booking search results in (startDateTime, id) order.
+ */
+@Data
+@Builder
+public class BookingSearchPageDTO {
+
+    @Schema(description = "Bookings of this page")
+    private List<BookingSummaryDTO> items;
+
+    @Schema(description = "Pass as cursor to get the next page; null on the last page",
+            example = "MjAyNS0xMi0wNFQxMDowMH40Mg")
+    private String nextCursor;
+}
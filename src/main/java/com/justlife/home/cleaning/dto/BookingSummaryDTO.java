@@ -0,0 +1,39 @@
+package com.justlife.home.cleaning.dto;
+
+import com.justlife.home.cleaning.enums.BookingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking as listed by the search, without its cleaner ids.
+ */
+@Data
+@Builder
+public class BookingSummaryDTO {
+    @Schema(description = "Booking ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Start timestamp of the booking", example = "2025-12-04T10:00:00")
+    private LocalDateTime startDateTime;
+
+    @Schema(description = "End timestamp of the booking", example = "2025-12-04T12:00:00")
+    private LocalDateTime endDateTime;
+
+    @Schema(description = "Duration in hours", example = "2")
+    private Integer durationHours;
+
+    @Schema(description = "Number of cleaners requested", example = "2")
+    private Integer requiredCleanerCount;
+
+    @Schema(description = "Customer name", example = "John Doe")
+    private String customerName;
+
+    @Schema(description = "Booking status", example = "CONFIRMED")
+    private BookingStatus status;
+
+    @Schema(description = "Vehicle ID assigned to this booking", example = "1")
+    private Long vehicleId;
+}
@@ -0,0 +1,75 @@
+package com.justlife.home.cleaning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.justlife.home.cleaning.enums.AvailabilityEncoding;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Compact availability of a date: vehicles are listed once and cleaners refer
+ * to them by id, windows are minute offsets (or a bitmask) instead of time strings.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactAvailabilityDTO {
+
+    public static final String MEDIA_TYPE = "application/vnd.justlife.availability-compact+json";
+
+    @Schema(description = "Date of the availability", example = "2025-12-05")
+    private LocalDate date;
+
+    @Schema(description = "Encoding of the cleaners' free time", example = "WINDOWS")
+    private AvailabilityEncoding encoding;
+
+    @Schema(description = "Start of the first bitmask slot (BITMASK only)", example = "08:00")
+    private LocalTime slotOrigin;
+
+    @Schema(description = "Length of one bitmask slot in minutes (BITMASK only)", example = "15")
+    private Integer slotMinutes;
+
+    @Schema(description = "Vehicles referenced by the cleaners")
+    private List<Vehicle> vehicles;
+
+    @Schema(description = "Cleaners with free time on the date")
+    private List<Cleaner> cleaners;
+
+    @Data
+    @Builder
+    public static class Vehicle {
+
+        @Schema(description = "Vehicle ID", example = "1")
+        private Long id;
+
+        @Schema(description = "Vehicle name", example = "Vehicle-1")
+        private String name;
+    }
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Cleaner {
+
+        @Schema(description = "Cleaner ID", example = "12")
+        private Long id;
+
+        @Schema(description = "Cleaner name", example = "Cleaner-1-3")
+        private String name;
+
+        @Schema(description = "Vehicle ID", example = "1")
+        private Long vehicleId;
+
+        @Schema(description = "Free windows as start/end pairs of minutes since midnight (WINDOWS only)",
+                example = "[480, 600, 750, 1320]")
+        private int[] windows;
+
+        @Schema(description = "Bit i set when slot i of the day is entirely free (BITMASK only)",
+                example = "72057594037927935")
+        private Long mask;
+    }
+}
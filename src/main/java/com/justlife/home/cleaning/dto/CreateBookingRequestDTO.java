@@ -32,4 +32,7 @@ public class CreateBookingRequestDTO {
 
     @Schema(description = "Customer name for the appointment", example = "Sanal Sunny")
     private String customerName;
+
+    @Schema(description = "City zone of the appointment; any zone when omitted", example = "DUBAI_MARINA")
+    private String zone;
 }
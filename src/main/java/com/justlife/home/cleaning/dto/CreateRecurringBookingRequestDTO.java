@@ -0,0 +1,49 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateRecurringBookingRequestDTO {
+
+    @Schema(description = "Start timestamp of the first appointment",
+            example = "2025-12-04T10:00:00")
+    @NotNull
+    private LocalDateTime startDateTime;
+
+    @Schema(description = "Duration of each booking in hours (allowed: 2 or 4)", example = "2")
+    @Min(2)
+    @Max(4)
+    private Integer durationHours;
+
+    @Schema(description = "Number of cleaners required (1 to 3)", example = "2")
+    @Min(1)
+    @Max(3)
+    private Integer cleanerCount;
+
+    @Schema(description = "Customer name for the appointments", example = "Sanal Sunny")
+    private String customerName;
+
+    @Schema(description = "City zone of the appointments; any zone when omitted", example = "DUBAI_MARINA")
+    private String zone;
+
+    @Schema(description = "Weeks between two occurrences (1 to 4)", example = "1")
+    @Min(1)
+    @Max(4)
+    private int intervalWeeks = 1;
+
+    @Schema(description = "Number of occurrences, the first included (2 to 52)", example = "12")
+    @NotNull
+    @Min(2)
+    @Max(52)
+    private Integer occurrences;
+}
@@ -0,0 +1,23 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "Error response of a recurring booking that cannot be served on every occurrence")
+public class RecurrenceConflictResponseDTO {
+
+    @Schema(example = "3008", description = "Numeric error code")
+    private int errorCode;
+
+    @Schema(example = "No cleaner team of one vehicle is free on every occurrence", description = "Error message")
+    private String message;
+
+    @Schema(description = "Occurrences blocking the team that came closest, ascending", example = "[\"2025-12-18\"]")
+    private List<LocalDate> conflictingDates;
+}
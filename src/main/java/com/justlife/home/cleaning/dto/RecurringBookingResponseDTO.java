@@ -0,0 +1,24 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A weekly series served by one team of one vehicle.
+ */
+@Data
+@Builder
+public class RecurringBookingResponseDTO {
+
+    @Schema(description = "Vehicle serving every occurrence", example = "2")
+    private Long vehicleId;
+
+    @Schema(description = "Cleaners serving every occurrence", example = "[6, 7]")
+    private List<Long> cleanerIds;
+
+    @Schema(description = "Created bookings in occurrence order")
+    private List<BookingResponseDTO> bookings;
+}
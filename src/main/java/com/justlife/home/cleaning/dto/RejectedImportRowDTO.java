@@ -0,0 +1,19 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A CSV row that was not imported, and why.
+ */
+@Data
+@Builder
+public class RejectedImportRowDTO {
+
+    @Schema(description = "Line number in the file (the header is line 1)", example = "17")
+    private long line;
+
+    @Schema(description = "Why the row was rejected", example = "Cleaner 4 is not available")
+    private String reason;
+}
@@ -0,0 +1,42 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * New cleaners of one booking in a re-packing proposal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepackingChangeDTO {
+
+    @Schema(description = "Booking being reassigned", example = "42")
+    @NotNull
+    private Long bookingId;
+
+    @Schema(description = "Vehicle of the booking, unchanged", example = "3")
+    @NotNull
+    private Long vehicleId;
+
+    @Schema(description = "Start of the booking, unchanged", example = "2025-12-04T10:00:00")
+    @NotNull
+    private LocalDateTime startDateTime;
+
+    @Schema(description = "Cleaners assigned when the proposal was made", example = "[11, 12]")
+    @NotEmpty
+    private List<Long> fromCleanerIds;
+
+    @Schema(description = "Proposed cleaners", example = "[11, 14]")
+    @NotEmpty
+    private List<Long> toCleanerIds;
+}
@@ -0,0 +1,41 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Proposed cleaner reassignments for one day, with the free time before
+ * and after. Sent back as is to apply it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepackingProposalDTO {
+
+    @Schema(description = "Re-packed date", example = "2025-12-04")
+    @NotNull
+    private LocalDate date;
+
+    @Schema(description = "Free minutes that can still take a 2h booking, before re-packing", example = "2400")
+    private long sellableMinutesBefore;
+
+    @Schema(description = "Free minutes that can still take a 2h booking, after re-packing", example = "2640")
+    private long sellableMinutesAfter;
+
+    @Schema(description = "All free minutes of the vehicles involved after re-packing", example = "3120")
+    private long freeMinutes;
+
+    @Schema(description = "Bookings whose cleaners change; times never change")
+    @NotNull
+    @Valid
+    private List<RepackingChangeDTO> changes;
+}
@@ -0,0 +1,44 @@
+package com.justlife.home.cleaning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlotAvailabilityDTO {
+
+    @Schema(description = "Appointment date", example = "2025-12-04")
+    private LocalDate date;
+
+    @Schema(description = "Start time", example = "10:00")
+    private LocalTime start;
+
+    @Schema(description = "Duration in hours", example = "2")
+    private Integer durationHours;
+
+    @Schema(description = "Number of cleaners requested", example = "2")
+    private Integer cleanerCount;
+
+    @Schema(description = "Whether a same-vehicle team can take this slot", example = "true")
+    private boolean available;
+
+    @Schema(description = "Vehicle that would be assigned", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Cleaners that would be assigned", example = "[3, 5]")
+    private List<Long> cleanerIds;
+
+    @Schema(description = "Error code explaining why the slot is not available", example = "3003")
+    private Integer errorCode;
+
+    @Schema(description = "Reason why the slot is not available",
+            example = "No vehicle has enough available cleaners for this booking")
+    private String message;
+}
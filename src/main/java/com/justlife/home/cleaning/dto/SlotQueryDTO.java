@@ -0,0 +1,32 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotQueryDTO {
+
+    @Schema(description = "Appointment date", example = "2025-12-04")
+    @NotNull
+    private LocalDate date;
+
+    @Schema(description = "Start time (HH:mm)", example = "10:00")
+    @NotNull
+    private LocalTime start;
+
+    @Schema(description = "Duration in hours (allowed values: 2 or 4)", example = "2")
+    @NotNull
+    private Integer durationHours;
+
+    @Schema(description = "Number of cleaners required (1 to 3)", example = "2")
+    @NotNull
+    private Integer cleanerCount;
+}
@@ -0,0 +1,68 @@
+package com.justlife.home.cleaning.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Booked against available cleaner-minutes per vehicle and day of a date range.
+ */
+@Data
+@Builder
+public class UtilizationReportDTO {
+
+    @Schema(description = "First date of the range", example = "2025-12-01")
+    private LocalDate from;
+
+    @Schema(description = "Last date of the range (inclusive)", example = "2025-12-31")
+    private LocalDate to;
+
+    @Schema(description = "One entry per date of the range")
+    private List<Day> days;
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class Day {
+
+        @Schema(description = "Date", example = "2025-12-01")
+        private LocalDate date;
+
+        @Schema(description = "False for past dates and non-working days, which have no vehicles", example = "true")
+        private boolean bookable;
+
+        @Schema(description = "Vehicles with at least one cleaner working that day, by id")
+        private List<Vehicle> vehicles;
+    }
+
+    @Data
+    @Builder
+    public static class Vehicle {
+
+        @Schema(description = "Vehicle id", example = "1")
+        private Long vehicleId;
+
+        @Schema(description = "Shift minutes of the vehicle's cleaners working that day", example = "4200")
+        private long availableMinutes;
+
+        @Schema(description = "Cleaner-minutes held by bookings", example = "1440")
+        private long bookedMinutes;
+
+        @Schema(description = "Cleaner-minutes kept free as break after bookings", example = "360")
+        private long breakMinutes;
+
+        @Schema(description = "Cleaner-minutes still free", example = "2400")
+        private long freeMinutes;
+
+        @Schema(description = "Booked share of the available minutes, 0 to 1", example = "0.34")
+        private double utilization;
+
+        @Schema(description = "Share of the free minutes in windows too short for a 2h booking, 0 to 1",
+                example = "0.15")
+        private double fragmentation;
+    }
+}
@@ -0,0 +1,21 @@
+package com.justlife.home.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Availability of one zone's cleaners, as part of a fleet-wide view.
+ */
+@Data
+@Builder
+public class ZoneAvailabilityDTO {
+
+    @Schema(description = "City zone", example = "DUBAI_MARINA")
+    private String zone;
+
+    @Schema(description = "Cleaners of the zone with their free time windows")
+    private List<CleanerAvailabilityDTO> cleaners;
+}
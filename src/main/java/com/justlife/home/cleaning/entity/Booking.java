@@ -10,6 +10,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // date range lookups, archival scan and keyset pagination
+        @Index(name = "idx_booking_start_id", columnList = "start_date_time, id"),
+        // booking search, filtered and sorted by (start_date_time, id)
+        @Index(name = "idx_booking_customer_start_id", columnList = "customer_name, start_date_time, id"),
+        @Index(name = "idx_booking_status_start_id", columnList = "status, start_date_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,58 @@
+package com.justlife.home.cleaning.entity;
+
+import com.justlife.home.cleaning.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booking moved out of the live tables by the archival job.
+ * Keeps the original id so old references keep resolving.
+ */
+@Entity
+@Table(name = "booking_archive", indexes = {
+        // exports of ranges before the archival horizon
+        @Index(name = "idx_booking_archive_start_id", columnList = "start_date_time, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingArchive implements Persistable<Long> {
+    @Id
+    private Long id;
+
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+
+    private Integer durationHours;
+    private Integer requiredCleanerCount;
+
+    private String customerName;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    private Long vehicleId;
+
+    private LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(
+            name = "booking_cleaner_archive",
+            joinColumns = @JoinColumn(name = "booking_id")
+    )
+    @Column(name = "cleaner_id")
+    private List<Long> cleanerIds = new ArrayList<>();
+
+    // archive rows are insert-only, never merged
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.justlife.home.cleaning.entity;
+
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed booking change, in commit-ish order of its id. Every node
+ * tails this table to apply the changes made by the other nodes to its
+ * in-memory availability state.
+ */
+@Entity
+@Table(
+        name = "booking_change_log",
+        indexes = @Index(name = "idx_booking_change_log_created_at", columnList = "created_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingChangeLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private BookingChangeType changeType;
+
+    // node that made the change; it has already applied it locally
+    @Column(name = "origin_node", nullable = false)
+    private String originNode;
+
+    @Column(name = "previous_start")
+    private LocalDateTime previousStart;
+
+    @Column(name = "previous_end")
+    private LocalDateTime previousEnd;
+
+    // comma separated cleaner ids
+    @Column(name = "previous_cleaner_ids")
+    private String previousCleanerIds;
+
+    @Column(name = "current_start")
+    private LocalDateTime currentStart;
+
+    @Column(name = "current_end")
+    private LocalDateTime currentEnd;
+
+    @Column(name = "current_cleaner_ids")
+    private String currentCleanerIds;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
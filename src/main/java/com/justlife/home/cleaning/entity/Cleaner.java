@@ -22,7 +22,9 @@ public class Cleaner {
 
     private String name;
 
+    @Builder.Default
     private LocalTime workStart = ApplicationConstants.WORK_START;
+    @Builder.Default
     private LocalTime workEnd   = ApplicationConstants.WORK_END;
 
     @ManyToOne(fetch = FetchType.LAZY)
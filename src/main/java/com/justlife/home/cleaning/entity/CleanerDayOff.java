@@ -0,0 +1,36 @@
+package com.justlife.home.cleaning.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * A day a single cleaner does not work (leave, sick day, training).
+ */
+@Entity
+@Table(
+        name = "cleaner_day_off",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_cleaner_day_off_cleaner_date",
+                columnNames = {"cleaner_id", "day_off_date"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CleanerDayOff {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cleaner_id", nullable = false)
+    private Long cleanerId;
+
+    @Column(name = "day_off_date", nullable = false)
+    private LocalDate dayOffDate;
+
+    private String reason;
+}
@@ -0,0 +1,39 @@
+package com.justlife.home.cleaning.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Version row of one cleaner's day. Every booking write bumps the rows of the
+ * cleaners it assigns, so two writes assigning the same cleaner on the same
+ * day cannot both commit, whichever node they run on.
+ */
+@Entity
+@Table(
+        name = "cleaner_schedule",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_cleaner_schedule_cleaner_date",
+                columnNames = {"cleaner_id", "schedule_date"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CleanerSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cleaner_id", nullable = false)
+    private Long cleanerId;
+
+    @Column(name = "schedule_date", nullable = false)
+    private LocalDate scheduleDate;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,30 @@
+package com.justlife.home.cleaning.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Public holiday: nobody works and no bookings can be made on that date.
+ */
+@Entity
+@Table(
+        name = "holiday",
+        uniqueConstraints = @UniqueConstraint(name = "uk_holiday_date", columnNames = "holiday_date")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Holiday {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+
+    private String name;
+}
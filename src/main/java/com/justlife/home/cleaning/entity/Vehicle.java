@@ -1,5 +1,6 @@
 package com.justlife.home.cleaning.entity;
 
+import com.justlife.home.cleaning.constants.ApplicationConstants;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -19,6 +20,11 @@ public class Vehicle {
 
     private String name;
 
+    // city zone served by the vehicle; bookings are only assigned within their zone
+    @Column(nullable = false)
+    @Builder.Default
+    private String zone = ApplicationConstants.DEFAULT_ZONE;
+
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Cleaner> cleaners = new ArrayList<>();
 }
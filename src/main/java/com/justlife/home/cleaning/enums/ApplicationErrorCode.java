@@ -7,13 +7,18 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public enum ApplicationErrorCode implements ErrorCode {
     BOOKING_NOT_FOUND(2001, "Booking not found"),
+    BOOKING_REQUEST_NOT_FOUND(2002, "Booking request not found"),
     VALIDATION_FAILED(40001, "Validation failed"),
     INTERNAL_ERROR(50001, "Internal server error"),
 
     NO_CLEANERS_AVAILABLE(3001, "No cleaners available for the selected time slot"),
     INSUFFICIENT_CLEANERS_FOR_UPDATE(3002, "Not enough cleaners available to update booking"),
     NO_VEHICLE_WITH_REQUIRED_CLEANERS(3003, "No vehicle has enough available cleaners for this booking"),
-    PAST_DATE_NOT_ALLOWED(3004, "Cannot check availability for past dates");;
+    PAST_DATE_NOT_ALLOWED(3004, "Cannot check availability for past dates"),
+    BOOKING_QUEUE_FULL(3005, "Too many pending booking requests, please retry later"),
+    BOOKING_CONFLICT(3006, "The selected cleaners were booked concurrently, please retry"),
+    REPACKING_STALE(3007, "The schedule changed since the re-packing was proposed, please propose it again"),
+    RECURRENCE_CONFLICT(3008, "No cleaner team of one vehicle is free on every occurrence");
 
     private final int code;
     private final String message;
@@ -0,0 +1,11 @@
+package com.justlife.home.cleaning.enums;
+
+/**
+ * How free time is encoded in the compact availability representation.
+ */
+public enum AvailabilityEncoding {
+    /** Free windows as [start, end) pairs of minutes since midnight. */
+    WINDOWS,
+    /** One bit per slot of the working day, set when the whole slot is free. */
+    BITMASK
+}
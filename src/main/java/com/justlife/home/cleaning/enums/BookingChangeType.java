@@ -0,0 +1,6 @@
+package com.justlife.home.cleaning.enums;
+
+public enum BookingChangeType {
+    CREATED,
+    UPDATED
+}
@@ -11,8 +11,15 @@ public enum BookingErrorCode implements ErrorCode {
     INVALID_CLEANER_COUNT(1001, "Cleaner count must be 1, 2, or 3"),
     INVALID_DURATION(1002, "Duration must be exactly 2 or 4 hours"),
     INVALID_TIME_RANGE(1003, "Start time must be before end time"),
-    NON_WORKING_DAY(1004, "Bookings cannot be made on Fridays"),
-    OUTSIDE_WORKING_HOURS(1005, "Booking must be between 08:00 and 22:00");
+    NON_WORKING_DAY(1004, "Bookings cannot be made on non-working days (weekly rest days, public holidays)"),
+    OUTSIDE_WORKING_HOURS(1005, "Booking must be between 08:00 and 22:00"),
+    INVALID_DATE_RANGE(1006, "Date range must not end before it starts and may span at most 62 days"),
+    INVALID_PAGE(1007, "Page must not be negative and needs a limit, limit must be between 1 and 500 and the minimum window positive"),
+    INVALID_SEARCH(1008, "Search range must not end before it starts, limit must be between 1 and 200 and the cursor must come from a previous page"),
+    INVALID_EXPORT_RANGE(1009, "Export range must not end before it starts"),
+    INVALID_IMPORT_FILE(1010, "Import file must start with a header naming start_date_time, duration_hours, customer_name and cleaner_ids"),
+    INVALID_REPACKING_DATE(1011, "Only future dates can be re-packed"),
+    INVALID_REPACKING_PROPOSAL(1012, "A re-packing proposal may change each booking once and name each cleaner of a booking once");
 
     private final int code;
     private final String message;
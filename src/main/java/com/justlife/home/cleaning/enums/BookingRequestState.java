@@ -0,0 +1,8 @@
+package com.justlife.home.cleaning.enums;
+
+public enum BookingRequestState {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
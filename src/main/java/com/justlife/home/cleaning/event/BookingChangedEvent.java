@@ -0,0 +1,41 @@
+package com.justlife.home.cleaning.event;
+
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by the booking service whenever a booking is written.
+ * Carries the interval before and after the change so listeners can
+ * update their per-date state incrementally instead of recomputing it.
+ */
+@Value
+@Builder
+public class BookingChangedEvent {
+
+    Long bookingId;
+    Long vehicleId;
+    BookingChangeType changeType;
+
+    // null when the booking has just been created
+    BookingSlot previous;
+    BookingSlot current;
+
+    /**
+     * All dates whose availability is affected by this change.
+     */
+    public Set<LocalDate> getAffectedDates() {
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        if (previous != null) {
+            dates.add(previous.getDate());
+        }
+        if (current != null) {
+            dates.add(current.getDate());
+        }
+        return dates;
+    }
+}
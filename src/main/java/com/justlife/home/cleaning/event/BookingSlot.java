@@ -0,0 +1,25 @@
+package com.justlife.home.cleaning.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the time interval and cleaners held by a booking
+ * at one point in time.
+ */
+@Value
+@Builder
+public class BookingSlot {
+
+    LocalDateTime start;
+    LocalDateTime end;
+    List<Long> cleanerIds;
+
+    public LocalDate getDate() {
+        return start.toLocalDate();
+    }
+}
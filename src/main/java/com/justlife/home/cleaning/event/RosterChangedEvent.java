@@ -0,0 +1,18 @@
+package com.justlife.home.cleaning.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published when a roster refresh found cleaners added, removed or with a
+ * changed shift, vehicle or zone, so views computed from the old roster can
+ * be dropped.
+ */
+@Value
+@Builder
+public class RosterChangedEvent {
+
+    Set<Long> cleanerIds;
+}
@@ -0,0 +1,17 @@
+package com.justlife.home.cleaning.event;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published when a calendar reload found different holidays or days off,
+ * so views computed from the old calendar can be dropped.
+ */
+@Value
+@Builder
+public class WorkingCalendarChangedEvent {
+
+    Set<Integer> years;
+}
@@ -0,0 +1,14 @@
+package com.justlife.home.cleaning.exception;
+
+import com.justlife.home.cleaning.enums.ErrorCode;
+import lombok.Getter;
+
+@Getter
+public class BookingConflictException extends RuntimeException {
+    private final int errorCode;
+
+    public BookingConflictException(ErrorCode error) {
+        super(error.getMessage());
+        this.errorCode = error.getCode();
+    }
+}
@@ -0,0 +1,14 @@
+package com.justlife.home.cleaning.exception;
+
+import com.justlife.home.cleaning.enums.ErrorCode;
+import lombok.Getter;
+
+@Getter
+public class BookingQueueFullException extends RuntimeException {
+    private final int errorCode;
+
+    public BookingQueueFullException(ErrorCode error) {
+        super(error.getMessage());
+        this.errorCode = error.getCode();
+    }
+}
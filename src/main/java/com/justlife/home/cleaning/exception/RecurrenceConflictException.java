@@ -0,0 +1,19 @@
+package com.justlife.home.cleaning.exception;
+
+import com.justlife.home.cleaning.enums.ErrorCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+public class RecurrenceConflictException extends RuntimeException {
+    private final int errorCode;
+    private final List<LocalDate> conflictingDates;
+
+    public RecurrenceConflictException(ErrorCode error, List<LocalDate> conflictingDates) {
+        super(error.getMessage());
+        this.errorCode = error.getCode();
+        this.conflictingDates = conflictingDates;
+    }
+}
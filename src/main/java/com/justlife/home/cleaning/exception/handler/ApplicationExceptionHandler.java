@@ -2,11 +2,16 @@ package com.justlife.home.cleaning.exception.handler;
 
 import com.justlife.home.cleaning.dto.ErrorResponseDTO;
 import com.justlife.home.cleaning.dto.FieldValidationErrorResponseDTO;
+import com.justlife.home.cleaning.dto.RecurrenceConflictResponseDTO;
 import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.exception.BookingConflictException;
+import com.justlife.home.cleaning.exception.BookingQueueFullException;
 import com.justlife.home.cleaning.exception.BookingValidationException;
 import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.exception.RecurrenceConflictException;
 import com.justlife.home.cleaning.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -66,6 +71,54 @@ public class ApplicationExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Backpressure from the asynchronous booking pipeline
+     */
+    @ExceptionHandler(BookingQueueFullException.class)
+    public ResponseEntity<?> handleQueueFull(BookingQueueFullException ex) {
+        log.warn("Booking request rejected: {}", ex.getMessage());
+
+        ErrorResponseDTO response = ErrorResponseDTO.builder()
+                .errorCode(ex.getErrorCode())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Concurrent booking writes kept conflicting after all retries
+     */
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<?> handleConflict(BookingConflictException ex) {
+        log.warn("Booking write conflict: {}", ex.getMessage());
+
+        ErrorResponseDTO response = ErrorResponseDTO.builder()
+                .errorCode(ex.getErrorCode())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Recurring booking with occurrences no single team can serve
+     */
+    @ExceptionHandler(RecurrenceConflictException.class)
+    public ResponseEntity<?> handleRecurrenceConflict(RecurrenceConflictException ex) {
+        log.warn("Recurring booking conflict on {}", ex.getConflictingDates());
+
+        RecurrenceConflictResponseDTO response = RecurrenceConflictResponseDTO.builder()
+                .errorCode(ex.getErrorCode())
+                .message(ex.getMessage())
+                .conflictingDates(ex.getConflictingDates())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * DTO field validation (@Valid)
      */
@@ -0,0 +1,13 @@
+package com.justlife.home.cleaning.repository;
+
+import com.justlife.home.cleaning.entity.BookingArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+
+    @Query("select a from BookingArchive a left join fetch a.cleanerIds where a.id = :id")
+    Optional<BookingArchive> findWithCleanersById(Long id);
+}
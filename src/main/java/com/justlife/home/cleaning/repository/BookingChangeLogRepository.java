@@ -0,0 +1,24 @@
+package com.justlife.home.cleaning.repository;
+
+import com.justlife.home.cleaning.entity.BookingChangeLog;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingChangeLogRepository extends JpaRepository<BookingChangeLog, Long> {
+
+    List<BookingChangeLog> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select coalesce(max(e.id), 0) from BookingChangeLog e")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from BookingChangeLog e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -2,20 +2,166 @@ package com.justlife.home.cleaning.repository;
 
 import com.justlife.home.cleaning.entity.Booking;
 import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingStatus;
+import com.justlife.home.cleaning.repository.projection.BookingKeyView;
+import com.justlife.home.cleaning.repository.projection.BookingResponseRow;
+import com.justlife.home.cleaning.repository.projection.BookingSearchRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // Date lookups are expressed as half-open [day, next day) ranges so they
+    // can use the (start_date_time, id) index instead of applying date() per row.
+
+    default List<Booking> findByDate(LocalDate date) {
+        return findConfirmedBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    default List<Booking> findByDateWithCleaners(LocalDate date) {
+        return findConfirmedWithCleanersBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    default List<Booking> findByCleanerAndDate(Cleaner cleaner, LocalDate date) {
+        return findConfirmedByCleanerBetween(cleaner, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    default List<Booking> findByVehicleAndDate(Long vehicleId, LocalDate date) {
+        return findConfirmedByVehicleBetween(vehicleId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    default List<Booking> findByVehiclesAndDateWithCleaners(Collection<Long> vehicleIds, LocalDate date) {
+        return findConfirmedByVehiclesBetween(vehicleIds, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    default List<Booking> findByZoneAndDateWithCleaners(String zone, LocalDate date) {
+        return findConfirmedInZoneBetween(zone, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
     @Query("select b from Booking b " +
-            "where date(b.startDateTime) = :date and b.status = 'CONFIRMED'")
-    List<Booking> findByDate(LocalDate date);
+            "where b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED'")
+    List<Booking> findConfirmedBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("select distinct b from Booking b left join fetch b.cleaners " +
+            "where b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED'")
+    List<Booking> findConfirmedWithCleanersBetween(LocalDateTime from, LocalDateTime to);
 
     @Query("select b from Booking b join b.cleaners c " +
-            "where c = :cleaner and date(b.startDateTime) = :date and b.status = 'CONFIRMED'")
-    List<Booking> findByCleanerAndDate(Cleaner cleaner, LocalDate date);
+            "where c = :cleaner and b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED'")
+    List<Booking> findConfirmedByCleanerBetween(Cleaner cleaner, LocalDateTime from, LocalDateTime to);
+
+    // every booking holding at least one cleaner of the vehicle, with all its cleaners
+    @Query("select distinct b from Booking b left join fetch b.cleaners " +
+            "where b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED' " +
+            "and exists (select 1 from Booking vb join vb.cleaners vc " +
+            "where vb = b and vc.vehicle.id = :vehicleId)")
+    List<Booking> findConfirmedByVehicleBetween(Long vehicleId, LocalDateTime from, LocalDateTime to);
+
+    // bookings holding a cleaner of any of the vehicles, with all their cleaners
+    @Query("select distinct b from Booking b left join fetch b.cleaners " +
+            "where b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED' " +
+            "and exists (select 1 from Booking vb join vb.cleaners vc " +
+            "where vb = b and vc.vehicle.id in :vehicleIds)")
+    List<Booking> findConfirmedByVehiclesBetween(Collection<Long> vehicleIds, LocalDateTime from, LocalDateTime to);
+
+    // bookings served by the zone's vehicles, with all their cleaners
+    @Query("select distinct b from Booking b left join fetch b.cleaners " +
+            "where b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED' " +
+            "and exists (select 1 from Booking zb join zb.cleaners zc " +
+            "where zb = b and zc.vehicle.zone = :zone)")
+    List<Booking> findConfirmedInZoneBetween(String zone, LocalDateTime from, LocalDateTime to);
+
+    // bookings of the vehicles on the given days of [from, to), with all their cleaners;
+    // the range keeps the index seek, the day list skips the days in between
+    @Query("select distinct b from Booking b left join fetch b.cleaners " +
+            "where b.startDateTime >= :from and b.startDateTime < :to and b.status = 'CONFIRMED' " +
+            "and extract(date from b.startDateTime) in :dates " +
+            "and exists (select 1 from Booking vb join vb.cleaners vc " +
+            "where vb = b and vc.vehicle.id in :vehicleIds)")
+    List<Booking> findConfirmedByVehiclesOnDates(Collection<Long> vehicleIds,
+                                                 Collection<LocalDate> dates,
+                                                 LocalDateTime from,
+                                                 LocalDateTime to);
+
+    // ---------------------------------------------------------------------
+    // Read path
+    // ---------------------------------------------------------------------
+
+    // Reads exactly the columns of BookingResponseDTO in one statement,
+    // without hydrating Booking/Cleaner/Vehicle entities.
+    @Query("select new com.justlife.home.cleaning.repository.projection.BookingResponseRow(" +
+            "b.id, b.startDateTime, b.endDateTime, b.durationHours, b.requiredCleanerCount, " +
+            "b.customerName, b.status, c.id, v.id) " +
+            "from Booking b left join b.cleaners c left join c.vehicle v " +
+            "where b.id = :id " +
+            "order by c.id")
+    List<BookingResponseRow> findResponseRowsById(Long id);
+
+    // Keyset search in (start_date_time, id) order: the first page starts after
+    // (from, 0), later pages after the last row returned. The MySQL driver
+    // inlines parameters, so null filters fold away; status is an equality and
+    // seeks its (status, start_date_time, id) index in keyset order. Vehicle
+    // has no index of its own: the (start_date_time, id) index is walked and
+    // each row probes booking_cleaner and cleaner by primary key, so a rarely
+    // used vehicle reads more rows per page. A customer name prefix is a range
+    // on customer_name: it narrows the rows read, but they come in name order
+    // and are sorted before the limit applies. customerName must already be
+    // escaped with '!'.
+    @Query("select new com.justlife.home.cleaning.repository.projection.BookingSearchRow(" +
+            "b.id, b.startDateTime, b.endDateTime, b.durationHours, b.requiredCleanerCount, " +
+            "b.customerName, b.status, " +
+            "(select min(sc.vehicle.id) from Booking sb join sb.cleaners sc where sb = b)) " +
+            "from Booking b " +
+            "where (b.startDateTime > :afterStart or (b.startDateTime = :afterStart and b.id > :afterId)) " +
+            "and b.startDateTime < :to " +
+            "and (:customerName is null or b.customerName like concat(:customerName, '%') escape '!') " +
+            "and (:status is null or b.status = :status) " +
+            "and (:vehicleId is null or exists (select 1 from Booking vb join vb.cleaners vc " +
+            "where vb = b and vc.vehicle.id = :vehicleId)) " +
+            "order by b.startDateTime, b.id")
+    List<BookingSearchRow> search(LocalDateTime afterStart,
+                                  Long afterId,
+                                  LocalDateTime to,
+                                  String customerName,
+                                  BookingStatus status,
+                                  Long vehicleId,
+                                  Limit limit);
+
+    // ---------------------------------------------------------------------
+    // Archival
+    // ---------------------------------------------------------------------
+
+    @Query("select b.id as id, b.startDateTime as startDateTime from Booking b " +
+            "where b.startDateTime < :cutoff " +
+            "order by b.startDateTime, b.id")
+    List<BookingKeyView> findArchivableKeys(LocalDateTime cutoff, Limit limit);
+
+    @Query("select b.id as id, b.startDateTime as startDateTime from Booking b " +
+            "where b.startDateTime < :cutoff " +
+            "and (b.startDateTime > :afterStart or (b.startDateTime = :afterStart and b.id > :afterId)) " +
+            "order by b.startDateTime, b.id")
+    List<BookingKeyView> findArchivableKeysAfter(LocalDateTime cutoff,
+                                                 LocalDateTime afterStart,
+                                                 Long afterId,
+                                                 Limit limit);
+
+    @Query("select distinct b from Booking b " +
+            "left join fetch b.cleaners c left join fetch c.vehicle " +
+            "where b.id in :ids")
+    List<Booking> findAllWithCleanersByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from booking_cleaner where booking_id in (:ids)", nativeQuery = true)
+    int deleteCleanerLinks(Collection<Long> ids);
 
+    @Modifying
+    @Query("delete from Booking b where b.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,12 @@
+package com.justlife.home.cleaning.repository;
+
+import com.justlife.home.cleaning.entity.CleanerDayOff;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CleanerDayOffRepository extends JpaRepository<CleanerDayOff, Long> {
+
+    List<CleanerDayOff> findByDayOffDateBetween(LocalDate from, LocalDate to);
+}
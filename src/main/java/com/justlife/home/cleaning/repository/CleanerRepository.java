@@ -2,6 +2,15 @@ package com.justlife.home.cleaning.repository;
 
 import com.justlife.home.cleaning.entity.Cleaner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CleanerRepository extends JpaRepository<Cleaner, Long> {
+
+    List<Cleaner> findByVehicleId(Long vehicleId);
+
+    // vehicle is fetched too, so the cleaners can be used outside the persistence context
+    @Query("select c from Cleaner c join fetch c.vehicle order by c.id")
+    List<Cleaner> findAllWithVehicle();
 }
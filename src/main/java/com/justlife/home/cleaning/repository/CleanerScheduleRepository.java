@@ -0,0 +1,23 @@
+package com.justlife.home.cleaning.repository;
+
+import com.justlife.home.cleaning.entity.CleanerSchedule;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface CleanerScheduleRepository extends JpaRepository<CleanerSchedule, Long> {
+
+    // versions are incremented on commit even though the rows are not modified
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select s from CleanerSchedule s where s.cleanerId in :cleanerIds and s.scheduleDate = :date")
+    List<CleanerSchedule> findForWrite(Collection<Long> cleanerIds, LocalDate date);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select s from CleanerSchedule s where s.cleanerId in :cleanerIds and s.scheduleDate in :dates")
+    List<CleanerSchedule> findForWrite(Collection<Long> cleanerIds, Collection<LocalDate> dates);
+}
@@ -0,0 +1,12 @@
+package com.justlife.home.cleaning.repository;
+
+import com.justlife.home.cleaning.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByHolidayDateBetween(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,34 @@
+package com.justlife.home.cleaning.repository;
+
+import com.justlife.home.cleaning.entity.OutboxMessage;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // rows locked by another relay worker are skipped instead of waited for,
+    // failed rows wait for their next attempt, parked rows are left alone
+    @Query(value = "select * from outbox_message where published_at is null and parked_at is null " +
+            "and (next_attempt_at is null or next_attempt_at <= :now) " +
+            "order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxMessage> lockPending(LocalDateTime now, int limit);
+
+    @Query("select count(m) from OutboxMessage m where m.publishedAt is null and m.parkedAt is null")
+    long countPending();
+
+    @Query("select count(m) from OutboxMessage m where m.parkedAt is not null")
+    long countParked();
+
+    @Query("select min(m.createdAt) from OutboxMessage m where m.publishedAt is null and m.parkedAt is null")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxMessage m where m.publishedAt < :cutoff")
+    int deletePublishedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,81 @@
+package com.justlife.home.cleaning.repository.batch;
+
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts many bookings with their cleaner links as two JDBC batches,
+ * instead of one INSERT per booking and per link through the entity manager.
+ * Must run inside the caller's transaction; the generated ids are set on
+ * the given bookings.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingBatchWriter {
+
+    private static final String INSERT_BOOKING = """
+            insert into booking (start_date_time, end_date_time, duration_hours, required_cleaner_count, customer_name, status)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_CLEANER_LINK = """
+            insert into booking_cleaner (booking_id, cleaner_id) values (?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Booking> insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+                for (Booking booking : bookings) {
+                    ps.setTimestamp(1, Timestamp.valueOf(booking.getStartDateTime()));
+                    ps.setTimestamp(2, Timestamp.valueOf(booking.getEndDateTime()));
+                    ps.setInt(3, booking.getDurationHours());
+                    ps.setInt(4, booking.getRequiredCleanerCount());
+                    ps.setString(5, booking.getCustomerName());
+                    ps.setString(6, booking.getStatus().name());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Driver returned fewer generated ids than inserted bookings");
+                        }
+                        booking.setId(keys.getLong(1));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_CLEANER_LINK)) {
+                for (Booking booking : bookings) {
+                    for (Cleaner cleaner : booking.getCleaners()) {
+                        ps.setLong(1, booking.getId());
+                        ps.setLong(2, cleaner.getId());
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            return null;
+        });
+
+        return bookings;
+    }
+}
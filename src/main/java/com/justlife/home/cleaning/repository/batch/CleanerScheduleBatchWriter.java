@@ -0,0 +1,97 @@
+package com.justlife.home.cleaning.repository.batch;
+
+import com.justlife.home.cleaning.entity.CleanerSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads, inserts and version-bumps many cleaner schedule rows with one
+ * statement or JDBC batch each, bypassing the entity manager. The rows read
+ * are not managed, so their versions can be bumped here without leaving
+ * stale entities behind. Must run inside the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class CleanerScheduleBatchWriter {
+
+    private static final String INSERT = """
+            insert into cleaner_schedule (cleaner_id, schedule_date, version) values (?, ?, 0)
+            """;
+
+    private static final String BUMP = """
+            update cleaner_schedule set version = version + 1 where id = ? and version = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows of the given cleaners on the given dates, as of the transaction's snapshot.
+     */
+    public List<CleanerSchedule> findAll(Collection<Long> cleanerIds, Collection<LocalDate> dates) {
+        if (cleanerIds.isEmpty() || dates.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = "select id, cleaner_id, schedule_date, version from cleaner_schedule"
+                + " where cleaner_id in (" + placeholders(cleanerIds.size()) + ")"
+                + " and schedule_date in (" + placeholders(dates.size()) + ")";
+
+        List<Object> args = new ArrayList<>(cleanerIds);
+        dates.forEach(date -> args.add(Date.valueOf(date)));
+
+        return jdbcTemplate.query(sql, (rs, i) -> CleanerSchedule.builder()
+                .id(rs.getLong("id"))
+                .cleanerId(rs.getLong("cleaner_id"))
+                .scheduleDate(rs.getObject("schedule_date", LocalDate.class))
+                .version(rs.getLong("version"))
+                .build(), args.toArray());
+    }
+
+    public void insertAll(List<CleanerSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, schedules, schedules.size(), (ps, schedule) -> {
+            ps.setLong(1, schedule.getCleanerId());
+            ps.setDate(2, Date.valueOf(schedule.getScheduleDate()));
+        });
+    }
+
+    /**
+     * Increments the version of each row still at the version it was read
+     * with. Returns the rows another transaction changed meanwhile.
+     */
+    public List<CleanerSchedule> bumpAll(List<CleanerSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(BUMP, schedules, schedules.size(), (ps, schedule) -> {
+            ps.setLong(1, schedule.getId());
+            ps.setLong(2, schedule.getVersion());
+        });
+
+        List<CleanerSchedule> stale = new ArrayList<>();
+        int[] updated = counts.length == 0 ? new int[0] : counts[0];
+        for (int i = 0; i < updated.length; i++) {
+            // drivers rewriting the batch may not report per-row counts
+            if (updated[i] == 0) {
+                stale.add(schedules.get(i));
+            }
+        }
+        return stale;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.justlife.home.cleaning.repository.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Name of the logical query running on the current thread, e.g.
+ * {@code BookingRepository.findByDate}. Set around repository calls; the
+ * outermost call wins, so a default method keeps its own name for the
+ * query method it delegates to.
+ *
+ * Statements issued outside a repository call (entity flushes at commit,
+ * lazy loads) are named after their SQL instead, e.g. {@code insert booking_cleaner}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QueryContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private static final Set<String> TABLE_KEYWORDS = Set.of("from", "into", "update");
+
+    /**
+     * Enters a logical query unless one is already running. Returns the
+     * outer name to hand back to {@link #exit(String)}.
+     */
+    public static String enter(String name) {
+        String outer = CURRENT.get();
+        if (outer == null) {
+            CURRENT.set(name);
+        }
+        return outer;
+    }
+
+    public static void exit(String outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * The current logical query, or the statement verb and first table of the SQL.
+     */
+    public static String nameOf(String sql) {
+        String current = CURRENT.get();
+        if (current != null) {
+            return current;
+        }
+        if (sql == null || sql.isBlank()) {
+            return "unknown";
+        }
+
+        String[] words = sql.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        for (int i = 0; i < words.length - 1; i++) {
+            if (TABLE_KEYWORDS.contains(words[i])) {
+                return words[0] + " " + words[i + 1];
+            }
+        }
+        return words[0];
+    }
+}
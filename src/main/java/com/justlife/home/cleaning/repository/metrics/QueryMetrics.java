@@ -0,0 +1,105 @@
+package com.justlife.home.cleaning.repository.metrics;
+
+import com.justlife.home.cleaning.config.QueryMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per logical query meters: {@code db.query} (execution time, with a
+ * percentile histogram), {@code db.query.rows} (rows read or written) and
+ * {@code db.query.slow}. Statements over the slow threshold are logged,
+ * at most once per query and sample interval, with their bind parameters:
+ * strings (customer names and other personal data) are masked at WARN and
+ * only shown in full at DEBUG.
+ */
+@Slf4j
+public class QueryMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final long sampleIntervalNanos;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSampled = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry meterRegistry, QueryMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.sampleIntervalNanos = properties.getSlowSampleInterval().toNanos();
+    }
+
+    public void recordExecution(String query, String sql, Map<Integer, Object> binds, long nanos) {
+        Meters m = meters(query);
+        m.time.record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos < slowThresholdNanos) {
+            return;
+        }
+        m.slow.increment();
+
+        if (shouldSample(query)) {
+            log.warn("Slow query {} took {} ms: {} binds={}",
+                    query, Duration.ofNanos(nanos).toMillis(), compact(sql), masked(binds));
+            log.debug("Slow query {} unmasked binds={}", query, binds);
+        }
+    }
+
+    public void recordRows(String query, long rows) {
+        meters(query).rows.record(rows);
+    }
+
+    private boolean shouldSample(String query) {
+        long now = System.nanoTime();
+        Long previous = lastSampled.get(query);
+        if (previous != null && now - previous < sampleIntervalNanos) {
+            return false;
+        }
+        // only the thread that replaced the previous sample time logs
+        return previous == null
+                ? lastSampled.putIfAbsent(query, now) == null
+                : lastSampled.replace(query, previous, now);
+    }
+
+    private Meters meters(String query) {
+        return meters.computeIfAbsent(query, q -> new Meters(
+                Timer.builder("db.query")
+                        .description("Statement execution time per logical query")
+                        .tag("query", q)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("db.query.rows")
+                        .description("Rows read or written per statement")
+                        .tag("query", q)
+                        .register(meterRegistry),
+                Counter.builder("db.query.slow")
+                        .description("Statements slower than the slow threshold")
+                        .tag("query", q)
+                        .register(meterRegistry)));
+    }
+
+    /**
+     * Bind parameters with every string replaced by its length.
+     */
+    public static Map<Integer, Object> masked(Map<Integer, Object> binds) {
+        Map<Integer, Object> masked = new TreeMap<>();
+        binds.forEach((index, value) -> masked.put(index,
+                value instanceof CharSequence text ? "<" + text.length() + " chars>" : value));
+        return masked;
+    }
+
+    private static String compact(String sql) {
+        return sql == null ? null : sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private record Meters(Timer time, DistributionSummary rows, Counter slow) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.justlife.home.cleaning.repository.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DataSource timing every statement it executes.
+ *
+ * Connections and statements are handed out as proxies: the time spent in
+ * the {@code execute*} calls is recorded per logical query (see
+ * {@link QueryContext}), which is database time only, mapping of the rows
+ * into entities is not included. Rows are counted while the result set is
+ * read and recorded when it is closed; for writes the update count is used.
+ */
+public class QueryTimingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final QueryMetrics metrics;
+
+    public QueryTimingDataSource(DataSource target, QueryMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new TimedConnection(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new TimedConnection(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    /**
+     * Closes the pool behind this DataSource on shutdown.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private final class TimedConnection extends Delegate {
+
+        private TimedConnection(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new TimedStatement(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class TimedStatement extends Delegate {
+
+        private final String sql;
+        private final Map<Integer, Object> binds = new TreeMap<>();
+        private String lastQuery;
+
+        private TimedStatement(Statement target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (!name.startsWith("execute")) {
+                if (target instanceof PreparedStatement && name.startsWith("set")
+                        && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    binds.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    binds.clear();
+                }
+
+                Object result = call(method, args);
+                return result instanceof ResultSet resultSet && name.equals("getResultSet")
+                        ? proxy(ResultSet.class, new CountingResultSet(resultSet, lastQuery))
+                        : result;
+            }
+
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            lastQuery = QueryContext.nameOf(statementSql);
+
+            Object result;
+            long start = System.nanoTime();
+            try {
+                result = call(method, args);
+            } finally {
+                metrics.recordExecution(lastQuery, statementSql, binds, System.nanoTime() - start);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new CountingResultSet(resultSet, lastQuery));
+            }
+            if (name.contains("Update") && result instanceof Number count) {
+                metrics.recordRows(lastQuery, count.longValue());
+            } else if (result instanceof int[] counts) {
+                long rows = 0;
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+                metrics.recordRows(lastQuery, rows);
+            }
+            return result;
+        }
+    }
+
+    private final class CountingResultSet extends Delegate {
+
+        private final String query;
+        private long rows;
+        private boolean recorded;
+
+        private CountingResultSet(ResultSet target, String query) {
+            super(target);
+            this.query = query;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close") && !recorded) {
+                recorded = true;
+                metrics.recordRows(query, rows);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Forwards to the wrapped JDBC object; proxies compare by identity.
+     */
+    private abstract static class Delegate {
+
+        final Object target;
+
+        Delegate(Object target) {
+            this.target = target;
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Delegate handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                method.getName().equals("equals") && args != null && args.length == 1
+                        ? proxy == args[0]
+                        : handler.handle(proxy, method, args));
+    }
+}
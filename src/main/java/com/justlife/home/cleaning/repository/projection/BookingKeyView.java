@@ -0,0 +1,13 @@
+package com.justlife.home.cleaning.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of a booking in (start_date_time, id) order.
+ */
+public interface BookingKeyView {
+
+    Long getId();
+
+    LocalDateTime getStartDateTime();
+}
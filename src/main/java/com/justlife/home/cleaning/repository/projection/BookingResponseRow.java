@@ -0,0 +1,21 @@
+package com.justlife.home.cleaning.repository.projection;
+
+import com.justlife.home.cleaning.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the booking read query: the booking columns repeated for every
+ * assigned cleaner, together with the cleaner's vehicle. A booking without
+ * cleaners yields a single row with null cleaner and vehicle ids.
+ */
+public record BookingResponseRow(Long id,
+                                 LocalDateTime startDateTime,
+                                 LocalDateTime endDateTime,
+                                 Integer durationHours,
+                                 Integer requiredCleanerCount,
+                                 String customerName,
+                                 BookingStatus status,
+                                 Long cleanerId,
+                                 Long vehicleId) {
+}
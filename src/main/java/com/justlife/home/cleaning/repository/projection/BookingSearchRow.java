@@ -0,0 +1,19 @@
+package com.justlife.home.cleaning.repository.projection;
+
+import com.justlife.home.cleaning.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the booking search: the booking columns and the vehicle of its
+ * cleaners (null when none is assigned), one row per booking.
+ */
+public record BookingSearchRow(Long id,
+                               LocalDateTime startDateTime,
+                               LocalDateTime endDateTime,
+                               Integer durationHours,
+                               Integer requiredCleanerCount,
+                               String customerName,
+                               BookingStatus status,
+                               Long vehicleId) {
+}
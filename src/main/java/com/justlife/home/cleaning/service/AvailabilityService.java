@@ -1,8 +1,10 @@
 package com.justlife.home.cleaning.service;
 
+import com.justlife.home.cleaning.dto.AvailabilityFilterDTO;
 import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
 import com.justlife.home.cleaning.dto.CleanerDTO;
-import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.dto.SlotAvailabilityDTO;
+import com.justlife.home.cleaning.dto.SlotQueryDTO;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -11,5 +13,13 @@ import java.util.List;
 public interface AvailabilityService {
     List<CleanerAvailabilityDTO> getAvailabilityForDate(LocalDate date);
 
+    List<CleanerAvailabilityDTO> getAvailabilityForDate(LocalDate date, String zone);
+
+    List<CleanerAvailabilityDTO> getAvailabilityForDate(LocalDate date, AvailabilityFilterDTO filter);
+
     List<CleanerDTO> getAvailableCleaners(LocalDate date, LocalTime startTime, int durationHours);
+
+    List<CleanerDTO> getAvailableCleaners(LocalDate date, LocalTime startTime, int durationHours, String zone);
+
+    List<SlotAvailabilityDTO> checkSlots(List<SlotQueryDTO> queries);
 }
@@ -1,16 +1,25 @@
 package com.justlife.home.cleaning.service;
 
 import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSearchCriteriaDTO;
+import com.justlife.home.cleaning.dto.BookingSearchPageDTO;
 import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.CreateRecurringBookingRequestDTO;
+import com.justlife.home.cleaning.dto.RecurringBookingResponseDTO;
 import com.justlife.home.cleaning.dto.UpdateBookingRequestDTO;
-import jakarta.transaction.Transactional;
 
+/**
+ * Booking writes are transactional on the implementation, so a caller
+ * (e.g. a retrying decorator) can run each attempt in its own transaction.
+ */
 public interface BookingService {
-    @Transactional
     BookingResponseDTO createBooking(CreateBookingRequestDTO req);
 
-    @Transactional
+    RecurringBookingResponseDTO createRecurringBooking(CreateRecurringBookingRequestDTO req);
+
     BookingResponseDTO updateBooking(Long id, UpdateBookingRequestDTO req);
 
     BookingResponseDTO getBooking(Long id);
+
+    BookingSearchPageDTO searchBookings(BookingSearchCriteriaDTO criteria);
 }
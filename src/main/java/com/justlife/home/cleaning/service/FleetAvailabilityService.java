@@ -0,0 +1,10 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.dto.ZoneAvailabilityDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FleetAvailabilityService {
+    List<ZoneAvailabilityDTO> getFleetAvailability(LocalDate date);
+}
@@ -0,0 +1,9 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.dto.AvailabilityHeatmapDTO;
+
+import java.time.LocalDate;
+
+public interface HeatmapService {
+    AvailabilityHeatmapDTO getHeatmap(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,12 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.dto.RepackingProposalDTO;
+
+import java.time.LocalDate;
+
+public interface RepackingService {
+
+    RepackingProposalDTO propose(LocalDate date);
+
+    RepackingProposalDTO apply(RepackingProposalDTO proposal);
+}
@@ -0,0 +1,9 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.dto.UtilizationReportDTO;
+
+import java.time.LocalDate;
+
+public interface UtilizationService {
+    UtilizationReportDTO getUtilization(LocalDate from, LocalDate to);
+}
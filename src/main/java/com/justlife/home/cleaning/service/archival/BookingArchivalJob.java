@@ -0,0 +1,101 @@
+package com.justlife.home.cleaning.service.archival;
+
+import com.justlife.home.cleaning.config.ArchivalProperties;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.projection.BookingKeyView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled job keeping the live booking tables limited to the active horizon.
+ *
+ * Candidates are read with keyset pagination on (start_date_time, id), which
+ * walks the index instead of counting offsets, and each page is archived in
+ * its own small transaction so the booking path is never blocked for long.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.archival", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingArchivalJob {
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiver bookingArchiver;
+    private final ArchivalProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${cleaning.archival.cron:0 30 3 * * *}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Booking archival already running, skipping");
+            return;
+        }
+
+        try {
+            LocalDateTime cutoff = LocalDate.now()
+                    .atStartOfDay()
+                    .minus(properties.getHorizon());
+
+            int archived = archiveBefore(cutoff);
+
+            log.info("Booking archival finished: {} bookings older than {} archived", archived, cutoff);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Archives every booking starting before the cutoff, page by page.
+     */
+    public int archiveBefore(LocalDateTime cutoff) {
+        Limit page = Limit.of(properties.getBatchSize());
+        int total = 0;
+
+        List<BookingKeyView> keys = bookingRepository.findArchivableKeys(cutoff, page);
+
+        while (!keys.isEmpty()) {
+            List<Long> ids = keys.stream().map(BookingKeyView::getId).toList();
+
+            try {
+                total += bookingArchiver.archiveBatch(ids);
+            } catch (RuntimeException ex) {
+                // skip the page, the cursor moves past it and the next run retries it
+                log.error("Failed to archive bookings {} - {}", ids.getFirst(), ids.getLast(), ex);
+            }
+
+            if (keys.size() < properties.getBatchSize() || !pause()) {
+                break;
+            }
+
+            BookingKeyView last = keys.getLast();
+            keys = bookingRepository.findArchivableKeysAfter(
+                    cutoff, last.getStartDateTime(), last.getId(), page);
+        }
+
+        return total;
+    }
+
+    /**
+     * Gives the database some air between batches.
+     * Returns false if the job thread was interrupted.
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenBatches());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.justlife.home.cleaning.service.archival;
+
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.BookingArchive;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.repository.BookingArchiveRepository;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves one batch of bookings into the archive tables.
+ * Every batch is its own short transaction so row locks on the live
+ * tables are held only for a handful of rows at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingArchiver {
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+
+    @Transactional
+    public int archiveBatch(List<Long> bookingIds) {
+
+        List<Booking> bookings = bookingRepository.findAllWithCleanersByIdIn(bookingIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingArchive> archived = bookings.stream()
+                .map(b -> toArchive(b, now))
+                .toList();
+
+        bookingArchiveRepository.saveAll(archived);
+
+        bookingRepository.deleteCleanerLinks(bookingIds);
+        bookingRepository.deleteAllByIdIn(bookingIds);
+
+        log.debug("Archived {} bookings", archived.size());
+        return archived.size();
+    }
+
+    private BookingArchive toArchive(Booking booking, LocalDateTime archivedAt) {
+        Long vehicleId = booking.getCleaners().isEmpty()
+                ? null
+                : booking.getCleaners().getFirst().getVehicle().getId();
+
+        return BookingArchive.builder()
+                .id(booking.getId())
+                .startDateTime(booking.getStartDateTime())
+                .endDateTime(booking.getEndDateTime())
+                .durationHours(booking.getDurationHours())
+                .requiredCleanerCount(booking.getRequiredCleanerCount())
+                .customerName(booking.getCustomerName())
+                .status(booking.getStatus())
+                .vehicleId(vehicleId)
+                .archivedAt(archivedAt)
+                .cleanerIds(booking.getCleaners().stream().map(Cleaner::getId).toList())
+                .build();
+    }
+}
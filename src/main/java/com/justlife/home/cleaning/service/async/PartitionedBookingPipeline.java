@@ -0,0 +1,233 @@
+package com.justlife.home.cleaning.service.async;
+
+import com.justlife.home.cleaning.config.AsyncBookingProperties;
+import com.justlife.home.cleaning.dto.BookingRequestStatusDTO;
+import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.enums.BookingRequestState;
+import com.justlife.home.cleaning.exception.BookingConflictException;
+import com.justlife.home.cleaning.exception.BookingQueueFullException;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.exception.ResourceNotFoundException;
+import com.justlife.home.cleaning.service.BookingService;
+import com.justlife.home.cleaning.validation.BookingValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous booking pipeline.
+ *
+ * Requests are partitioned by booking date into bounded queues. Each
+ * partition is drained by exactly one worker thread, so two bookings for
+ * the same date are never processed concurrently on this node and don't
+ * contend for the same rows. A full queue rejects the request immediately
+ * (backpressure) instead of letting work pile up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.async-booking", name = "enabled", havingValue = "true")
+public class PartitionedBookingPipeline {
+
+    public static final String STATUS_PATH = "/api/v1/bookings/requests/";
+
+    private final BookingService bookingService;
+    private final BookingValidator bookingValidator;
+    private final AsyncBookingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, BookingTicket> tickets = new ConcurrentHashMap<>();
+    private final List<BlockingQueue<BookingTicket>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private Timer enqueueToCommit;
+    private Counter rejected;
+
+    @PostConstruct
+    void start() {
+        enqueueToCommit = Timer.builder("booking.pipeline.enqueue.to.commit")
+                .description("Time from accepting a booking request to its commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        rejected = Counter.builder("booking.pipeline.rejected")
+                .description("Booking requests rejected because their partition queue was full")
+                .register(meterRegistry);
+
+        for (int i = 0; i < properties.getPartitions(); i++) {
+            BlockingQueue<BookingTicket> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            partitions.add(queue);
+
+            Gauge.builder("booking.pipeline.queue.depth", queue, BlockingQueue::size)
+                    .description("Booking requests waiting in a partition queue")
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+
+            workers.add(Thread.ofPlatform()
+                    .name("booking-pipeline-" + i)
+                    .daemon(true)
+                    .start(() -> drain(queue)));
+        }
+
+        log.info("Async booking pipeline started with {} partitions (capacity {})",
+                properties.getPartitions(), properties.getQueueCapacity());
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Validates and enqueues a booking request.
+     * Throws {@link BookingQueueFullException} when the date's partition is full.
+     */
+    public BookingRequestStatusDTO submit(CreateBookingRequestDTO req) {
+
+        LocalDateTime start = req.getStartDateTime();
+        LocalDateTime end = start.plusHours(req.getDurationHours());
+
+        // fail fast on invalid requests instead of spending queue capacity on them
+        bookingValidator.validate(start, end, req.getCleanerCount());
+
+        BookingTicket ticket = new BookingTicket(UUID.randomUUID().toString(), req, Instant.now());
+        tickets.put(ticket.id, ticket);
+
+        if (!partitionOf(start.toLocalDate()).offer(ticket)) {
+            tickets.remove(ticket.id);
+            rejected.increment();
+            log.warn("Booking queue full for date {}, rejecting request", start.toLocalDate());
+            throw new BookingQueueFullException(ApplicationErrorCode.BOOKING_QUEUE_FULL);
+        }
+
+        log.info("Queued booking request {} for customer={}, start={}",
+                ticket.id, req.getCustomerName(), start);
+
+        return ticket.toStatus();
+    }
+
+    /**
+     * Current status of a previously submitted request.
+     */
+    public Optional<BookingRequestStatusDTO> status(String requestId) {
+        return Optional.ofNullable(tickets.get(requestId)).map(BookingTicket::toStatus);
+    }
+
+    /**
+     * Forgets finished requests once their retention period is over.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    void purgeFinished() {
+        Instant cutoff = Instant.now().minus(properties.getStatusRetention());
+        tickets.values().removeIf(t -> t.completedAt != null && t.completedAt.isBefore(cutoff));
+    }
+
+    private BlockingQueue<BookingTicket> partitionOf(LocalDate date) {
+        return partitions.get(Math.floorMod(date.hashCode(), partitions.size()));
+    }
+
+    /**
+     * Single-writer loop of one partition.
+     */
+    private void drain(BlockingQueue<BookingTicket> queue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            BookingTicket ticket;
+            try {
+                ticket = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(ticket);
+        }
+    }
+
+    private void process(BookingTicket ticket) {
+        ticket.state = BookingRequestState.PROCESSING;
+
+        try {
+            ticket.booking = bookingService.createBooking(ticket.request);
+            ticket.completedAt = Instant.now();
+            enqueueToCommit.record(Duration.between(ticket.submittedAt, ticket.completedAt));
+            ticket.state = BookingRequestState.COMPLETED;
+
+        } catch (BookingValidationException ex) {
+            ticket.fail(ex.getErrorCode(), ex.getMessage());
+        } catch (NoAvailableCleanersException ex) {
+            ticket.fail(ex.getErrorCode(), ex.getMessage());
+        } catch (ResourceNotFoundException ex) {
+            ticket.fail(ex.getErrorCode(), ex.getMessage());
+        } catch (BookingConflictException ex) {
+            ticket.fail(ex.getErrorCode(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Unexpected error while processing booking request {}", ticket.id, ex);
+            ticket.fail(ApplicationErrorCode.INTERNAL_ERROR.getCode(), ApplicationErrorCode.INTERNAL_ERROR.getMessage());
+        }
+    }
+
+    /**
+     * Mutable state of one queued request. Written by its partition worker only.
+     */
+    private static final class BookingTicket {
+
+        private final String id;
+        private final CreateBookingRequestDTO request;
+        private final Instant submittedAt;
+
+        private volatile BookingRequestState state = BookingRequestState.QUEUED;
+        private volatile BookingResponseDTO booking;
+        private volatile Integer errorCode;
+        private volatile String message;
+        private volatile Instant completedAt;
+
+        private BookingTicket(String id, CreateBookingRequestDTO request, Instant submittedAt) {
+            this.id = id;
+            this.request = request;
+            this.submittedAt = submittedAt;
+        }
+
+        private void fail(int code, String reason) {
+            errorCode = code;
+            message = reason;
+            completedAt = Instant.now();
+            state = BookingRequestState.FAILED;
+        }
+
+        private BookingRequestStatusDTO toStatus() {
+            return BookingRequestStatusDTO.builder()
+                    .requestId(id)
+                    .state(state)
+                    .statusUrl(STATUS_PATH + id)
+                    .submittedAt(submittedAt)
+                    .completedAt(completedAt)
+                    .booking(booking)
+                    .errorCode(errorCode)
+                    .message(message)
+                    .build();
+        }
+    }
+}
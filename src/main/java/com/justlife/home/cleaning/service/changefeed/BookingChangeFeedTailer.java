@@ -0,0 +1,158 @@
+package com.justlife.home.cleaning.service.changefeed;
+
+import com.justlife.home.cleaning.config.ChangeFeedProperties;
+import com.justlife.home.cleaning.entity.BookingChangeLog;
+import com.justlife.home.cleaning.repository.BookingChangeLogRepository;
+import com.justlife.home.cleaning.utils.ChangeLogMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tails the booking change log and replays the changes made by other nodes
+ * as local {@link com.justlife.home.cleaning.event.BookingChangedEvent}s, so
+ * per-date caches, counters and ETags follow writes from the whole cluster.
+ *
+ * The log is read by increasing id. Ids are assigned before commit, so a
+ * missing id may belong to a transaction still running: tailing stops in
+ * front of a gap until it is filled or this node has waited the gap timeout
+ * for it (the id of a rolled back insert never shows up). The wait is timed
+ * with this node's clock, never with the entries' timestamps, which come from
+ * other nodes. Skipped ids are looked up again on every poll for the gap
+ * recheck period, so an entry committing after its gap was skipped is still
+ * replayed, only late.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingChangeFeedTailer {
+
+    private final BookingChangeLogRepository changeLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeFeedProperties properties;
+
+    // id of the last entry applied; -1 until the starting position is known
+    private long position = -1;
+
+    // first missing id in front of the position, and when this node first saw it missing
+    private long gapId = -1;
+    private LocalDateTime gapSeenAt;
+
+    // ids skipped over without an entry, and when; looked up again until the recheck period ends
+    private final Map<Long, LocalDateTime> skipped = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${cleaning.change-feed.poll-interval:1s}")
+    public synchronized void poll() {
+        if (position < 0) {
+            // local state is built from the database from here on, older entries are not needed
+            position = changeLogRepository.findMaxId();
+            log.info("Tailing booking change log from id {} as node {}", position, properties.getNodeId());
+            return;
+        }
+
+        recheckSkipped();
+
+        int applied;
+        do {
+            List<BookingChangeLog> batch = changeLogRepository.findByIdGreaterThanOrderByIdAsc(
+                    position, Limit.of(properties.getBatchSize()));
+            applied = apply(batch);
+        } while (applied == properties.getBatchSize());
+    }
+
+    /**
+     * Drops entries past the retention period.
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void prune() {
+        int removed = changeLogRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (removed > 0) {
+            log.info("Pruned {} booking change log entries", removed);
+        }
+    }
+
+    public synchronized long position() {
+        return position;
+    }
+
+    private int apply(List<BookingChangeLog> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        int applied = 0;
+
+        for (BookingChangeLog entry : batch) {
+            if (entry.getId() != position + 1) {
+                if (gapId != position + 1) {
+                    gapId = position + 1;
+                    gapSeenAt = now;
+                }
+                if (now.isBefore(gapSeenAt.plus(properties.getGapTimeout()))) {
+                    log.debug("Waiting for booking change log ids {} - {}", position + 1, entry.getId() - 1);
+                    break;
+                }
+                skip(position + 1, entry.getId() - 1, now);
+            }
+
+            replay(entry);
+            position = entry.getId();
+            applied++;
+        }
+
+        return applied;
+    }
+
+    private void skip(long from, long to, LocalDateTime now) {
+        log.warn("Skipping booking change log ids {} - {} after waiting {}", from, to, properties.getGapTimeout());
+
+        // a rolled back insert leaves single ids; only the start of an unusually wide jump is kept
+        long last = Math.min(to, from + properties.getBatchSize() - 1);
+        for (long id = from; id <= last; id++) {
+            skipped.put(id, now);
+        }
+    }
+
+    /**
+     * Replays skipped ids that committed meanwhile and forgets those past the recheck period.
+     */
+    private void recheckSkipped() {
+        if (skipped.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getGapRecheck());
+        skipped.values().removeIf(skippedAt -> skippedAt.isBefore(cutoff));
+        if (skipped.isEmpty()) {
+            return;
+        }
+
+        List<BookingChangeLog> late = changeLogRepository.findAllById(skipped.keySet()).stream()
+                .sorted(Comparator.comparing(BookingChangeLog::getId))
+                .toList();
+        for (BookingChangeLog entry : late) {
+            log.info("Booking change log entry {} committed after its id was skipped, replaying it", entry.getId());
+            replay(entry);
+            skipped.remove(entry.getId());
+        }
+    }
+
+    private void replay(BookingChangeLog entry) {
+        if (properties.getNodeId().equals(entry.getOriginNode())) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(ChangeLogMapper.toEvent(entry));
+        } catch (RuntimeException ex) {
+            log.error("Failed to apply booking change log entry {}", entry.getId(), ex);
+        }
+    }
+}
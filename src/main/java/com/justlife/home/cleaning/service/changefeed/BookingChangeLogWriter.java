@@ -0,0 +1,29 @@
+package com.justlife.home.cleaning.service.changefeed;
+
+import com.justlife.home.cleaning.config.ChangeFeedProperties;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.repository.BookingChangeLogRepository;
+import com.justlife.home.cleaning.utils.ChangeLogMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Appends every booking change to the change log inside the booking's own
+ * transaction, so the log holds exactly the changes that committed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BookingChangeLogWriter {
+
+    private final BookingChangeLogRepository changeLogRepository;
+    private final ChangeFeedProperties properties;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        changeLogRepository.save(ChangeLogMapper.toEntry(event, properties.getNodeId()));
+    }
+}
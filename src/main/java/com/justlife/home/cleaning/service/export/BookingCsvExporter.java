@@ -0,0 +1,207 @@
+package com.justlife.home.cleaning.service.export;
+
+import com.justlife.home.cleaning.config.ArchivalProperties;
+import com.justlife.home.cleaning.config.ExportProperties;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.utils.CsvUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams bookings of a date range as CSV.
+ *
+ * Rows are read through a forward-only, read-only cursor with a streaming
+ * fetch size and written to the output as they arrive. The query returns
+ * one row per (booking, cleaner) in booking order, so only the booking
+ * being assembled is held in memory, however large the export is.
+ *
+ * Ranges starting before the archival horizon also read the archive tables
+ * in the same statement, so bookings moved there are exported too and a
+ * booking archived during the export is read exactly once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingCsvExporter {
+
+    public static final String HEADER =
+            "id,start_date_time,end_date_time,duration_hours,required_cleaner_count,customer_name,status,vehicle_id,cleaner_ids";
+
+    // ordered by the (start_date_time, id) index, so no sort of the whole range is needed
+    private static final String SQL = """
+            select b.id, b.start_date_time, b.end_date_time, b.duration_hours, b.required_cleaner_count,
+                   b.customer_name, b.status, c.vehicle_id, bc.cleaner_id
+            from booking b
+            left join booking_cleaner bc on bc.booking_id = b.id
+            left join cleaner c on c.id = bc.cleaner_id
+            where b.start_date_time >= ? and b.start_date_time < ?
+            order by b.start_date_time, b.id
+            """;
+
+    // the union is sorted as a whole; only ranges reaching into the archive pay for it
+    private static final String SQL_WITH_ARCHIVE = """
+            select b.id, b.start_date_time, b.end_date_time, b.duration_hours, b.required_cleaner_count,
+                   b.customer_name, b.status, c.vehicle_id, bc.cleaner_id
+            from booking b
+            left join booking_cleaner bc on bc.booking_id = b.id
+            left join cleaner c on c.id = bc.cleaner_id
+            where b.start_date_time >= ? and b.start_date_time < ?
+            union all
+            select a.id, a.start_date_time, a.end_date_time, a.duration_hours, a.required_cleaner_count,
+                   a.customer_name, a.status, a.vehicle_id, ac.cleaner_id
+            from booking_archive a
+            left join booking_cleaner_archive ac on ac.booking_id = a.id
+            where a.start_date_time >= ? and a.start_date_time < ?
+            order by start_date_time, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExportProperties properties;
+    private final ArchivalProperties archivalProperties;
+
+    /**
+     * Writes the bookings starting between {@code from} and {@code to}
+     * (inclusive) to {@code out}, header first. Returns the number of bookings.
+     */
+    public long export(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+
+        checkRange(from, to);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write('\n');
+
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+        boolean withArchive = reachesArchive(from);
+
+        CsvRows rows = new CsvRows(writer);
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        withArchive ? SQL_WITH_ARCHIVE : SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(properties.getFetchSize());
+                ps.setTimestamp(1, start);
+                ps.setTimestamp(2, end);
+                if (withArchive) {
+                    ps.setTimestamp(3, start);
+                    ps.setTimestamp(4, end);
+                }
+                return ps;
+            }, rows);
+            rows.finish();
+        } catch (UncheckedIOException ex) {
+            // client went away mid-download; the cursor is closed by JdbcTemplate
+            throw ex.getCause();
+        }
+
+        writer.flush();
+        log.info("Exported {} bookings between {} and {}", rows.written, from, to);
+        return rows.written;
+    }
+
+    /**
+     * Whether bookings starting on {@code from} may already have been moved
+     * to the archive, i.e. it lies before today's archival cutoff.
+     */
+    private boolean reachesArchive(LocalDate from) {
+        return from.atStartOfDay().isBefore(LocalDate.now().atStartOfDay().minus(archivalProperties.getHorizon()));
+    }
+
+    /**
+     * Folds consecutive rows of the same booking into one CSV line.
+     */
+    private static final class CsvRows implements RowCallbackHandler {
+
+        private static final DateTimeFormatter TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+        private final Writer writer;
+        private final List<Long> cleanerIds = new ArrayList<>();
+        private final List<String> fields = new ArrayList<>();
+
+        private Long bookingId;
+        private Long vehicleId;
+        private long written;
+
+        private CsvRows(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+
+            if (bookingId == null || bookingId != id) {
+                finish();
+                bookingId = id;
+                vehicleId = null;
+                fields.add(String.valueOf(id));
+                fields.add(TIME.format(rs.getObject("start_date_time", LocalDateTime.class)));
+                fields.add(TIME.format(rs.getObject("end_date_time", LocalDateTime.class)));
+                fields.add(String.valueOf(rs.getInt("duration_hours")));
+                fields.add(String.valueOf(rs.getInt("required_cleaner_count")));
+                fields.add(CsvUtils.escape(rs.getString("customer_name")));
+                fields.add(CsvUtils.escape(rs.getString("status")));
+            }
+
+            long cleanerId = rs.getLong("cleaner_id");
+            if (!rs.wasNull()) {
+                cleanerIds.add(cleanerId);
+                vehicleId = rs.getLong("vehicle_id");
+            }
+        }
+
+        private void finish() {
+            if (bookingId == null) {
+                return;
+            }
+            try {
+                writer.write(String.join(",", fields));
+                writer.write(',');
+                writer.write(vehicleId == null ? "" : vehicleId.toString());
+                writer.write(',');
+                writer.write(cleanerIds.stream().sorted().map(String::valueOf).collect(Collectors.joining(";")));
+                writer.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            written++;
+            bookingId = null;
+            fields.clear();
+            cleanerIds.clear();
+        }
+    }
+
+    /**
+     * Rejects a range ending before it starts. Callers streaming to an HTTP
+     * response check it before setting the CSV headers, so the error can
+     * still be rendered as JSON.
+     */
+    public static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_EXPORT_RANGE);
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package com.justlife.home.cleaning.service.impl;
 
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
+import com.justlife.home.cleaning.availability.parallel.ParallelEvaluator;
+import com.justlife.home.cleaning.availability.roster.Roster;
+import com.justlife.home.cleaning.availability.roster.RosterIndex;
 import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
+import com.justlife.home.cleaning.availability.strategy.CleanerAssignmentStrategy;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCache;
 import com.justlife.home.cleaning.availability.windows.FreeWindowCalculator;
+import com.justlife.home.cleaning.dto.AvailabilityFilterDTO;
 import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
 import com.justlife.home.cleaning.dto.CleanerDTO;
+import com.justlife.home.cleaning.dto.SlotAvailabilityDTO;
+import com.justlife.home.cleaning.dto.SlotQueryDTO;
 import com.justlife.home.cleaning.dto.TimeWindowDTO;
 import com.justlife.home.cleaning.entity.Booking;
 import com.justlife.home.cleaning.entity.Cleaner;
 import com.justlife.home.cleaning.enums.ApplicationErrorCode;
 import com.justlife.home.cleaning.enums.BookingErrorCode;
 import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
 import com.justlife.home.cleaning.repository.BookingRepository;
-import com.justlife.home.cleaning.repository.CleanerRepository;
 import com.justlife.home.cleaning.service.AvailabilityService;
+import com.justlife.home.cleaning.utils.BookingUtils;
 import com.justlife.home.cleaning.utils.CleanerMapper;
 import com.justlife.home.cleaning.utils.ValidationUtils;
+import com.justlife.home.cleaning.validation.BookingValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,49 +35,181 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AvailabilityServiceImpl implements AvailabilityService {
 
-    private final CleanerRepository cleanerRepository;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final RosterIndex rosterIndex;
     private final BookingRepository bookingRepository;
 
     //rules are interchangeable
     private final CleanerAvailabilityRule cleanerAvailabilityRule;
     private final FreeWindowCalculator freeWindowCalculator;
+    private final FreeWindowCache freeWindowCache;
+    private final CleanerAssignmentStrategy assignmentStrategy;
+    private final BookingValidator bookingValidator;
+    private final WorkingCalendar workingCalendar;
+    private final ParallelEvaluator parallelEvaluator;
 
     /**
      * Returns detailed availability windows for each cleaner.
+     * Windows are served from the per-date cache when present; the cache is
+     * patched incrementally on booking writes instead of being recomputed.
      */
     @Override
     public List<CleanerAvailabilityDTO> getAvailabilityForDate(LocalDate date) {
         log.info("Checking availability for date {}", date);
 
+        return availabilityFor(date, rosterIndex.current(), () -> bookingRepository.findByDateWithCleaners(date));
+    }
+
+    /**
+     * Same as {@link #getAvailabilityForDate(LocalDate)}, restricted to the
+     * cleaners and bookings of one zone.
+     */
+    @Override
+    public List<CleanerAvailabilityDTO> getAvailabilityForDate(LocalDate date, String zone) {
+        log.info("Checking availability for date {} in zone {}", date, zone);
+
+        return availabilityFor(date, rosterIndex.current(zone),
+                () -> bookingRepository.findByZoneAndDateWithCleaners(zone, date));
+    }
+
+    /**
+     * Filtered, paginated availability of a date. The filters are applied while
+     * the view is computed: cleaners of excluded vehicles are dropped before any
+     * booking is read, only the requested vehicles' bookings are loaded, and
+     * cleaners are evaluated one by one until the page is full. Windows found
+     * in the cache are reused, newly computed ones are added to it.
+     */
+    @Override
+    public List<CleanerAvailabilityDTO> getAvailabilityForDate(LocalDate date, AvailabilityFilterDTO filter) {
+        log.info("Checking availability for date {} with {}", date, filter);
+
+        // without a limit everything is on page 0, a later page would silently be empty
+        if (filter.getPage() < 0
+                || (filter.getPage() > 0 && filter.getLimit() == null)
+                || (filter.getLimit() != null && (filter.getLimit() < 1 || filter.getLimit() > MAX_PAGE_SIZE))
+                || (filter.getMinWindowHours() != null && filter.getMinWindowHours() < 1)) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_PAGE);
+        }
 
         if (!isDateAndTimeValid(date)) {
             return List.of();
         }
 
-        List<Cleaner> cleaners = cleanerRepository.findAll();
-        List<Booking> bookings = bookingRepository.findByDate(date);
+        String zone = filter.getZone();
+        Set<Long> vehicleIds = filter.getVehicleIds() == null ? Set.of() : Set.copyOf(filter.getVehicleIds());
+
+        Roster roster = zone == null ? rosterIndex.current() : rosterIndex.current(zone);
+        List<Cleaner> cleaners = workingCleaners(roster.cleaners().stream()
+                .filter(cleaner -> vehicleIds.isEmpty() || vehicleIds.contains(cleaner.getVehicle().getId()))
+                .toList(), date);
+
+        Map<Long, List<TimeWindowDTO>> cached = freeWindowCache.get(date).orElse(Map.of());
+        long generation = freeWindowCache.generation(date);
+
+        // read on the first cleaner missing from the cache, if any
+        Supplier<Map<Long, List<Booking>>> bookingsByCleaner = once(() -> BookingUtils.groupByCleanerId(
+                !vehicleIds.isEmpty() ? bookingRepository.findByVehiclesAndDateWithCleaners(vehicleIds, date)
+                        : zone != null ? bookingRepository.findByZoneAndDateWithCleaners(zone, date)
+                        : bookingRepository.findByDateWithCleaners(date)));
+
+        List<Cleaner> computed = new ArrayList<>();
+        Map<Long, List<TimeWindowDTO>> computedWindows = new HashMap<>();
+
+        Function<Cleaner, List<TimeWindowDTO>> windowsOf = cleaner -> {
+            List<TimeWindowDTO> windows = cached.get(cleaner.getId());
+            if (windows == null) {
+                windows = freeWindowCalculator.computeFreeWindows(cleaner, date,
+                        bookingsByCleaner.get().getOrDefault(cleaner.getId(), List.of()));
+                computed.add(cleaner);
+                computedWindows.put(cleaner.getId(), windows);
+            }
+            return windows;
+        };
+
+        Duration minWindow = filter.getMinWindowHours() == null
+                ? Duration.ZERO
+                : Duration.ofHours(filter.getMinWindowHours());
+        int limit = filter.getLimit() == null ? Integer.MAX_VALUE : filter.getLimit();
+
+        // sequential and lazy, so evaluation stops once the page is full
+        List<CleanerAvailabilityDTO> page = cleaners.stream()
+                .map(cleaner -> buildCleanerAvailability(cleaner, windowsOf.apply(cleaner).stream()
+                        .filter(w -> Duration.between(w.getStart(), w.getEnd()).compareTo(minWindow) >= 0)
+                        .toList()))
+                .filter(Objects::nonNull)
+                .skip((long) filter.getPage() * limit)
+                .limit(limit)
+                .toList();
 
-        return cleaners.stream()
-                .map(cleaner -> buildCleanerAvailability(cleaner, date, bookings))
+        if (!computed.isEmpty()) {
+            freeWindowCache.populate(date, generation, computed, computedWindows);
+        }
+        return page;
+    }
+
+    private List<CleanerAvailabilityDTO> availabilityFor(LocalDate date,
+                                                         Roster roster,
+                                                         Supplier<List<Booking>> bookings) {
+
+        if (!isDateAndTimeValid(date)) {
+            return List.of();
+        }
+
+        List<Cleaner> cleaners = workingCleaners(roster.cleaners(), date);
+
+        Map<Long, List<TimeWindowDTO>> windowsByCleaner = freeWindowCache.get(date)
+                .filter(cached -> cleaners.stream().allMatch(c -> cached.containsKey(c.getId())))
+                .orElseGet(() -> computeWindows(cleaners, date, bookings));
+
+        return parallelEvaluator.map(cleaners,
+                        cleaner -> buildCleanerAvailability(cleaner, windowsByCleaner.get(cleaner.getId())))
+                .stream()
                 .filter(Objects::nonNull)
                 .toList();
     }
 
     /**
      * Finds all cleaners available for a given time window.
-     *
+     * Only cleaners whose shift covers the window are checked against their bookings,
+     * which are read for the whole date in one query whatever the fleet size.
      */
     @Override
     public List<CleanerDTO> getAvailableCleaners(LocalDate date, LocalTime startTime, int durationHours) {
         log.info("Checking available cleaners for {} at {} for {}h",
                 date, startTime, durationHours);
 
+        return availableCleaners(date, startTime, durationHours, rosterIndex.current(),
+                () -> bookingRepository.findByDateWithCleaners(date));
+    }
+
+    /**
+     * Same as {@link #getAvailableCleaners(LocalDate, LocalTime, int)}, only
+     * looking at the cleaners of one zone.
+     */
+    @Override
+    public List<CleanerDTO> getAvailableCleaners(LocalDate date, LocalTime startTime, int durationHours, String zone) {
+        log.info("Checking available cleaners for {} at {} for {}h in zone {}",
+                date, startTime, durationHours, zone);
+
+        return availableCleaners(date, startTime, durationHours, rosterIndex.current(zone),
+                () -> bookingRepository.findByZoneAndDateWithCleaners(zone, date));
+    }
+
+    private List<CleanerDTO> availableCleaners(LocalDate date,
+                                               LocalTime startTime,
+                                               int durationHours,
+                                               Roster roster,
+                                               Supplier<List<Booking>> bookings) {
+
         LocalDateTime start = LocalDateTime.of(date, startTime);
         LocalDateTime end = start.plusHours(durationHours);
 
@@ -74,28 +217,130 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             return List.of();
         }
 
-        return cleanerRepository.findAll().stream()
-                .filter(cleaner -> isCleanerAvailable(cleaner, date, start, end))
+        List<Cleaner> candidates = workingCleaners(roster.cleanersCovering(start, end), date);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Booking>> bookingsByCleaner = BookingUtils.groupByCleanerId(bookings.get());
+
+        return candidates.stream()
+                .filter(cleaner -> cleanerAvailabilityRule.isCleanerAvailable(
+                        cleaner, date, start, end,
+                        bookingsByCleaner.getOrDefault(cleaner.getId(), List.of())))
                 .map(CleanerMapper::toResponse)
                 .toList();
     }
 
     /**
-     * This method is responsible for assembling the availability view of one cleaner,
-     * including all free time windows during the working day
+     * Evaluates many candidate slots at once.
+     * One roster snapshot is used for the whole batch, and every distinct date's
+     * bookings are loaded once, then all queries are answered against that snapshot.
      */
-    private CleanerAvailabilityDTO buildCleanerAvailability(Cleaner cleaner,
-                                                            LocalDate date,
-                                                            List<Booking> allBookings) {
+    @Override
+    public List<SlotAvailabilityDTO> checkSlots(List<SlotQueryDTO> queries) {
+        log.info("Checking {} candidate slots", queries.size());
+
+        Roster roster = rosterIndex.current();
+        Map<LocalDate, Map<Long, List<Booking>>> bookingsByDate = new HashMap<>();
+
+        return queries.stream()
+                .map(query -> evaluateSlot(query, roster, bookingsByDate))
+                .toList();
+    }
+
+    /**
+     * Answers one candidate slot: validation, free cleaners, then whether the
+     * assignment strategy can form a team for it.
+     */
+    private SlotAvailabilityDTO evaluateSlot(SlotQueryDTO query,
+                                             Roster roster,
+                                             Map<LocalDate, Map<Long, List<Booking>>> bookingsByDate) {
+
+        LocalDate date = query.getDate();
+        LocalDateTime start = LocalDateTime.of(date, query.getStart());
+        LocalDateTime end = start.plusHours(query.getDurationHours());
+
+        SlotAvailabilityDTO.SlotAvailabilityDTOBuilder result = SlotAvailabilityDTO.builder()
+                .date(date)
+                .start(query.getStart())
+                .durationHours(query.getDurationHours())
+                .cleanerCount(query.getCleanerCount());
+
+        try {
+            bookingValidator.validate(start, end, query.getCleanerCount());
+        } catch (BookingValidationException ex) {
+            return result.available(false)
+                    .errorCode(ex.getErrorCode())
+                    .message(ex.getMessage())
+                    .build();
+        }
 
-        List<Booking> bookingsForCleaner = allBookings.stream()
-                .filter(b -> b.getCleaners().contains(cleaner))
+        Map<Long, List<Booking>> bookingsByCleaner = bookingsByDate.computeIfAbsent(date,
+                d -> BookingUtils.groupByCleanerId(bookingRepository.findByDateWithCleaners(d)));
+
+        List<CleanerDTO> freeCleaners = workingCleaners(roster.cleanersCovering(start, end), date).stream()
+                .filter(cleaner -> cleanerAvailabilityRule.isCleanerAvailable(
+                        cleaner, date, start, end,
+                        bookingsByCleaner.getOrDefault(cleaner.getId(), List.of())))
+                .map(CleanerMapper::toResponse)
                 .toList();
 
-        List<TimeWindowDTO> freeWindows =
-                freeWindowCalculator.computeFreeWindows(cleaner, date, bookingsForCleaner);
+        if (freeCleaners.isEmpty()) {
+            return result.available(false)
+                    .errorCode(ApplicationErrorCode.NO_CLEANERS_AVAILABLE.getCode())
+                    .message(ApplicationErrorCode.NO_CLEANERS_AVAILABLE.getMessage())
+                    .build();
+        }
+
+        try {
+            List<CleanerDTO> team = assignmentStrategy.assignCleaners(freeCleaners, query.getCleanerCount());
+
+            return result.available(true)
+                    .vehicleId(team.getFirst().getVehicleId())
+                    .cleanerIds(team.stream().map(CleanerDTO::getCleanerId).toList())
+                    .build();
+        } catch (NoAvailableCleanersException ex) {
+            return result.available(false)
+                    .errorCode(ex.getErrorCode())
+                    .message(ex.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * Full computation of the free windows of every cleaner for a date.
+     * Cleaners are evaluated in parallel for large fleets, the bookings being in memory by then.
+     * The result is handed to the cache so later reads and writes can reuse it.
+     */
+    private Map<Long, List<TimeWindowDTO>> computeWindows(List<Cleaner> cleaners,
+                                                          LocalDate date,
+                                                          Supplier<List<Booking>> bookings) {
+
+        long generation = freeWindowCache.generation(date);
+        Map<Long, List<Booking>> bookingsByCleaner = BookingUtils.groupByCleanerId(bookings.get());
 
-        if (freeWindows.isEmpty()) {
+        List<List<TimeWindowDTO>> windows = parallelEvaluator.map(cleaners,
+                cleaner -> freeWindowCalculator.computeFreeWindows(cleaner, date,
+                        bookingsByCleaner.getOrDefault(cleaner.getId(), List.of())));
+
+        Map<Long, List<TimeWindowDTO>> windowsByCleaner = new HashMap<>();
+        for (int i = 0; i < cleaners.size(); i++) {
+            windowsByCleaner.put(cleaners.get(i).getId(), windows.get(i));
+        }
+
+        freeWindowCache.populate(date, generation, cleaners, windowsByCleaner);
+        return windowsByCleaner;
+    }
+
+    /**
+     * This method is responsible for assembling the availability view of one cleaner,
+     * including all free time windows during the working day
+     */
+    private CleanerAvailabilityDTO buildCleanerAvailability(Cleaner cleaner,
+                                                            List<TimeWindowDTO> freeWindows) {
+
+        if (freeWindows == null || freeWindows.isEmpty()) {
             return null;
         }
 
@@ -109,21 +354,14 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     /**
-     * Determines whether a cleaner is available to take a new booking for a given
-     * date and time interval.
-     *
+     * Drops the cleaners who are off on the date, before any of their bookings are read.
      */
-    private boolean isCleanerAvailable(Cleaner cleaner,
-                                       LocalDate date,
-                                       LocalDateTime start,
-                                       LocalDateTime end) {
-
-        List<Booking> bookings = bookingRepository.findByCleanerAndDate(cleaner, date);
-
-        return cleanerAvailabilityRule.isCleanerAvailable(cleaner, date, start, end, bookings);
+    private List<Cleaner> workingCleaners(List<Cleaner> cleaners, LocalDate date) {
+        return cleaners.stream()
+                .filter(cleaner -> !workingCalendar.isCleanerOff(cleaner.getId(), date))
+                .toList();
     }
 
-
     /**
      * Validates whether a given booking date and time range is allowed
      * based on business rules:
@@ -135,7 +373,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             throw new BookingValidationException(ApplicationErrorCode.PAST_DATE_NOT_ALLOWED);
         }
 
-        if (ValidationUtils.isNonWorkingDay(date)) {
+        if (!workingCalendar.isWorkingDay(date)) {
             log.warn("Validation failed: {} is a non-working day", date);
             return false;
         }
@@ -159,6 +397,23 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return true;
     }
 
+    /**
+     * Supplier computing its value on first use only.
+     */
+    private static <T> Supplier<T> once(Supplier<T> loader) {
+        return new Supplier<>() {
+            private T value;
+
+            @Override
+            public T get() {
+                if (value == null) {
+                    value = loader.get();
+                }
+                return value;
+            }
+        };
+    }
+
     /**
      * Shortcut for date-only validation.
      */
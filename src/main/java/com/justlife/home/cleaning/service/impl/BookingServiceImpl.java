@@ -3,29 +3,50 @@ package com.justlife.home.cleaning.service.impl;
 import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
 import com.justlife.home.cleaning.availability.strategy.CleanerAssignmentStrategy;
 import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSearchCriteriaDTO;
+import com.justlife.home.cleaning.dto.BookingSearchPageDTO;
 import com.justlife.home.cleaning.dto.CleanerDTO;
 import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.CreateRecurringBookingRequestDTO;
+import com.justlife.home.cleaning.dto.RecurringBookingResponseDTO;
 import com.justlife.home.cleaning.dto.UpdateBookingRequestDTO;
 import com.justlife.home.cleaning.entity.Booking;
 import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
 import com.justlife.home.cleaning.enums.BookingStatus;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import com.justlife.home.cleaning.exception.BookingValidationException;
 import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.exception.RecurrenceConflictException;
 import com.justlife.home.cleaning.exception.ResourceNotFoundException;
+import com.justlife.home.cleaning.repository.BookingArchiveRepository;
 import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.repository.batch.BookingBatchWriter;
+import com.justlife.home.cleaning.repository.projection.BookingSearchRow;
 import com.justlife.home.cleaning.service.AvailabilityService;
 import com.justlife.home.cleaning.service.BookingService;
+import com.justlife.home.cleaning.service.schedule.CleanerScheduleGuard;
+import com.justlife.home.cleaning.utils.BookingCursor;
 import com.justlife.home.cleaning.utils.BookingMapper;
+import com.justlife.home.cleaning.utils.BookingUtils;
 import com.justlife.home.cleaning.utils.CleanerMapper;
 import com.justlife.home.cleaning.validation.BookingValidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.justlife.home.cleaning.enums.ApplicationErrorCode.*;
 
@@ -34,11 +55,18 @@ import static com.justlife.home.cleaning.enums.ApplicationErrorCode.*;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    public static final int MAX_SEARCH_LIMIT = 200;
+
     private final BookingRepository bookingRepository;
     private final AvailabilityService availabilityService;
     private final CleanerAssignmentStrategy assignmentStrategy;
     private final BookingValidator bookingValidator;
     private final CleanerAvailabilityRule cleanerAvailabilityRule;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final CleanerScheduleGuard scheduleGuard;
+    private final CleanerRepository cleanerRepository;
+    private final BookingBatchWriter bookingBatchWriter;
 
     /**
      * Create a new booking
@@ -55,11 +83,12 @@ public class BookingServiceImpl implements BookingService {
 
         bookingValidator.validate(start, end, req.getCleanerCount());
 
-        List<CleanerDTO> availableCleaners = availabilityService.getAvailableCleaners(
-                start.toLocalDate(),
-                start.toLocalTime(),
-                req.getDurationHours()
-        );
+        // only vehicles of the booking's zone can serve it
+        List<CleanerDTO> availableCleaners = req.getZone() == null
+                ? availabilityService.getAvailableCleaners(
+                        start.toLocalDate(), start.toLocalTime(), req.getDurationHours())
+                : availabilityService.getAvailableCleaners(
+                        start.toLocalDate(), start.toLocalTime(), req.getDurationHours(), req.getZone());
 
         if (availableCleaners.isEmpty()) {
             throw new NoAvailableCleanersException(NO_CLEANERS_AVAILABLE);
@@ -80,13 +109,164 @@ public class BookingServiceImpl implements BookingService {
                 .cleaners(CleanerMapper.toEntityList(assigned))
                 .build();
 
+        scheduleGuard.claim(assigned.stream().map(CleanerDTO::getCleanerId).toList(), start.toLocalDate());
+
         Booking saved = bookingRepository.save(booking);
 
         log.info("Booking {} created successfully", saved.getId());
 
+        publishChange(saved, BookingChangeType.CREATED, null);
+
         return BookingMapper.toResponse(saved);
     }
 
+    /**
+     * Create a series of bookings at the same time every few weeks, all
+     * served by one team of one vehicle.
+     *
+     * The bookings of the candidate vehicles on every occurrence are read with
+     * one range query and each team is checked against all occurrences in
+     * memory; the series is then written with JDBC batches in this transaction.
+     * When no team is free on every occurrence nothing is written and the
+     * dates blocking the closest team are reported.
+     */
+    @Transactional
+    @Override
+    public RecurringBookingResponseDTO createRecurringBooking(CreateRecurringBookingRequestDTO req) {
+
+        log.info("Creating {} recurring bookings for customer={}, first start={}",
+                req.getOccurrences(), req.getCustomerName(), req.getStartDateTime());
+
+        List<LocalDateTime> starts = IntStream.range(0, req.getOccurrences())
+                .mapToObj(i -> req.getStartDateTime().plusWeeks((long) i * req.getIntervalWeeks()))
+                .toList();
+        List<LocalDate> dates = starts.stream().map(LocalDateTime::toLocalDate).toList();
+
+        Set<LocalDate> closed = closedOccurrences(starts, req.getDurationHours(), req.getCleanerCount());
+
+        Map<Long, List<Cleaner>> fleet = cleanerRepository.findAllWithVehicle().stream()
+                .filter(cleaner -> req.getZone() == null || req.getZone().equals(cleaner.getVehicle().getZone()))
+                .collect(Collectors.groupingBy(cleaner -> cleaner.getVehicle().getId(),
+                        TreeMap::new, Collectors.toList()));
+        fleet.values().removeIf(cleaners -> cleaners.size() < req.getCleanerCount());
+
+        if (fleet.isEmpty()) {
+            throw new NoAvailableCleanersException(NO_VEHICLE_WITH_REQUIRED_CLEANERS);
+        }
+
+        Map<LocalDate, Map<Long, List<Booking>>> bookingsByDate = bookingRepository
+                .findConfirmedByVehiclesOnDates(fleet.keySet(), dates,
+                        dates.getFirst().atStartOfDay(), dates.getLast().plusDays(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getStartDateTime().toLocalDate(),
+                        Collectors.collectingAndThen(Collectors.toList(), BookingUtils::groupByCleanerId)));
+
+        Team team = pickTeam(fleet, starts, req.getDurationHours(), req.getCleanerCount(), bookingsByDate, closed);
+
+        if (!team.conflicts().isEmpty()) {
+            log.info("Recurring booking for customer={} conflicts on {}", req.getCustomerName(), team.conflicts());
+            throw new RecurrenceConflictException(RECURRENCE_CONFLICT, List.copyOf(team.conflicts()));
+        }
+
+        List<Long> cleanerIds = team.cleaners().stream().map(Cleaner::getId).toList();
+        scheduleGuard.claim(cleanerIds, dates);
+
+        List<Booking> saved = bookingBatchWriter.insertAll(starts.stream()
+                .map(start -> Booking.builder()
+                        .startDateTime(start)
+                        .endDateTime(start.plusHours(req.getDurationHours()))
+                        .durationHours(req.getDurationHours())
+                        .requiredCleanerCount(req.getCleanerCount())
+                        .customerName(req.getCustomerName())
+                        .status(BookingStatus.CONFIRMED)
+                        .cleaners(new ArrayList<>(team.cleaners()))
+                        .build())
+                .toList());
+
+        log.info("{} recurring bookings created for vehicle {} and cleaners {}",
+                saved.size(), team.vehicleId(), cleanerIds);
+
+        saved.forEach(booking -> publishChange(booking, BookingChangeType.CREATED, null));
+
+        return RecurringBookingResponseDTO.builder()
+                .vehicleId(team.vehicleId())
+                .cleanerIds(cleanerIds)
+                .bookings(saved.stream().map(BookingMapper::toResponse).toList())
+                .build();
+    }
+
+    /**
+     * Runs the booking rules on every occurrence. Closed days (weekly day off,
+     * public holidays) are returned as conflicts of the series; any other rule
+     * breaks every occurrence alike and fails the request as a single booking would.
+     */
+    private Set<LocalDate> closedOccurrences(List<LocalDateTime> starts, int durationHours, int cleanerCount) {
+        Set<LocalDate> closed = new TreeSet<>();
+
+        for (LocalDateTime start : starts) {
+            try {
+                bookingValidator.validate(start, start.plusHours(durationHours), cleanerCount);
+            } catch (BookingValidationException ex) {
+                if (ex.getErrorCode() != BookingErrorCode.NON_WORKING_DAY.getCode()) {
+                    throw ex;
+                }
+                closed.add(start.toLocalDate());
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * The first vehicle, by id, with enough cleaners free on every occurrence.
+     * Otherwise the team blocked on the fewest occurrences, so its conflicts
+     * can be reported; each vehicle offers the cleaners blocked least often.
+     */
+    private Team pickTeam(Map<Long, List<Cleaner>> fleet,
+                          List<LocalDateTime> starts,
+                          int durationHours,
+                          int cleanerCount,
+                          Map<LocalDate, Map<Long, List<Booking>>> bookingsByDate,
+                          Set<LocalDate> closed) {
+
+        Team best = null;
+
+        for (Map.Entry<Long, List<Cleaner>> vehicle : fleet.entrySet()) {
+            Map<Long, Set<LocalDate>> blocked = new HashMap<>();
+
+            for (Cleaner cleaner : vehicle.getValue()) {
+                blocked.put(cleaner.getId(), starts.stream()
+                        .filter(start -> !isFree(cleaner, start, start.plusHours(durationHours), bookingsByDate))
+                        .map(LocalDateTime::toLocalDate)
+                        .collect(Collectors.toSet()));
+            }
+
+            List<Cleaner> cleaners = vehicle.getValue().stream()
+                    .sorted(Comparator.comparingInt((Cleaner cleaner) -> blocked.get(cleaner.getId()).size())
+                            .thenComparing(Cleaner::getId))
+                    .limit(cleanerCount)
+                    .toList();
+
+            Set<LocalDate> conflicts = new TreeSet<>(closed);
+            cleaners.forEach(cleaner -> conflicts.addAll(blocked.get(cleaner.getId())));
+
+            Team team = new Team(vehicle.getKey(), cleaners, conflicts);
+            if (conflicts.isEmpty()) {
+                return team;
+            }
+            if (best == null || conflicts.size() < best.conflicts().size()) {
+                best = team;
+            }
+        }
+        return best;
+    }
+
+    private boolean isFree(Cleaner cleaner, LocalDateTime start, LocalDateTime end,
+                           Map<LocalDate, Map<Long, List<Booking>>> bookingsByDate) {
+        LocalDate date = start.toLocalDate();
+        return cleanerAvailabilityRule.isCleanerAvailable(cleaner, date, start, end,
+                bookingsByDate.getOrDefault(date, Map.of()).getOrDefault(cleaner.getId(), List.of()));
+    }
+
     /**
      * Update an existing booking
      */
@@ -104,16 +284,16 @@ public class BookingServiceImpl implements BookingService {
 
         bookingValidator.validate(newStart, newEnd, booking.getRequiredCleanerCount());
 
-        List<Cleaner> updatedCleaners = booking.getCleaners().stream()
-                .filter(cleaner -> cleanerAvailabilityRule.isCleanerAvailableForUpdate(
-                        cleaner, booking.getId(), newStart.toLocalDate(), newStart, newEnd
-                ))
-                .collect(Collectors.toCollection(ArrayList::new));
+        List<Cleaner> updatedCleaners = reallocate(booking, newStart, newEnd);
 
         if (updatedCleaners.size() < booking.getRequiredCleanerCount()) {
             throw new NoAvailableCleanersException(INSUFFICIENT_CLEANERS_FOR_UPDATE);
         }
 
+        scheduleGuard.claim(updatedCleaners.stream().map(Cleaner::getId).toList(), newStart.toLocalDate());
+
+        BookingSlot previous = slotOf(booking);
+
         booking.setStartDateTime(newStart);
         booking.setEndDateTime(newEnd);
         booking.setCleaners(updatedCleaners);
@@ -121,13 +301,153 @@ public class BookingServiceImpl implements BookingService {
         Booking saved = bookingRepository.save(booking);
         log.info("Booking {} updated successfully", id);
 
+        publishChange(saved, BookingChangeType.UPDATED, previous);
+
         return BookingMapper.toResponse(saved);
     }
 
+    /**
+     * Picks the cleaners for a rescheduled booking in one pass over the
+     * vehicle's bookings on the target date: original cleaners who are still
+     * free are kept, the rest is filled with free teammates from the same vehicle.
+     * May return fewer cleaners than required when the vehicle has no one left.
+     */
+    private List<Cleaner> reallocate(Booking booking, LocalDateTime newStart, LocalDateTime newEnd) {
+
+        if (booking.getCleaners().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDate date = newStart.toLocalDate();
+        Long vehicleId = booking.getCleaners().getFirst().getVehicle().getId();
+
+        Map<Long, List<Booking>> bookingsByCleaner = BookingUtils.groupByCleanerId(
+                bookingRepository.findByVehicleAndDate(vehicleId, date).stream()
+                        .filter(other -> !Objects.equals(other.getId(), booking.getId()))
+                        .toList());
+
+        Predicate<Cleaner> isFree = cleaner -> cleanerAvailabilityRule.isCleanerAvailable(
+                cleaner, date, newStart, newEnd,
+                bookingsByCleaner.getOrDefault(cleaner.getId(), List.of()));
+
+        List<Cleaner> assigned = booking.getCleaners().stream()
+                .filter(isFree)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (assigned.size() < booking.getRequiredCleanerCount()) {
+            Set<Long> original = booking.getCleaners().stream()
+                    .map(Cleaner::getId)
+                    .collect(Collectors.toSet());
+
+            cleanerRepository.findByVehicleId(vehicleId).stream()
+                    .filter(teammate -> !original.contains(teammate.getId()))
+                    .filter(isFree)
+                    .limit(booking.getRequiredCleanerCount() - assigned.size())
+                    .forEach(assigned::add);
+        }
+
+        log.debug("Booking {} reallocated to cleaners {}", booking.getId(),
+                assigned.stream().map(Cleaner::getId).toList());
+
+        return assigned;
+    }
+
+    /**
+     * Fetch a booking, falling back to the archive for bookings
+     * already moved out of the live tables.
+     * Reads the response columns through a projection, no entities are loaded.
+     */
     @Override
     public BookingResponseDTO getBooking(Long id) {
-        return bookingRepository.findById(id)
-                .map(BookingMapper::toResponse)
+        return BookingMapper.fromRows(bookingRepository.findResponseRowsById(id))
+                .or(() -> bookingArchiveRepository.findWithCleanersById(id).map(BookingMapper::toResponse))
                 .orElseThrow(() -> new ResourceNotFoundException(BOOKING_NOT_FOUND));
     }
-}
\ No newline at end of file
+
+    /**
+     * One page of bookings matching the criteria, in (startDateTime, id) order.
+     * Pages continue after the last row of the previous one (keyset), so a deep
+     * page is one index seek like the first; rows come from a projection.
+     */
+    @Override
+    public BookingSearchPageDTO searchBookings(BookingSearchCriteriaDTO criteria) {
+
+        log.info("Searching bookings {}", criteria);
+
+        if (criteria.getFrom() == null || criteria.getTo() == null
+                || criteria.getTo().isBefore(criteria.getFrom())
+                || criteria.getLimit() < 1 || criteria.getLimit() > MAX_SEARCH_LIMIT) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_SEARCH);
+        }
+
+        BookingCursor.Position first = new BookingCursor.Position(criteria.getFrom().atStartOfDay(), 0L);
+        BookingCursor.Position after = criteria.getCursor() == null
+                ? first
+                : BookingCursor.decode(criteria.getCursor());
+        if (after.startDateTime().isBefore(first.startDateTime())) {
+            after = first;
+        }
+
+        String customerName = criteria.getCustomerName() == null || criteria.getCustomerName().isBlank()
+                ? null
+                : likePrefix(criteria.getCustomerName().trim());
+
+        // one extra row tells whether there is a next page
+        List<BookingSearchRow> rows = bookingRepository.search(
+                after.startDateTime(),
+                after.id(),
+                criteria.getTo().plusDays(1).atStartOfDay(),
+                customerName,
+                criteria.getStatus(),
+                criteria.getVehicleId(),
+                Limit.of(criteria.getLimit() + 1));
+
+        boolean hasMore = rows.size() > criteria.getLimit();
+        List<BookingSearchRow> page = hasMore ? rows.subList(0, criteria.getLimit()) : rows;
+
+        return BookingSearchPageDTO.builder()
+                .items(page.stream().map(BookingMapper::toSummary).toList())
+                .nextCursor(hasMore
+                        ? BookingCursor.encode(page.getLast().startDateTime(), page.getLast().id())
+                        : null)
+                .build();
+    }
+
+    /**
+     * Escapes LIKE wildcards so a name like "50%_off" matches literally.
+     */
+    private static String likePrefix(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    /**
+     * Notifies listeners (caches, per-date views) about a booking write.
+     * Listeners bound to the transaction only see it once it commits.
+     */
+    private void publishChange(Booking booking, BookingChangeType type, BookingSlot previous) {
+        BookingSlot current = slotOf(booking);
+
+        Long vehicleId = booking.getCleaners().isEmpty()
+                ? null
+                : booking.getCleaners().getFirst().getVehicle().getId();
+
+        eventPublisher.publishEvent(BookingChangedEvent.builder()
+                .bookingId(booking.getId())
+                .vehicleId(vehicleId)
+                .changeType(type)
+                .previous(previous)
+                .current(current)
+                .build());
+    }
+
+    private BookingSlot slotOf(Booking booking) {
+        return BookingSlot.builder()
+                .start(booking.getStartDateTime())
+                .end(booking.getEndDateTime())
+                .cleanerIds(booking.getCleaners().stream().map(Cleaner::getId).toList())
+                .build();
+    }
+
+    private record Team(Long vehicleId, List<Cleaner> cleaners, Set<LocalDate> conflicts) {
+    }
+}
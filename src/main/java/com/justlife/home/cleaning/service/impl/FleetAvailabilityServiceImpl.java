@@ -0,0 +1,49 @@
+package com.justlife.home.cleaning.service.impl;
+
+import com.justlife.home.cleaning.availability.roster.RosterIndex;
+import com.justlife.home.cleaning.dto.ZoneAvailabilityDTO;
+import com.justlife.home.cleaning.service.AvailabilityService;
+import com.justlife.home.cleaning.service.FleetAvailabilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+@Slf4j
+public class FleetAvailabilityServiceImpl implements FleetAvailabilityService {
+
+    private final AvailabilityService availabilityService;
+    private final RosterIndex rosterIndex;
+    private final ForkJoinPool zoneEvaluationPool;
+
+    public FleetAvailabilityServiceImpl(AvailabilityService availabilityService,
+                                        RosterIndex rosterIndex,
+                                        @Qualifier("zoneEvaluationPool") ForkJoinPool zoneEvaluationPool) {
+        this.availabilityService = availabilityService;
+        this.rosterIndex = rosterIndex;
+        this.zoneEvaluationPool = zoneEvaluationPool;
+    }
+
+    /**
+     * Availability of every zone for a date. Zones share no cleaners or
+     * bookings, so each one is evaluated independently on the fleet pool.
+     */
+    @Override
+    public List<ZoneAvailabilityDTO> getFleetAvailability(LocalDate date) {
+        List<String> zones = List.copyOf(rosterIndex.zones());
+        log.info("Evaluating fleet availability for {} across {} zones", date, zones.size());
+
+        // a parallel stream started from a pool's task runs on that pool
+        return zoneEvaluationPool.submit(() -> zones.parallelStream()
+                        .map(zone -> ZoneAvailabilityDTO.builder()
+                                .zone(zone)
+                                .cleaners(availabilityService.getAvailabilityForDate(date, zone))
+                                .build())
+                        .toList())
+                .join();
+    }
+}
@@ -0,0 +1,132 @@
+package com.justlife.home.cleaning.service.impl;
+
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
+import com.justlife.home.cleaning.availability.heatmap.SlotCounterStore;
+import com.justlife.home.cleaning.dto.AvailabilityHeatmapDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.service.HeatmapService;
+import com.justlife.home.cleaning.utils.ValidationUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HeatmapServiceImpl implements HeatmapService {
+
+    public static final int MAX_DAYS = 62;
+
+    private final CleanerRepository cleanerRepository;
+    private final BookingRepository bookingRepository;
+    private final SlotCounterStore slotCounterStore;
+    private final WorkingCalendar workingCalendar;
+
+    /**
+     * Team counts for every half-hour slot of every date in the range.
+     * Dates already held by the counter store are read directly; all missing
+     * dates are loaded together with one roster and one booking range query.
+     */
+    @Override
+    public AvailabilityHeatmapDTO getHeatmap(LocalDate from, LocalDate to) {
+        log.info("Building availability heatmap {} - {}", from, to);
+
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_DATE_RANGE);
+        }
+
+        List<LocalDate> dates = from.datesUntil(to.plusDays(1)).toList();
+
+        Map<LocalDate, int[][]> teamsByDate = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+
+        for (LocalDate date : dates) {
+            if (!isBookable(date)) {
+                continue;
+            }
+            slotCounterStore.teams(date).ifPresentOrElse(
+                    teams -> teamsByDate.put(date, teams),
+                    () -> missing.add(date));
+        }
+
+        if (!missing.isEmpty()) {
+            teamsByDate.putAll(load(missing));
+        }
+
+        List<AvailabilityHeatmapDTO.Day> days = dates.stream()
+                .map(date -> toDay(date, teamsByDate.get(date)))
+                .toList();
+
+        return AvailabilityHeatmapDTO.builder()
+                .from(from)
+                .to(to)
+                .slotMinutes(SlotCounterStore.SLOT_MINUTES)
+                .days(days)
+                .build();
+    }
+
+    private Map<LocalDate, int[][]> load(List<LocalDate> dates) {
+        log.info("Loading heatmap counters for {} dates", dates.size());
+
+        Map<LocalDate, Long> generations = new HashMap<>();
+        dates.forEach(date -> generations.put(date, slotCounterStore.generation(date)));
+
+        LocalDate first = dates.getFirst();
+        LocalDate last = dates.getLast();
+
+        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+        Map<LocalDate, List<Booking>> bookingsByDate = bookingRepository
+                .findConfirmedWithCleanersBetween(first.atStartOfDay(), last.plusDays(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(b -> b.getStartDateTime().toLocalDate()));
+
+        Map<LocalDate, int[][]> result = new HashMap<>();
+        for (LocalDate date : dates) {
+            List<Cleaner> working = cleaners.stream()
+                    .filter(cleaner -> !workingCalendar.isCleanerOff(cleaner.getId(), date))
+                    .toList();
+            result.put(date, slotCounterStore.populate(date, generations.get(date), working,
+                    bookingsByDate.getOrDefault(date, List.of())));
+        }
+        return result;
+    }
+
+    private AvailabilityHeatmapDTO.Day toDay(LocalDate date, int[][] teams) {
+        if (teams == null) {
+            return AvailabilityHeatmapDTO.Day.builder()
+                    .date(date)
+                    .bookable(false)
+                    .build();
+        }
+
+        List<AvailabilityHeatmapDTO.Slot> slots = new ArrayList<>(SlotCounterStore.SLOTS);
+        for (int slot = 0; slot < SlotCounterStore.SLOTS; slot++) {
+            slots.add(AvailabilityHeatmapDTO.Slot.builder()
+                    .start(SlotCounterStore.slotStart(slot))
+                    .teamsOf1(teams[0][slot])
+                    .teamsOf2(teams[1][slot])
+                    .teamsOf3(teams[2][slot])
+                    .build());
+        }
+
+        return AvailabilityHeatmapDTO.Day.builder()
+                .date(date)
+                .bookable(true)
+                .slots(slots)
+                .build();
+    }
+
+    private boolean isBookable(LocalDate date) {
+        return !ValidationUtils.isPastDate(date) && workingCalendar.isWorkingDay(date);
+    }
+}
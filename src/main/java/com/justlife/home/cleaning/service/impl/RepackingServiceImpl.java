@@ -0,0 +1,243 @@
+package com.justlife.home.cleaning.service.impl;
+
+import com.justlife.home.cleaning.availability.packing.DayRepacker;
+import com.justlife.home.cleaning.availability.packing.PackingScore;
+import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
+import com.justlife.home.cleaning.config.RepackingProperties;
+import com.justlife.home.cleaning.dto.RepackingChangeDTO;
+import com.justlife.home.cleaning.dto.RepackingProposalDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import com.justlife.home.cleaning.exception.BookingConflictException;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.service.RepackingService;
+import com.justlife.home.cleaning.service.schedule.CleanerScheduleGuard;
+import com.justlife.home.cleaning.utils.BookingMapper;
+import com.justlife.home.cleaning.utils.BookingUtils;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.justlife.home.cleaning.enums.ApplicationErrorCode.REPACKING_STALE;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RepackingServiceImpl implements RepackingService {
+
+    private final BookingRepository bookingRepository;
+    private final CleanerRepository cleanerRepository;
+    private final CleanerAvailabilityRule cleanerAvailabilityRule;
+    private final CleanerScheduleGuard scheduleGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DayRepacker dayRepacker;
+    private final RepackingProperties properties;
+
+    /**
+     * Searches, vehicle by vehicle, for cleaner assignments of the date's
+     * bookings that leave more sellable free time. Nothing is written; the
+     * time budget is shared evenly by the vehicles still to be searched.
+     */
+    @Override
+    public RepackingProposalDTO propose(LocalDate date) {
+
+        requireFutureDate(date);
+
+        Map<Long, List<Cleaner>> teams = cleanerRepository.findAllWithVehicle().stream()
+                .filter(c -> c.getVehicle() != null)
+                .collect(Collectors.groupingBy(c -> c.getVehicle().getId()));
+
+        Map<Long, List<Booking>> bookingsByVehicle = bookingRepository.findByDateWithCleaners(date).stream()
+                .filter(b -> !b.getCleaners().isEmpty())
+                .collect(Collectors.groupingBy(b -> b.getCleaners().getFirst().getVehicle().getId(),
+                        TreeMap::new, Collectors.toList()));
+
+        Instant end = Instant.now().plus(properties.getTimeBudget());
+        // same date, same proposal (unless the budget runs out)
+        Random random = new Random(date.toEpochDay());
+
+        PackingScore before = PackingScore.ZERO;
+        PackingScore after = PackingScore.ZERO;
+        List<RepackingChangeDTO> changes = new ArrayList<>();
+        int vehiclesLeft = bookingsByVehicle.size();
+
+        for (Map.Entry<Long, List<Booking>> entry : bookingsByVehicle.entrySet()) {
+            Duration left = Duration.between(Instant.now(), end);
+            Instant deadline = Instant.now().plus(left.isNegative() ? Duration.ZERO : left.dividedBy(vehiclesLeft--));
+
+            DayRepacker.Result result = dayRepacker.repack(
+                    date, teams.getOrDefault(entry.getKey(), List.of()), entry.getValue(), deadline, random);
+
+            before = before.plus(result.before());
+            after = after.plus(result.after());
+
+            for (Booking booking : entry.getValue()) {
+                Set<Long> current = cleanerIdsOf(booking);
+                Set<Long> proposed = result.assignment().get(booking.getId());
+                if (!current.equals(proposed)) {
+                    changes.add(RepackingChangeDTO.builder()
+                            .bookingId(booking.getId())
+                            .vehicleId(entry.getKey())
+                            .startDateTime(booking.getStartDateTime())
+                            .fromCleanerIds(current.stream().sorted().toList())
+                            .toCleanerIds(proposed.stream().sorted().toList())
+                            .build());
+                }
+            }
+        }
+
+        log.info("Re-packing {} proposes {} changes, sellable minutes {} -> {}",
+                date, changes.size(), before.sellableMinutes(), after.sellableMinutes());
+
+        return RepackingProposalDTO.builder()
+                .date(date)
+                .sellableMinutesBefore(before.sellableMinutes())
+                .sellableMinutesAfter(after.sellableMinutes())
+                .freeMinutes(after.freeMinutes())
+                .changes(changes)
+                .build();
+    }
+
+    /**
+     * Applies a proposal in one transaction, or none of it: every booking
+     * must still have the cleaners and start it had when proposed, and the
+     * new assignment is re-checked against the day's current bookings.
+     * Cleaners only move within the vehicle the booking already uses.
+     * Schedule rows of all cleaners involved are claimed, so a booking
+     * written concurrently makes one of the two transactions fail.
+     */
+    @Transactional
+    @Override
+    public RepackingProposalDTO apply(RepackingProposalDTO proposal) {
+
+        LocalDate date = proposal.getDate();
+        requireFutureDate(date);
+        requireWellFormed(proposal);
+
+        if (proposal.getChanges().isEmpty()) {
+            return proposal;
+        }
+
+        Map<Long, Booking> bookings = bookingRepository.findByDateWithCleaners(date).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Set<Long> involved = new HashSet<>();
+        Map<Long, Long> vehicles = new HashMap<>();
+        for (RepackingChangeDTO change : proposal.getChanges()) {
+            Booking booking = bookings.get(change.getBookingId());
+            if (booking == null
+                    || booking.getCleaners().isEmpty()
+                    || !Objects.equals(vehicleIdOf(booking), change.getVehicleId())
+                    || !booking.getStartDateTime().equals(change.getStartDateTime())
+                    || !cleanerIdsOf(booking).equals(Set.copyOf(change.getFromCleanerIds()))
+                    || change.getToCleanerIds().size() != requiredCleanerCount(booking)) {
+                throw new BookingConflictException(REPACKING_STALE);
+            }
+            vehicles.put(booking.getId(), vehicleIdOf(booking));
+            involved.addAll(change.getFromCleanerIds());
+            involved.addAll(change.getToCleanerIds());
+        }
+
+        scheduleGuard.claim(involved, date);
+
+        Map<Long, Cleaner> cleaners = cleanerRepository.findAllById(involved).stream()
+                .collect(Collectors.toMap(Cleaner::getId, Function.identity()));
+
+        Map<Long, BookingSlot> previous = new HashMap<>();
+        for (RepackingChangeDTO change : proposal.getChanges()) {
+            Booking booking = bookings.get(change.getBookingId());
+            previous.put(booking.getId(), BookingMapper.toSlot(booking));
+
+            List<Cleaner> team = new ArrayList<>();
+            for (Long id : change.getToCleanerIds()) {
+                Cleaner cleaner = cleaners.get(id);
+                if (cleaner == null || !Objects.equals(cleaner.getVehicle().getId(), vehicles.get(booking.getId()))) {
+                    throw new BookingConflictException(REPACKING_STALE);
+                }
+                team.add(cleaner);
+            }
+            booking.setCleaners(team);
+        }
+
+        Map<Long, List<Booking>> bookingsByCleaner = BookingUtils.groupByCleanerId(List.copyOf(bookings.values()));
+        for (RepackingChangeDTO change : proposal.getChanges()) {
+            Booking booking = bookings.get(change.getBookingId());
+            for (Cleaner cleaner : booking.getCleaners()) {
+                List<Booking> others = bookingsByCleaner.getOrDefault(cleaner.getId(), List.of()).stream()
+                        .filter(other -> other != booking)
+                        .toList();
+                if (!cleanerAvailabilityRule.isCleanerAvailable(cleaner, date,
+                        booking.getStartDateTime(), booking.getEndDateTime(), others)) {
+                    throw new BookingConflictException(REPACKING_STALE);
+                }
+            }
+        }
+
+        for (RepackingChangeDTO change : proposal.getChanges()) {
+            Booking saved = bookingRepository.save(bookings.get(change.getBookingId()));
+
+            eventPublisher.publishEvent(BookingChangedEvent.builder()
+                    .bookingId(saved.getId())
+                    .vehicleId(vehicles.get(saved.getId()))
+                    .changeType(BookingChangeType.UPDATED)
+                    .previous(previous.get(saved.getId()))
+                    .current(BookingMapper.toSlot(saved))
+                    .build());
+        }
+
+        log.info("Applied re-packing of {} with {} changes", date, proposal.getChanges().size());
+        return proposal;
+    }
+
+    private static void requireFutureDate(LocalDate date) {
+        if (date == null || !date.isAfter(LocalDate.now())) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_REPACKING_DATE);
+        }
+    }
+
+    /**
+     * Each booking changes at most once and each team names distinct cleaners,
+     * otherwise the write would silently drop a change or shrink a team.
+     */
+    private static void requireWellFormed(RepackingProposalDTO proposal) {
+        Set<Long> bookingIds = new HashSet<>();
+        for (RepackingChangeDTO change : proposal.getChanges()) {
+            if (!bookingIds.add(change.getBookingId())
+                    || !isDistinct(change.getFromCleanerIds())
+                    || !isDistinct(change.getToCleanerIds())) {
+                throw new BookingValidationException(BookingErrorCode.INVALID_REPACKING_PROPOSAL);
+            }
+        }
+    }
+
+    private static boolean isDistinct(List<Long> ids) {
+        return ids != null && !ids.contains(null) && new HashSet<>(ids).size() == ids.size();
+    }
+
+    private static int requiredCleanerCount(Booking booking) {
+        return Objects.requireNonNullElse(booking.getRequiredCleanerCount(), booking.getCleaners().size());
+    }
+
+    private static Long vehicleIdOf(Booking booking) {
+        return booking.getCleaners().getFirst().getVehicle().getId();
+    }
+
+    private static Set<Long> cleanerIdsOf(Booking booking) {
+        return booking.getCleaners().stream().map(Cleaner::getId).collect(Collectors.toSet());
+    }
+}
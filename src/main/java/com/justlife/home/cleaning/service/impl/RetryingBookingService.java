@@ -0,0 +1,128 @@
+package com.justlife.home.cleaning.service.impl;
+
+import com.justlife.home.cleaning.config.BookingRetryProperties;
+import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSearchCriteriaDTO;
+import com.justlife.home.cleaning.dto.BookingSearchPageDTO;
+import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.CreateRecurringBookingRequestDTO;
+import com.justlife.home.cleaning.dto.RecurringBookingResponseDTO;
+import com.justlife.home.cleaning.dto.UpdateBookingRequestDTO;
+import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.exception.BookingConflictException;
+import com.justlife.home.cleaning.service.BookingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries booking writes that lost an optimistic conflict on a cleaner
+ * schedule. Every attempt runs the whole write again in a new transaction,
+ * so the booking is re-planned against the bookings committed meanwhile.
+ *
+ * Backoff is exponential with full jitter, capped, and the number of
+ * attempts is bounded; after that the caller gets a 409.
+ */
+@Slf4j
+@Service
+@Primary
+public class RetryingBookingService implements BookingService {
+
+    private final BookingService delegate;
+    private final BookingRetryProperties properties;
+
+    private final Counter createConflicts;
+    private final Counter recurringConflicts;
+    private final Counter updateConflicts;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public RetryingBookingService(@Qualifier("bookingServiceImpl") BookingService delegate,
+                                  BookingRetryProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+
+        this.createConflicts = conflictCounter(meterRegistry, "create");
+        this.recurringConflicts = conflictCounter(meterRegistry, "create-recurring");
+        this.updateConflicts = conflictCounter(meterRegistry, "update");
+        this.retries = Counter.builder("booking.write.retries")
+                .description("Booking writes retried after a schedule conflict")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("booking.write.retries.exhausted")
+                .description("Booking writes given up after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BookingResponseDTO createBooking(CreateBookingRequestDTO req) {
+        return withRetry(() -> delegate.createBooking(req), createConflicts);
+    }
+
+    @Override
+    public RecurringBookingResponseDTO createRecurringBooking(CreateRecurringBookingRequestDTO req) {
+        return withRetry(() -> delegate.createRecurringBooking(req), recurringConflicts);
+    }
+
+    @Override
+    public BookingResponseDTO updateBooking(Long id, UpdateBookingRequestDTO req) {
+        return withRetry(() -> delegate.updateBooking(id, req), updateConflicts);
+    }
+
+    @Override
+    public BookingResponseDTO getBooking(Long id) {
+        return delegate.getBooking(id);
+    }
+
+    @Override
+    public BookingSearchPageDTO searchBookings(BookingSearchCriteriaDTO criteria) {
+        return delegate.searchBookings(criteria);
+    }
+
+    private <T> T withRetry(Supplier<T> write, Counter conflicts) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException ex) {
+                conflicts.increment();
+
+                if (attempt >= properties.getMaxAttempts()) {
+                    exhausted.increment();
+                    log.warn("Booking write still conflicting after {} attempts", attempt);
+                    throw new BookingConflictException(ApplicationErrorCode.BOOKING_CONFLICT);
+                }
+
+                log.info("Booking write conflicted (attempt {}), re-planning", attempt);
+                retries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(
+                properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException(ApplicationErrorCode.BOOKING_CONFLICT);
+        }
+    }
+
+    private static Counter conflictCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("booking.write.conflicts")
+                .description("Booking writes that failed on an optimistic schedule conflict")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
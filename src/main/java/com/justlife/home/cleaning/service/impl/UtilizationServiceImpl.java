@@ -0,0 +1,136 @@
+package com.justlife.home.cleaning.service.impl;
+
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
+import com.justlife.home.cleaning.availability.utilization.UtilizationCounterStore;
+import com.justlife.home.cleaning.availability.utilization.VehicleUtilization;
+import com.justlife.home.cleaning.dto.UtilizationReportDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.service.UtilizationService;
+import com.justlife.home.cleaning.utils.ValidationUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UtilizationServiceImpl implements UtilizationService {
+
+    public static final int MAX_DAYS = 62;
+
+    private final CleanerRepository cleanerRepository;
+    private final BookingRepository bookingRepository;
+    private final UtilizationCounterStore utilizationCounterStore;
+    private final WorkingCalendar workingCalendar;
+
+    /**
+     * Utilization of every vehicle on every date in the range.
+     * Dates already held by the counter store are read directly; all missing
+     * dates are loaded together with one roster and one booking range query.
+     */
+    @Override
+    public UtilizationReportDTO getUtilization(LocalDate from, LocalDate to) {
+        log.info("Building utilization report {} - {}", from, to);
+
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_DATE_RANGE);
+        }
+
+        List<LocalDate> dates = from.datesUntil(to.plusDays(1)).toList();
+
+        Map<LocalDate, Map<Long, VehicleUtilization>> byDate = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+
+        for (LocalDate date : dates) {
+            if (!isBookable(date)) {
+                continue;
+            }
+            utilizationCounterStore.get(date).ifPresentOrElse(
+                    vehicles -> byDate.put(date, vehicles),
+                    () -> missing.add(date));
+        }
+
+        if (!missing.isEmpty()) {
+            byDate.putAll(load(missing));
+        }
+
+        List<UtilizationReportDTO.Day> days = dates.stream()
+                .map(date -> toDay(date, byDate.get(date)))
+                .toList();
+
+        return UtilizationReportDTO.builder()
+                .from(from)
+                .to(to)
+                .days(days)
+                .build();
+    }
+
+    private Map<LocalDate, Map<Long, VehicleUtilization>> load(List<LocalDate> dates) {
+        log.info("Loading utilization counters for {} dates", dates.size());
+
+        Map<LocalDate, Long> generations = new HashMap<>();
+        dates.forEach(date -> generations.put(date, utilizationCounterStore.generation(date)));
+
+        LocalDate first = dates.getFirst();
+        LocalDate last = dates.getLast();
+
+        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+        Map<LocalDate, List<Booking>> bookingsByDate = bookingRepository
+                .findConfirmedWithCleanersBetween(first.atStartOfDay(), last.plusDays(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(b -> b.getStartDateTime().toLocalDate()));
+
+        Map<LocalDate, Map<Long, VehicleUtilization>> result = new HashMap<>();
+        for (LocalDate date : dates) {
+            List<Cleaner> working = cleaners.stream()
+                    .filter(cleaner -> !workingCalendar.isCleanerOff(cleaner.getId(), date))
+                    .toList();
+            result.put(date, utilizationCounterStore.populate(date, generations.get(date), working,
+                    bookingsByDate.getOrDefault(date, List.of())));
+        }
+        return result;
+    }
+
+    private UtilizationReportDTO.Day toDay(LocalDate date, Map<Long, VehicleUtilization> vehicles) {
+        if (vehicles == null) {
+            return UtilizationReportDTO.Day.builder()
+                    .date(date)
+                    .bookable(false)
+                    .build();
+        }
+
+        return UtilizationReportDTO.Day.builder()
+                .date(date)
+                .bookable(true)
+                .vehicles(new TreeMap<>(vehicles).entrySet().stream()
+                        .map(entry -> toVehicle(entry.getKey(), entry.getValue()))
+                        .toList())
+                .build();
+    }
+
+    private UtilizationReportDTO.Vehicle toVehicle(Long vehicleId, VehicleUtilization counters) {
+        return UtilizationReportDTO.Vehicle.builder()
+                .vehicleId(vehicleId)
+                .availableMinutes(counters.availableMinutes())
+                .bookedMinutes(counters.bookedMinutes())
+                .breakMinutes(counters.breakMinutes())
+                .freeMinutes(counters.freeMinutes())
+                .utilization(counters.utilization())
+                .fragmentation(counters.fragmentation())
+                .build();
+    }
+
+    private boolean isBookable(LocalDate date) {
+        return !ValidationUtils.isPastDate(date) && workingCalendar.isWorkingDay(date);
+    }
+}
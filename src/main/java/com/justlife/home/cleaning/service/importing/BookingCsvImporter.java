@@ -0,0 +1,399 @@
+package com.justlife.home.cleaning.service.importing;
+
+import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
+import com.justlife.home.cleaning.config.ImportProperties;
+import com.justlife.home.cleaning.dto.BookingImportReportDTO;
+import com.justlife.home.cleaning.dto.RejectedImportRowDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.enums.BookingStatus;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.repository.batch.BookingBatchWriter;
+import com.justlife.home.cleaning.service.schedule.CleanerScheduleGuard;
+import com.justlife.home.cleaning.utils.BookingMapper;
+import com.justlife.home.cleaning.utils.BookingUtils;
+import com.justlife.home.cleaning.utils.CsvUtils;
+import com.justlife.home.cleaning.validation.BookingValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports bookings from CSV, e.g. a partner's existing schedule.
+ *
+ * The file is read line by line and handled in chunks: each row of a chunk
+ * is validated with the import validator chain and the
+ * {@link CleanerAvailabilityRule} against an in-memory index of the
+ * bookings per date and cleaner. A date's existing bookings are loaded the
+ * first time a row falls on it, and accepted rows are added as they come,
+ * so rows of the same file conflict with each other too. Accepted rows of a
+ * chunk are written in one transaction through JDBC batches.
+ *
+ * The index only pre-screens rows: a booking made through the API since a
+ * date was loaded is not in it. The chunk transaction therefore re-reads the
+ * bookings of the chunk's dates, rejects the rows they now conflict with,
+ * and claims the schedule rows in that same snapshot, like every other
+ * booking write. The re-read bookings then replace the index of those dates.
+ *
+ * The header names the columns, in any order: {@code start_date_time},
+ * {@code duration_hours}, {@code customer_name}, {@code cleaner_ids}
+ * (';'-separated) and optionally {@code status}; other columns are ignored,
+ * so files from the booking export can be imported as they are.
+ */
+@Slf4j
+@Component
+public class BookingCsvImporter {
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("start_date_time", "duration_hours", "customer_name", "cleaner_ids");
+
+    private final BookingValidator bookingValidator;
+    private final CleanerAvailabilityRule cleanerAvailabilityRule;
+    private final BookingRepository bookingRepository;
+    private final CleanerRepository cleanerRepository;
+    private final BookingBatchWriter bookingBatchWriter;
+    private final CleanerScheduleGuard scheduleGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportProperties properties;
+
+    public BookingCsvImporter(@Qualifier("importBookingValidator") BookingValidator bookingValidator,
+                              CleanerAvailabilityRule cleanerAvailabilityRule,
+                              BookingRepository bookingRepository,
+                              CleanerRepository cleanerRepository,
+                              BookingBatchWriter bookingBatchWriter,
+                              CleanerScheduleGuard scheduleGuard,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionTemplate transactionTemplate,
+                              ImportProperties properties) {
+        this.bookingValidator = bookingValidator;
+        this.cleanerAvailabilityRule = cleanerAvailabilityRule;
+        this.bookingRepository = bookingRepository;
+        this.cleanerRepository = cleanerRepository;
+        this.bookingBatchWriter = bookingBatchWriter;
+        this.scheduleGuard = scheduleGuard;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    public BookingImportReportDTO importCsv(InputStream in) throws IOException {
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Run run = new Run(columnsOf(reader.readLine()));
+
+        List<Row> chunk = new ArrayList<>(properties.getChunkSize());
+        long lineNumber = 1;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new Row(lineNumber, line));
+            if (chunk.size() == properties.getChunkSize()) {
+                run.process(chunk);
+                chunk.clear();
+            }
+        }
+        run.process(chunk);
+
+        log.info("Imported {} of {} booking rows, {} rejected", run.imported, run.rowsRead, run.rejected);
+
+        return BookingImportReportDTO.builder()
+                .rowsRead(run.rowsRead)
+                .imported(run.imported)
+                .rejected(run.rejected)
+                .rejections(run.rejections)
+                .build();
+    }
+
+    private static Map<String, Integer> columnsOf(String header) {
+        if (header == null) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_IMPORT_FILE);
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvUtils.split(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_IMPORT_FILE);
+        }
+        return columns;
+    }
+
+    private record Row(long line, String text) {
+    }
+
+    /**
+     * State of one import: the per-date schedule index and the report.
+     */
+    private final class Run {
+
+        private final Map<String, Integer> columns;
+        private final Map<Long, Cleaner> cleaners;
+        // date -> cleaner id -> confirmed bookings (existing and imported)
+        private final Map<LocalDate, Map<Long, List<Booking>>> schedule = new HashMap<>();
+        private final List<RejectedImportRowDTO> rejections = new ArrayList<>();
+
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        private Run(Map<String, Integer> columns) {
+            this.columns = columns;
+            this.cleaners = cleanerRepository.findAllWithVehicle().stream()
+                    .collect(Collectors.toMap(Cleaner::getId, Function.identity()));
+        }
+
+        private void process(List<Row> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            Map<Row, Booking> accepted = new LinkedHashMap<>();
+            for (Row row : chunk) {
+                rowsRead++;
+                try {
+                    Booking booking = toBooking(row);
+                    accepted.put(row, booking);
+                    if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                        index(booking);
+                    }
+                } catch (RejectedRowException ex) {
+                    reject(row.line(), ex.getMessage());
+                } catch (BookingValidationException ex) {
+                    reject(row.line(), ex.getMessage());
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            Written written;
+            try {
+                written = transactionTemplate.execute(status -> write(List.copyOf(accepted.values())));
+            } catch (RuntimeException ex) {
+                log.warn("Import chunk of {} bookings failed", accepted.size(), ex);
+                accepted.values().forEach(this::unindex);
+                accepted.keySet().forEach(row -> reject(row.line(), "Chunk could not be written: " + ex.getMessage()));
+                return;
+            }
+
+            schedule.putAll(written.schedules());
+            accepted.forEach((row, booking) -> {
+                String conflict = written.conflicts().get(booking);
+                if (conflict == null) {
+                    imported++;
+                } else {
+                    reject(row.line(), conflict);
+                }
+            });
+        }
+
+        /**
+         * Re-checks the chunk's confirmed bookings against the bookings
+         * committed meanwhile, then claims the schedule rows of the remaining
+         * ones in one go, inserts them and announces them like bookings created through
+         * the API.
+         */
+        private Written write(List<Booking> bookings) {
+            Map<LocalDate, List<Booking>> confirmedByDate = bookings.stream()
+                    .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
+                    .collect(Collectors.groupingBy(b -> b.getStartDateTime().toLocalDate()));
+
+            Map<Booking, String> conflicts = new HashMap<>();
+            Map<LocalDate, Map<Long, List<Booking>>> schedules = new HashMap<>();
+            Map<LocalDate, Set<Long>> claimed = new HashMap<>();
+
+            confirmedByDate.forEach((date, dayBookings) -> {
+                Map<Long, List<Booking>> byCleaner =
+                        BookingUtils.groupByCleanerId(bookingRepository.findByDateWithCleaners(date));
+
+                Set<Long> cleanerIds = claimed.computeIfAbsent(date, d -> new HashSet<>());
+                for (Booking booking : dayBookings) {
+                    conflictOf(booking, byCleaner).ifPresentOrElse(
+                            conflict -> conflicts.put(booking, conflict),
+                            () -> booking.getCleaners().forEach(c -> cleanerIds.add(c.getId())));
+                }
+                schedules.put(date, byCleaner);
+            });
+            scheduleGuard.claimAll(claimed);
+
+            List<Booking> inserted = bookings.stream()
+                    .filter(b -> !conflicts.containsKey(b))
+                    .toList();
+            if (!inserted.isEmpty()) {
+                bookingBatchWriter.insertAll(inserted);
+            }
+
+            for (Booking booking : inserted) {
+                if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                    Map<Long, List<Booking>> byCleaner = schedules.get(booking.getStartDateTime().toLocalDate());
+                    booking.getCleaners().forEach(c ->
+                            byCleaner.computeIfAbsent(c.getId(), id -> new ArrayList<>()).add(booking));
+                }
+                eventPublisher.publishEvent(BookingChangedEvent.builder()
+                        .bookingId(booking.getId())
+                        .vehicleId(booking.getCleaners().isEmpty() ? null : booking.getCleaners().getFirst().getVehicle().getId())
+                        .changeType(BookingChangeType.CREATED)
+                        .current(BookingMapper.toSlot(booking))
+                        .build());
+            }
+
+            return new Written(conflicts, schedules);
+        }
+
+        private Optional<String> conflictOf(Booking booking, Map<Long, List<Booking>> byCleaner) {
+            LocalDate date = booking.getStartDateTime().toLocalDate();
+            for (Cleaner cleaner : booking.getCleaners()) {
+                if (!cleanerAvailabilityRule.isCleanerAvailable(cleaner, date,
+                        booking.getStartDateTime(), booking.getEndDateTime(),
+                        byCleaner.getOrDefault(cleaner.getId(), List.of()))) {
+                    return Optional.of("Cleaner " + cleaner.getId() + " is not available");
+                }
+            }
+            return Optional.empty();
+        }
+
+        private Booking toBooking(Row row) {
+            List<String> values;
+            LocalDateTime start;
+            LocalDateTime end;
+            int duration;
+            List<Long> cleanerIds;
+            BookingStatus status;
+            try {
+                values = CsvUtils.split(row.text());
+                start = LocalDateTime.parse(value(values, "start_date_time"));
+                duration = Integer.parseInt(value(values, "duration_hours"));
+                // a huge duration leaves the supported date range
+                end = start.plusHours(duration);
+                cleanerIds = value(values, "cleaner_ids").isEmpty()
+                        ? List.of()
+                        : Arrays.stream(value(values, "cleaner_ids").split(";"))
+                                .map(String::trim)
+                                .map(Long::valueOf)
+                                .distinct()
+                                .toList();
+                String statusValue = columns.containsKey("status") ? value(values, "status") : "";
+                status = statusValue.isEmpty() ? BookingStatus.CONFIRMED : BookingStatus.valueOf(statusValue);
+            } catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException ex) {
+                throw new RejectedRowException("Unparseable row: " + ex.getMessage());
+            }
+
+            bookingValidator.validate(start, end, cleanerIds.size());
+
+            List<Cleaner> team = new ArrayList<>(cleanerIds.size());
+            for (Long id : cleanerIds) {
+                Cleaner cleaner = cleaners.get(id);
+                if (cleaner == null) {
+                    throw new RejectedRowException("Unknown cleaner " + id);
+                }
+                team.add(cleaner);
+            }
+
+            if (team.stream().map(c -> c.getVehicle().getId()).distinct().count() > 1) {
+                throw new RejectedRowException("Cleaners " + cleanerIds + " are not in the same vehicle");
+            }
+
+            if (status == BookingStatus.CONFIRMED) {
+                LocalDate date = start.toLocalDate();
+                Map<Long, List<Booking>> byCleaner = scheduleOf(date);
+                for (Cleaner cleaner : team) {
+                    if (!cleanerAvailabilityRule.isCleanerAvailable(cleaner, date, start, end,
+                            byCleaner.getOrDefault(cleaner.getId(), List.of()))) {
+                        throw new RejectedRowException("Cleaner " + cleaner.getId() + " is not available");
+                    }
+                }
+            }
+
+            return Booking.builder()
+                    .startDateTime(start)
+                    .endDateTime(end)
+                    .durationHours(duration)
+                    .requiredCleanerCount(team.size())
+                    .customerName(value(values, "customer_name"))
+                    .status(status)
+                    .cleaners(team)
+                    .build();
+        }
+
+        private String value(List<String> values, String column) {
+            return values.get(columns.get(column)).trim();
+        }
+
+        private Map<Long, List<Booking>> scheduleOf(LocalDate date) {
+            return schedule.computeIfAbsent(date,
+                    d -> BookingUtils.groupByCleanerId(bookingRepository.findByDateWithCleaners(d)));
+        }
+
+        private void index(Booking booking) {
+            Map<Long, List<Booking>> byCleaner = scheduleOf(booking.getStartDateTime().toLocalDate());
+            booking.getCleaners().forEach(c -> byCleaner.computeIfAbsent(c.getId(), id -> new ArrayList<>()).add(booking));
+        }
+
+        private void unindex(Booking booking) {
+            Map<Long, List<Booking>> byCleaner = schedule.get(booking.getStartDateTime().toLocalDate());
+            if (byCleaner != null) {
+                booking.getCleaners().forEach(c -> byCleaner.getOrDefault(c.getId(), List.of()).remove(booking));
+            }
+        }
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < properties.getMaxReportedRejections()) {
+                rejections.add(RejectedImportRowDTO.builder().line(line).reason(reason).build());
+            }
+        }
+    }
+
+    /**
+     * Outcome of a chunk transaction: the rows rejected by the re-check, with
+     * their reason, and the re-read schedules of the chunk's dates.
+     */
+    private record Written(Map<Booking, String> conflicts, Map<LocalDate, Map<Long, List<Booking>>> schedules) {
+    }
+
+    /**
+     * A row that cannot be imported; the message ends up in the report.
+     */
+    private static final class RejectedRowException extends RuntimeException {
+
+        private RejectedRowException(String reason) {
+            super(reason);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.justlife.home.cleaning.service.outbox;
+
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.event.BookingSlot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a booking outbox message, as seen by downstream systems.
+ */
+public record BookingEventMessage(Long bookingId,
+                                  Long vehicleId,
+                                  BookingChangeType changeType,
+                                  BookingSlot previous,
+                                  BookingSlot current,
+                                  LocalDateTime occurredAt) {
+}
@@ -0,0 +1,43 @@
+package com.justlife.home.cleaning.service.outbox;
+
+import com.justlife.home.cleaning.entity.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Local sink for development and tests: appends one line per message to a
+ * file, or only logs the messages when no file is configured.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    public LoggingOutboxSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        if (file == null) {
+            messages.forEach(m -> log.info("Outbox message {} {}: {}", m.getId(), m.getEventType(), m.getPayload()));
+            return;
+        }
+
+        List<String> lines = messages.stream()
+                .map(m -> m.getId() + "\t" + m.getEventType() + "\t" + m.getPayload())
+                .toList();
+
+        try {
+            Files.write(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append outbox messages to " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.justlife.home.cleaning.service.outbox;
+
+import com.justlife.home.cleaning.config.OutboxProperties;
+import com.justlife.home.cleaning.entity.OutboxMessage;
+import com.justlife.home.cleaning.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox into the {@link OutboxSink}.
+ *
+ * Each worker claims a batch of pending messages with SELECT ... FOR UPDATE
+ * SKIP LOCKED, so workers (on this and other nodes) never pick the same rows,
+ * hands it to the sink and marks it published in the same transaction. The
+ * sink is therefore called while the rows are locked and a connection is
+ * held: it must be bounded in time (the default sink only appends to a file),
+ * and a slow sink ties up at most {@code concurrency} connections.
+ *
+ * When the sink rejects a batch, its messages are delivered one by one so a
+ * single bad message cannot hold back the others. A message that still fails
+ * waits an exponential backoff before it is claimed again and is parked after
+ * {@code max-attempts}; parked messages are counted but never retried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    private ExecutorService workers;
+    private Counter delivered;
+    private Counter failedBatches;
+
+    @PostConstruct
+    void start() {
+        workers = Executors.newFixedThreadPool(properties.getConcurrency(),
+                Thread.ofPlatform().name("outbox-relay-", 0).daemon(true).factory());
+
+        Gauge.builder("booking.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox messages not delivered yet")
+                .register(meterRegistry);
+
+        Gauge.builder("booking.outbox.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox message")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("booking.outbox.parked", parked, AtomicLong::get)
+                .description("Outbox messages given up after the maximum number of attempts")
+                .register(meterRegistry);
+
+        delivered = Counter.builder("booking.outbox.delivered")
+                .description("Outbox messages accepted by the sink")
+                .register(meterRegistry);
+
+        failedBatches = Counter.builder("booking.outbox.failures")
+                .description("Outbox batches the sink rejected")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Lets every worker drain batches until the outbox is empty or the sink fails.
+     */
+    @Scheduled(fixedDelayString = "${cleaning.outbox.poll-interval:500ms}")
+    public void drain() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < properties.getConcurrency(); i++) {
+            tasks.add(this::drainUntilEmpty);
+        }
+
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        refreshLag();
+    }
+
+    /**
+     * Removes delivered messages past the retention period.
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void prune() {
+        int removed = outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (removed > 0) {
+            log.info("Pruned {} delivered outbox messages", removed);
+        }
+    }
+
+    private int drainUntilEmpty() {
+        int total = 0;
+        int count;
+        do {
+            count = drainBatch();
+            total += count;
+        } while (count == properties.getBatchSize());
+        return total;
+    }
+
+    /**
+     * Claims, delivers and acknowledges one batch in a single transaction.
+     * Returns the number of messages claimed.
+     */
+    int drainBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> batch = outboxRepository.lockPending(now, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                sink.deliver(batch);
+                markPublished(batch, now);
+            } catch (RuntimeException ex) {
+                log.warn("Outbox sink rejected messages {} - {}, delivering them one by one",
+                        batch.getFirst().getId(), batch.getLast().getId(), ex);
+                failedBatches.increment();
+                batch.forEach(message -> deliverAlone(message, now));
+            }
+            return batch.size();
+        });
+        return count == null ? 0 : count;
+    }
+
+    private void deliverAlone(OutboxMessage message, LocalDateTime now) {
+        try {
+            sink.deliver(List.of(message));
+            markPublished(List.of(message), now);
+        } catch (RuntimeException ex) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(truncate(String.valueOf(ex.getMessage())));
+
+            if (attempts >= properties.getMaxAttempts()) {
+                log.error("Outbox message {} parked after {} attempts", message.getId(), attempts, ex);
+                message.setParkedAt(now);
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+    }
+
+    private void markPublished(List<OutboxMessage> messages, LocalDateTime now) {
+        messages.forEach(m -> m.setPublishedAt(now));
+        delivered.increment(messages.size());
+    }
+
+    /**
+     * Wait after the given number of failed attempts: doubled per attempt, capped.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private void refreshLag() {
+        pending.set(outboxRepository.countPending());
+        parked.set(outboxRepository.countParked());
+
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
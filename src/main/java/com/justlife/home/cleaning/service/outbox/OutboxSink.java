@@ -0,0 +1,20 @@
+package com.justlife.home.cleaning.service.outbox;
+
+import com.justlife.home.cleaning.entity.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Downstream destination of outbox messages (CRM, notifications, a broker).
+ *
+ * Delivery is at least once: a batch that failed, or whose acknowledgement
+ * did not commit, is handed over again, so receivers must be idempotent on
+ * the message id.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch; returning normally acknowledges every message of it.
+     */
+    void deliver(List<OutboxMessage> messages);
+}
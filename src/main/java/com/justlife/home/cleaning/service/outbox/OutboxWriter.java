@@ -0,0 +1,46 @@
+package com.justlife.home.cleaning.service.outbox;
+
+import com.justlife.home.cleaning.entity.OutboxMessage;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores every booking change as an outbox message inside the booking's
+ * transaction; nothing is sent to remote systems from the booking path.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWriter {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final JsonMapper jsonMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+
+        BookingEventMessage message = new BookingEventMessage(
+                event.getBookingId(),
+                event.getVehicleId(),
+                event.getChangeType(),
+                event.getPrevious(),
+                event.getCurrent(),
+                now);
+
+        outboxRepository.save(OutboxMessage.builder()
+                .aggregateId(event.getBookingId())
+                .eventType("BOOKING_" + event.getChangeType().name())
+                .payload(jsonMapper.writeValueAsString(message))
+                .createdAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,145 @@
+package com.justlife.home.cleaning.service.schedule;
+
+import com.justlife.home.cleaning.entity.CleanerSchedule;
+import com.justlife.home.cleaning.repository.CleanerScheduleRepository;
+import com.justlife.home.cleaning.repository.batch.CleanerScheduleBatchWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Claims the (cleaner, date) schedule rows of a booking write inside the
+ * write's transaction.
+ *
+ * Existing rows get their version forced up at commit, missing rows are
+ * inserted against a unique key. A concurrent write that claimed one of the
+ * same rows and committed first makes this transaction fail with an
+ * optimistic locking failure, on any node. On MySQL (REPEATABLE READ) the
+ * row versions come from the same snapshot as the bookings read to plan the
+ * write, so a plan based on stale bookings can never commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CleanerScheduleGuard {
+
+    private final CleanerScheduleRepository cleanerScheduleRepository;
+    private final CleanerScheduleBatchWriter cleanerScheduleBatchWriter;
+
+    public void claim(Collection<Long> cleanerIds, LocalDate date) {
+        if (cleanerIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> existing = cleanerScheduleRepository.findForWrite(cleanerIds, date)
+                .stream()
+                .map(CleanerSchedule::getCleanerId)
+                .collect(Collectors.toSet());
+
+        insertMissing(cleanerIds.stream()
+                .distinct()
+                .filter(id -> !existing.contains(id))
+                .map(id -> CleanerSchedule.builder()
+                        .cleanerId(id)
+                        .scheduleDate(date)
+                        .build())
+                .toList(), date);
+    }
+
+    /**
+     * Claims the rows of the same cleaners on several dates with one select,
+     * e.g. for the occurrences of a recurring booking.
+     */
+    public void claim(Collection<Long> cleanerIds, Collection<LocalDate> dates) {
+        if (cleanerIds.isEmpty() || dates.isEmpty()) {
+            return;
+        }
+
+        Set<Slot> existing = cleanerScheduleRepository.findForWrite(cleanerIds, dates)
+                .stream()
+                .map(schedule -> new Slot(schedule.getCleanerId(), schedule.getScheduleDate()))
+                .collect(Collectors.toSet());
+
+        insertMissing(dates.stream()
+                .distinct()
+                .flatMap(date -> cleanerIds.stream()
+                        .distinct()
+                        .filter(id -> !existing.contains(new Slot(id, date)))
+                        .map(id -> CleanerSchedule.builder()
+                                .cleanerId(id)
+                                .scheduleDate(date)
+                                .build()))
+                .toList(), dates);
+    }
+
+    /**
+     * Claims the rows of different cleaners per date with a fixed number of
+     * statements, e.g. for a chunk of imported bookings: one read, one batch
+     * inserting the missing rows and one batch bumping the existing rows'
+     * versions right away, each only if they are still at the version read.
+     */
+    public void claimAll(Map<LocalDate, ? extends Collection<Long>> cleanerIdsByDate) {
+        Set<Slot> slots = cleanerIdsByDate.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream().map(id -> new Slot(id, entry.getKey())))
+                .collect(Collectors.toSet());
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        List<CleanerSchedule> existing = cleanerScheduleBatchWriter.findAll(
+                        slots.stream().map(Slot::cleanerId).collect(Collectors.toSet()),
+                        slots.stream().map(Slot::date).collect(Collectors.toSet()))
+                .stream()
+                .filter(schedule -> slots.contains(new Slot(schedule.getCleanerId(), schedule.getScheduleDate())))
+                .toList();
+
+        List<CleanerSchedule> stale = cleanerScheduleBatchWriter.bumpAll(existing);
+        if (!stale.isEmpty()) {
+            log.debug("Schedule row {} changed concurrently", stale.getFirst().getId());
+            throw new ObjectOptimisticLockingFailureException(CleanerSchedule.class, stale.getFirst().getId());
+        }
+
+        Set<Slot> present = existing.stream()
+                .map(schedule -> new Slot(schedule.getCleanerId(), schedule.getScheduleDate()))
+                .collect(Collectors.toSet());
+        try {
+            cleanerScheduleBatchWriter.insertAll(slots.stream()
+                    .filter(slot -> !present.contains(slot))
+                    .map(slot -> CleanerSchedule.builder()
+                            .cleanerId(slot.cleanerId())
+                            .scheduleDate(slot.date())
+                            .build())
+                    .toList());
+        } catch (DataIntegrityViolationException ex) {
+            // another write created one of the same (cleaner, date) rows first
+            log.debug("Schedule rows on {} created concurrently", cleanerIdsByDate.keySet());
+            throw new ObjectOptimisticLockingFailureException(CleanerSchedule.class, cleanerIdsByDate.keySet(), ex);
+        }
+    }
+
+    private void insertMissing(List<CleanerSchedule> missing, Object when) {
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        try {
+            cleanerScheduleRepository.saveAllAndFlush(missing);
+        } catch (DataIntegrityViolationException ex) {
+            // another write created one of the same (cleaner, date) rows first
+            log.debug("Schedule rows on {} created concurrently", when);
+            throw new ObjectOptimisticLockingFailureException(CleanerSchedule.class, when, ex);
+        }
+    }
+
+    private record Slot(Long cleanerId, LocalDate date) {
+    }
+}
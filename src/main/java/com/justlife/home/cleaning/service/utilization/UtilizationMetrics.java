@@ -0,0 +1,93 @@
+package com.justlife.home.cleaning.service.utilization;
+
+import com.justlife.home.cleaning.availability.utilization.UtilizationCounterStore;
+import com.justlife.home.cleaning.availability.utilization.VehicleUtilization;
+import com.justlife.home.cleaning.dto.UtilizationReportDTO;
+import com.justlife.home.cleaning.service.UtilizationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes today's utilization counters as gauges tagged by vehicle.
+ *
+ * Gauges read the counter store when scraped, so they follow every booking
+ * write. The periodic refresh loads the date into the store when it is
+ * missing and registers one row per working vehicle, so the rows follow
+ * the date and the fleet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cleaning.utilization", name = "metrics-enabled", havingValue = "true", matchIfMissing = true)
+public class UtilizationMetrics {
+
+    private final UtilizationService utilizationService;
+    private final UtilizationCounterStore utilizationCounterStore;
+    private final MeterRegistry meterRegistry;
+
+    private MultiGauge booked;
+    private MultiGauge breaks;
+    private MultiGauge free;
+    private MultiGauge utilization;
+    private MultiGauge fragmentation;
+
+    @PostConstruct
+    void start() {
+        booked = minutes("cleaning.utilization.booked", "Cleaner-minutes booked today");
+        breaks = minutes("cleaning.utilization.break", "Cleaner-minutes kept as break after today's bookings");
+        free = minutes("cleaning.utilization.free", "Cleaner-minutes still free today");
+
+        utilization = MultiGauge.builder("cleaning.utilization.ratio")
+                .description("Booked share of today's available cleaner-minutes")
+                .register(meterRegistry);
+        fragmentation = MultiGauge.builder("cleaning.utilization.fragmentation")
+                .description("Share of today's free cleaner-minutes in windows too short for a booking")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cleaning.utilization.metrics-refresh:1m}")
+    public void refresh() {
+        LocalDate today = LocalDate.now();
+
+        UtilizationReportDTO.Day day = utilizationService.getUtilization(today, today).getDays().getFirst();
+        List<Long> vehicleIds = day.getVehicles() == null
+                ? List.of()
+                : day.getVehicles().stream().map(UtilizationReportDTO.Vehicle::getVehicleId).toList();
+
+        booked.register(rows(today, vehicleIds, VehicleUtilization::bookedMinutes), true);
+        breaks.register(rows(today, vehicleIds, VehicleUtilization::breakMinutes), true);
+        free.register(rows(today, vehicleIds, VehicleUtilization::freeMinutes), true);
+        utilization.register(rows(today, vehicleIds, VehicleUtilization::utilization), true);
+        fragmentation.register(rows(today, vehicleIds, VehicleUtilization::fragmentation), true);
+
+        log.debug("Utilization gauges of {} registered for {} vehicles", today, vehicleIds.size());
+    }
+
+    private List<MultiGauge.Row<?>> rows(LocalDate date, List<Long> vehicleIds,
+                                         ToDoubleFunction<VehicleUtilization> value) {
+        return vehicleIds.stream()
+                .<MultiGauge.Row<?>>map(vehicleId -> MultiGauge.Row.of(
+                        Tags.of("vehicle", vehicleId.toString()),
+                        utilizationCounterStore,
+                        store -> store.get(date, vehicleId).map(value::applyAsDouble).orElse(Double.NaN)))
+                .toList();
+    }
+
+    private MultiGauge minutes(String name, String description) {
+        return MultiGauge.builder(name)
+                .description(description)
+                .baseUnit("minutes")
+                .register(meterRegistry);
+    }
+}
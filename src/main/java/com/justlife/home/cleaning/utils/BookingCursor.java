@@ -0,0 +1,38 @@
+package com.justlife.home.cleaning.utils;
+
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor of the booking search: the (startDateTime, id) of the
+ * last booking of a page, URL-safe base64 encoded.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingCursor {
+
+    private static final String SEPARATOR = "~";
+
+    public record Position(LocalDateTime startDateTime, Long id) {
+    }
+
+    public static String encode(LocalDateTime startDateTime, Long id) {
+        String raw = startDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new Position(LocalDateTime.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException ex) {
+            throw new BookingValidationException(BookingErrorCode.INVALID_SEARCH);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.justlife.home.cleaning.utils;
 
 import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSummaryDTO;
 import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.BookingArchive;
 import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.event.BookingSlot;
+import com.justlife.home.cleaning.repository.projection.BookingResponseRow;
+import com.justlife.home.cleaning.repository.projection.BookingSearchRow;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class BookingMapper {
@@ -35,4 +42,71 @@ public final class BookingMapper {
                 .build();
     }
 
+    public static BookingSlot toSlot(Booking booking) {
+
+        return BookingSlot.builder()
+                .start(booking.getStartDateTime())
+                .end(booking.getEndDateTime())
+                .cleanerIds(booking.getCleaners().stream().map(Cleaner::getId).toList())
+                .build();
+    }
+
+    public static BookingResponseDTO toResponse(BookingArchive archived) {
+
+        return BookingResponseDTO.builder()
+                .id(archived.getId())
+                .startDateTime(archived.getStartDateTime())
+                .endDateTime(archived.getEndDateTime())
+                .durationHours(archived.getDurationHours())
+                .requiredCleanerCount(archived.getRequiredCleanerCount())
+                .customerName(archived.getCustomerName())
+                .status(archived.getStatus())
+                .cleanerIds(List.copyOf(archived.getCleanerIds()))
+                .vehicleId(archived.getVehicleId())
+                .build();
+    }
+
+    public static BookingSummaryDTO toSummary(BookingSearchRow row) {
+
+        return BookingSummaryDTO.builder()
+                .id(row.id())
+                .startDateTime(row.startDateTime())
+                .endDateTime(row.endDateTime())
+                .durationHours(row.durationHours())
+                .requiredCleanerCount(row.requiredCleanerCount())
+                .customerName(row.customerName())
+                .status(row.status())
+                .vehicleId(row.vehicleId())
+                .build();
+    }
+
+    /**
+     * Folds the rows of {@code BookingRepository.findResponseRowsById} into a response.
+     * Empty when the query found no booking.
+     */
+    public static Optional<BookingResponseDTO> fromRows(List<BookingResponseRow> rows) {
+
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        BookingResponseRow first = rows.getFirst();
+
+        List<Long> cleanerIds = rows.stream()
+                .map(BookingResponseRow::cleanerId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return Optional.of(BookingResponseDTO.builder()
+                .id(first.id())
+                .startDateTime(first.startDateTime())
+                .endDateTime(first.endDateTime())
+                .durationHours(first.durationHours())
+                .requiredCleanerCount(first.requiredCleanerCount())
+                .customerName(first.customerName())
+                .status(first.status())
+                .cleanerIds(cleanerIds)
+                .vehicleId(first.vehicleId())
+                .build());
+    }
 }
@@ -0,0 +1,31 @@
+package com.justlife.home.cleaning.utils;
+
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingUtils {
+
+    /**
+     * Indexes bookings by the id of every cleaner assigned to them,
+     * so per-cleaner lookups don't scan the whole list.
+     */
+    public static Map<Long, List<Booking>> groupByCleanerId(List<Booking> bookings) {
+        Map<Long, List<Booking>> grouped = new HashMap<>();
+
+        for (Booking booking : bookings) {
+            for (Cleaner cleaner : booking.getCleaners()) {
+                grouped.computeIfAbsent(cleaner.getId(), id -> new ArrayList<>()).add(booking);
+            }
+        }
+
+        return grouped;
+    }
+}
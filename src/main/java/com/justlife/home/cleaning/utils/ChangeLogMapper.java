@@ -0,0 +1,67 @@
+package com.justlife.home.cleaning.utils;
+
+import com.justlife.home.cleaning.entity.BookingChangeLog;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ChangeLogMapper {
+
+    public static BookingChangeLog toEntry(BookingChangedEvent event, String originNode) {
+        BookingSlot previous = event.getPrevious();
+        BookingSlot current = event.getCurrent();
+
+        return BookingChangeLog.builder()
+                .bookingId(event.getBookingId())
+                .vehicleId(event.getVehicleId())
+                .changeType(event.getChangeType())
+                .originNode(originNode)
+                .previousStart(previous == null ? null : previous.getStart())
+                .previousEnd(previous == null ? null : previous.getEnd())
+                .previousCleanerIds(previous == null ? null : joinIds(previous.getCleanerIds()))
+                .currentStart(current == null ? null : current.getStart())
+                .currentEnd(current == null ? null : current.getEnd())
+                .currentCleanerIds(current == null ? null : joinIds(current.getCleanerIds()))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static BookingChangedEvent toEvent(BookingChangeLog entry) {
+        return BookingChangedEvent.builder()
+                .bookingId(entry.getBookingId())
+                .vehicleId(entry.getVehicleId())
+                .changeType(entry.getChangeType())
+                .previous(slot(entry.getPreviousStart(), entry.getPreviousEnd(), entry.getPreviousCleanerIds()))
+                .current(slot(entry.getCurrentStart(), entry.getCurrentEnd(), entry.getCurrentCleanerIds()))
+                .build();
+    }
+
+    private static BookingSlot slot(LocalDateTime start, LocalDateTime end, String cleanerIds) {
+        if (start == null) {
+            return null;
+        }
+        return BookingSlot.builder()
+                .start(start)
+                .end(end)
+                .cleanerIds(splitIds(cleanerIds))
+                .build();
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> splitIds(String ids) {
+        if (ids == null || ids.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.justlife.home.cleaning.utils;
+
+import com.justlife.home.cleaning.constants.ApplicationConstants;
+import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
+import com.justlife.home.cleaning.dto.CompactAvailabilityDTO;
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.enums.AvailabilityEncoding;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompactAvailabilityMapper {
+
+    /**
+     * 08:00-22:00 in 15 minute slots is 56 slots, which fits in one long.
+     */
+    public static final int SLOT_MINUTES = 15;
+
+    private static final int DAY_ORIGIN = ApplicationConstants.WORK_START.toSecondOfDay() / 60;
+    private static final int DAY_END = ApplicationConstants.WORK_END.toSecondOfDay() / 60;
+
+    public static CompactAvailabilityDTO toCompact(LocalDate date,
+                                                   List<CleanerAvailabilityDTO> availability,
+                                                   AvailabilityEncoding encoding) {
+
+        Map<Long, CompactAvailabilityDTO.Vehicle> vehicles = new LinkedHashMap<>();
+
+        List<CompactAvailabilityDTO.Cleaner> cleaners = availability.stream()
+                .map(cleaner -> {
+                    vehicles.computeIfAbsent(cleaner.getVehicleId(), id -> CompactAvailabilityDTO.Vehicle.builder()
+                            .id(id)
+                            .name(cleaner.getVehicleName())
+                            .build());
+
+                    CompactAvailabilityDTO.Cleaner.CleanerBuilder compact = CompactAvailabilityDTO.Cleaner.builder()
+                            .id(cleaner.getCleanerId())
+                            .name(cleaner.getCleanerName())
+                            .vehicleId(cleaner.getVehicleId());
+
+                    return encoding == AvailabilityEncoding.BITMASK
+                            ? compact.mask(toMask(cleaner.getAvailableWindows())).build()
+                            : compact.windows(toOffsets(cleaner.getAvailableWindows())).build();
+                })
+                .toList();
+
+        CompactAvailabilityDTO.CompactAvailabilityDTOBuilder result = CompactAvailabilityDTO.builder()
+                .date(date)
+                .encoding(encoding)
+                .vehicles(List.copyOf(vehicles.values()))
+                .cleaners(cleaners);
+
+        if (encoding == AvailabilityEncoding.BITMASK) {
+            result.slotOrigin(ApplicationConstants.WORK_START).slotMinutes(SLOT_MINUTES);
+        }
+
+        return result.build();
+    }
+
+    /**
+     * Windows as flat [start, end, start, end, ...] minutes since midnight.
+     */
+    private static int[] toOffsets(List<TimeWindowDTO> windows) {
+        int[] offsets = new int[windows.size() * 2];
+        for (int i = 0; i < windows.size(); i++) {
+            offsets[2 * i] = minuteOfDay(windows.get(i).getStart());
+            offsets[2 * i + 1] = minuteOfDay(windows.get(i).getEnd());
+        }
+        return offsets;
+    }
+
+    /**
+     * Bit i is set when [origin + i * SLOT_MINUTES, origin + (i + 1) * SLOT_MINUTES)
+     * lies entirely inside one free window. Windows not aligned to the slot
+     * grid are rounded inwards, so the mask never claims busy time as free.
+     */
+    private static long toMask(List<TimeWindowDTO> windows) {
+        long mask = 0L;
+        for (TimeWindowDTO window : windows) {
+            int from = Math.max(minuteOfDay(window.getStart()), DAY_ORIGIN);
+            int to = Math.min(minuteOfDay(window.getEnd()), DAY_END);
+
+            int firstSlot = Math.ceilDiv(from - DAY_ORIGIN, SLOT_MINUTES);
+            int endSlot = Math.floorDiv(to - DAY_ORIGIN, SLOT_MINUTES);
+
+            for (int slot = firstSlot; slot < endSlot; slot++) {
+                mask |= 1L << slot;
+            }
+        }
+        return mask;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
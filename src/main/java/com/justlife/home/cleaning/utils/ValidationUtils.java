@@ -4,7 +4,6 @@ import com.justlife.home.cleaning.constants.ApplicationConstants;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -13,18 +12,19 @@ import java.time.LocalTime;
 public final class ValidationUtils {
 
     /**
-     * Checks if the date falls on Friday
+     * Checks if the booking time provided is of outside working hours
      *
      */
-    public static boolean isNonWorkingDay(LocalDate date) {
-        return date.getDayOfWeek() == DayOfWeek.FRIDAY;
+    public static boolean isOutsideWorkingHours(LocalDateTime start, LocalDateTime end) {
+        return isOutsideShift(start, end, ApplicationConstants.WORK_START, ApplicationConstants.WORK_END);
     }
 
     /**
-     * Checks if the booking time provided is of outside working hours
+     * Checks if the booking time is outside a given shift (e.g. a cleaner's own hours)
      *
      */
-    public static boolean isOutsideWorkingHours(LocalDateTime start, LocalDateTime end) {
+    public static boolean isOutsideShift(LocalDateTime start, LocalDateTime end,
+                                         LocalTime shiftStart, LocalTime shiftEnd) {
         // End must not spill into next day
         if (!start.toLocalDate().equals(end.toLocalDate())) {
             return true; // crosses midnight => invalid
@@ -33,8 +33,8 @@ public final class ValidationUtils {
         LocalTime startTime = start.toLocalTime();
         LocalTime endTime = end.toLocalTime();
 
-        return startTime.isBefore(ApplicationConstants.WORK_START)
-                || endTime.isAfter(ApplicationConstants.WORK_END);
+        return startTime.isBefore(shiftStart)
+                || endTime.isAfter(shiftEnd);
     }
 
     /**
@@ -1,16 +1,20 @@
 package com.justlife.home.cleaning.validation;
 
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
 import com.justlife.home.cleaning.enums.BookingErrorCode;
 import com.justlife.home.cleaning.exception.BookingValidationException;
-import com.justlife.home.cleaning.utils.ValidationUtils;
+import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDateTime;
 
+@RequiredArgsConstructor
 public class NonWorkingDayValidator extends AbstractBookingValidator {
 
+    private final WorkingCalendar workingCalendar;
+
     @Override
     protected void check(LocalDateTime start, LocalDateTime end, int cleanerCount) {
-        if (ValidationUtils.isNonWorkingDay(start.toLocalDate())) {
+        if (!workingCalendar.isWorkingDay(start.toLocalDate())) {
             throw new BookingValidationException(BookingErrorCode.NON_WORKING_DAY);
         }
     }
@@ -0,0 +1,5 @@
+ALTER TABLE outbox_message ADD COLUMN next_attempt_at DATETIME;
+ALTER TABLE outbox_message ADD COLUMN parked_at DATETIME;
+
+DROP INDEX idx_outbox_message_pending ON outbox_message;
+CREATE INDEX idx_outbox_message_pending ON outbox_message (published_at, parked_at, id);
@@ -0,0 +1,2 @@
+-- exports of ranges before the archival horizon read the archive by start time
+CREATE INDEX idx_booking_archive_start_id ON booking_archive (start_date_time, id);
@@ -0,0 +1,19 @@
+CREATE INDEX idx_booking_start_id ON booking (start_date_time, id);
+
+CREATE TABLE IF NOT EXISTS booking_archive (
+    id BIGINT PRIMARY KEY,
+    start_date_time DATETIME NOT NULL,
+    end_date_time DATETIME NOT NULL,
+    duration_hours INT NOT NULL,
+    required_cleaner_count INT NOT NULL,
+    customer_name VARCHAR(255),
+    status VARCHAR(20),
+    vehicle_id BIGINT,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS booking_cleaner_archive (
+    booking_id BIGINT NOT NULL,
+    cleaner_id BIGINT NOT NULL,
+    CONSTRAINT fk_booking_archive FOREIGN KEY (booking_id) REFERENCES booking_archive(id)
+);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS cleaner_schedule (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cleaner_id BIGINT NOT NULL,
+    schedule_date DATE NOT NULL,
+    version BIGINT,
+    CONSTRAINT uk_cleaner_schedule_cleaner_date UNIQUE (cleaner_id, schedule_date)
+);
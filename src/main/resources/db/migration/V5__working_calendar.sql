@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS holiday (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    holiday_date DATE NOT NULL,
+    name VARCHAR(255),
+    CONSTRAINT uk_holiday_date UNIQUE (holiday_date)
+);
+
+CREATE TABLE IF NOT EXISTS cleaner_day_off (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cleaner_id BIGINT NOT NULL,
+    day_off_date DATE NOT NULL,
+    reason VARCHAR(255),
+    CONSTRAINT uk_cleaner_day_off_cleaner_date UNIQUE (cleaner_id, day_off_date),
+    CONSTRAINT fk_cleaner_day_off_cleaner FOREIGN KEY (cleaner_id) REFERENCES cleaner(id)
+);
@@ -0,0 +1,3 @@
+ALTER TABLE vehicle ADD COLUMN zone VARCHAR(64) NOT NULL DEFAULT 'DEFAULT';
+
+CREATE INDEX idx_vehicle_zone ON vehicle (zone);
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS booking_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    vehicle_id BIGINT,
+    change_type VARCHAR(20) NOT NULL,
+    origin_node VARCHAR(64) NOT NULL,
+    previous_start DATETIME,
+    previous_end DATETIME,
+    previous_cleaner_ids VARCHAR(255),
+    current_start DATETIME,
+    current_end DATETIME,
+    current_cleaner_ids VARCHAR(255),
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_booking_change_log_created_at ON booking_change_log (created_at);
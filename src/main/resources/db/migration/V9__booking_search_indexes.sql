@@ -0,0 +1,3 @@
+-- keyset search: each filter column followed by the (start_date_time, id) sort key
+CREATE INDEX idx_booking_customer_start_id ON booking (customer_name, start_date_time, id);
+CREATE INDEX idx_booking_status_start_id ON booking (status, start_date_time, id);
@@ -0,0 +1,133 @@
+package com.justlife.home.cleaning.benchmark;
+
+import com.justlife.home.cleaning.availability.parallel.ParallelEvaluator;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculator;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculatorImpl;
+import com.justlife.home.cleaning.config.AvailabilityEvaluationProperties;
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.enums.BookingStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-day free window evaluation (the cache-miss path of
+ * GET /api/v1/availability) over in-memory bookings, sequential against the
+ * fork-join evaluation on a dedicated pool, for growing fleet sizes. Shows
+ * where the sequential threshold (cleaning.availability-evaluation) should sit.
+ *
+ * Run with:
+ *   mvn test-compile exec:exec -Dbenchmark=com.justlife.home.cleaning.benchmark.AvailabilityEvaluationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityEvaluationBenchmark {
+
+    @Param({"25", "250", "2500", "25000"})
+    private int cleaners;
+
+    private final FreeWindowCalculator calculator = new FreeWindowCalculatorImpl();
+
+    private ForkJoinPool pool;
+    private ParallelEvaluator sequential;
+    private ParallelEvaluator parallel;
+
+    private LocalDate date;
+    private List<Cleaner> fleet;
+    private Map<Long, List<Booking>> bookingsByCleaner;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        AvailabilityEvaluationProperties off = new AvailabilityEvaluationProperties();
+        off.setParallel(false);
+        sequential = new ParallelEvaluator(pool, off);
+
+        AvailabilityEvaluationProperties always = new AvailabilityEvaluationProperties();
+        always.setSequentialThreshold(0);
+        parallel = new ParallelEvaluator(pool, always);
+
+        date = LocalDate.now().plusDays(1);
+        fleet = new ArrayList<>();
+        bookingsByCleaner = new HashMap<>();
+
+        Random random = new Random(cleaners);
+        for (long id = 1; id <= cleaners; id++) {
+            Vehicle vehicle = Vehicle.builder().id((id - 1) / 5 + 1).name("Vehicle").build();
+            Cleaner cleaner = Cleaner.builder().id(id).name("Cleaner-" + id).vehicle(vehicle).build();
+            fleet.add(cleaner);
+            bookingsByCleaner.put(id, bookings(cleaner, random));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<List<TimeWindowDTO>> sequential() {
+        return sequential.map(fleet, this::windows);
+    }
+
+    @Benchmark
+    public List<List<TimeWindowDTO>> forkJoin() {
+        return parallel.map(fleet, this::windows);
+    }
+
+    private List<TimeWindowDTO> windows(Cleaner cleaner) {
+        return calculator.computeFreeWindows(cleaner, date, bookingsByCleaner.get(cleaner.getId()));
+    }
+
+    /**
+     * Up to three 2 or 4 hour bookings spread over the working day.
+     */
+    private List<Booking> bookings(Cleaner cleaner, Random random) {
+        List<Booking> result = new ArrayList<>();
+        LocalDateTime cursor = date.atTime(8, 0);
+
+        for (int i = random.nextInt(4); i > 0; i--) {
+            LocalDateTime start = cursor.plusMinutes(30L * random.nextInt(4));
+            int hours = random.nextBoolean() ? 2 : 4;
+            if (start.plusHours(hours).isAfter(date.atTime(22, 0))) {
+                break;
+            }
+            result.add(Booking.builder()
+                    .startDateTime(start)
+                    .endDateTime(start.plusHours(hours))
+                    .durationHours(hours)
+                    .requiredCleanerCount(1)
+                    .status(BookingStatus.CONFIRMED)
+                    .cleaners(List.of(cleaner))
+                    .build());
+            cursor = start.plusHours(hours).plusMinutes(30);
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AvailabilityEvaluationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.justlife.home.cleaning.benchmark;
+
+import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
+import com.justlife.home.cleaning.dto.CompactAvailabilityDTO;
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.enums.AvailabilityEncoding;
+import com.justlife.home.cleaning.utils.CompactAvailabilityMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and serialization time of the availability representations:
+ * verbose JSON (GET /api/v1/availability) against the compact JSON and CBOR
+ * representations, in both encodings. Sizes, raw and gzipped, are printed
+ * once per trial.
+ *
+ * Run with:
+ *   mvn test-compile exec:exec -Dbenchmark=com.justlife.home.cleaning.benchmark.AvailabilityPayloadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityPayloadBenchmark {
+
+    @Param({"25", "250"})
+    private int cleaners;
+
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private final ObjectMapper cbor = CBORMapper.builder().build();
+
+    private LocalDate date;
+    private List<CleanerAvailabilityDTO> verbose;
+    private CompactAvailabilityDTO windows;
+    private CompactAvailabilityDTO bitmask;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        date = LocalDate.now().plusDays(1);
+        verbose = availability(cleaners, new Random(cleaners));
+        windows = CompactAvailabilityMapper.toCompact(date, verbose, AvailabilityEncoding.WINDOWS);
+        bitmask = CompactAvailabilityMapper.toCompact(date, verbose, AvailabilityEncoding.BITMASK);
+
+        System.out.printf("%n%d cleaners, bytes (gzip):%n", cleaners);
+        report("verbose json", json.writeValueAsBytes(verbose));
+        report("compact json", json.writeValueAsBytes(windows));
+        report("compact cbor", cbor.writeValueAsBytes(windows));
+        report("bitmask json", json.writeValueAsBytes(bitmask));
+        report("bitmask cbor", cbor.writeValueAsBytes(bitmask));
+    }
+
+    @Benchmark
+    public byte[] verboseJson() {
+        return json.writeValueAsBytes(verbose);
+    }
+
+    @Benchmark
+    public byte[] compactJson() {
+        return json.writeValueAsBytes(CompactAvailabilityMapper.toCompact(date, verbose, AvailabilityEncoding.WINDOWS));
+    }
+
+    @Benchmark
+    public byte[] compactCbor() {
+        return cbor.writeValueAsBytes(CompactAvailabilityMapper.toCompact(date, verbose, AvailabilityEncoding.WINDOWS));
+    }
+
+    @Benchmark
+    public byte[] bitmaskCbor() {
+        return cbor.writeValueAsBytes(CompactAvailabilityMapper.toCompact(date, verbose, AvailabilityEncoding.BITMASK));
+    }
+
+    /**
+     * Roster shaped like the seeded one: five cleaners per vehicle, a few bookings each.
+     */
+    private static List<CleanerAvailabilityDTO> availability(int count, Random random) {
+        List<CleanerAvailabilityDTO> result = new ArrayList<>();
+
+        for (long id = 1; id <= count; id++) {
+            long vehicleId = (id - 1) / 5 + 1;
+
+            List<TimeWindowDTO> free = new ArrayList<>();
+            LocalTime cursor = LocalTime.of(8, 0);
+            while (cursor.isBefore(LocalTime.of(20, 0))) {
+                LocalTime end = cursor.plusMinutes(30L * (2 + random.nextInt(6)));
+                if (end.isAfter(LocalTime.of(22, 0)) || end.isBefore(cursor)) {
+                    end = LocalTime.of(22, 0);
+                }
+                free.add(new TimeWindowDTO(cursor, end));
+                // a 2 or 4 hour booking plus the break
+                cursor = end.plusMinutes(random.nextBoolean() ? 150 : 270);
+                if (cursor.isBefore(end)) {
+                    break;
+                }
+            }
+
+            result.add(CleanerAvailabilityDTO.builder()
+                    .cleanerId(id)
+                    .cleanerName("Cleaner-" + vehicleId + "-" + id)
+                    .vehicleId(vehicleId)
+                    .vehicleName("Vehicle-" + vehicleId)
+                    .availableWindows(free)
+                    .build());
+        }
+        return result;
+    }
+
+    private static void report(String name, byte[] payload) {
+        System.out.printf("  %-13s %7d (%d)%n", name, payload.length, gzipped(payload));
+    }
+
+    private static int gzipped(byte[] payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AvailabilityPayloadBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
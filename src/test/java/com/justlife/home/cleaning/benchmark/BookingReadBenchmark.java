@@ -0,0 +1,115 @@
+package com.justlife.home.cleaning.benchmark;
+
+import com.justlife.home.cleaning.CleaningApplication;
+import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingStatus;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.utils.BookingMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two read paths of GET /api/v1/bookings/{id}:
+ *
+ *  - entity: findById + lazy cleaners + lazy vehicle, mapped from managed entities
+ *    (what getBooking did before, with open-session-in-view keeping the session open)
+ *  - projection: one statement returning only the response columns
+ *
+ * Runs against the datasource configured in application.yaml; a throwaway
+ * booking is created for the run and removed afterwards.
+ *
+ * Run with:
+ *   mvn test-compile exec:exec -Dbenchmark=com.justlife.home.cleaning.benchmark.BookingReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingReadBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readOnly;
+
+    private Long bookingId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication app = new SpringApplication(CleaningApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setDefaultProperties(Map.of(
+                "spring.jpa.show-sql", "false",
+                "cleaning.archival.enabled", "false",
+                "logging.level.root", "warn"
+        ));
+        context = app.run();
+
+        bookingRepository = context.getBean(BookingRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Cleaner> cleaners = context.getBean(CleanerRepository.class).findAll()
+                .stream()
+                .limit(3)
+                .toList();
+
+        LocalDateTime start = LocalDateTime.now().plusYears(5).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        Booking booking = Booking.builder()
+                .startDateTime(start)
+                .endDateTime(start.plusHours(2))
+                .durationHours(2)
+                .requiredCleanerCount(cleaners.size())
+                .customerName("benchmark")
+                .status(BookingStatus.CONFIRMED)
+                .cleaners(cleaners)
+                .build();
+
+        bookingId = bookingRepository.save(booking).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (bookingId != null) {
+            bookingRepository.deleteById(bookingId);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponseDTO entity() {
+        return readOnly.execute(status -> bookingRepository.findById(bookingId)
+                .map(BookingMapper::toResponse)
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public BookingResponseDTO projection() {
+        return BookingMapper.fromRows(bookingRepository.findResponseRowsById(bookingId))
+                .orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingReadBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
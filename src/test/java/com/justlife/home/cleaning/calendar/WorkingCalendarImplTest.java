@@ -0,0 +1,95 @@
+package com.justlife.home.cleaning.calendar;
+
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendarImpl;
+import com.justlife.home.cleaning.config.CalendarProperties;
+import com.justlife.home.cleaning.entity.CleanerDayOff;
+import com.justlife.home.cleaning.entity.Holiday;
+import com.justlife.home.cleaning.event.WorkingCalendarChangedEvent;
+import com.justlife.home.cleaning.repository.CleanerDayOffRepository;
+import com.justlife.home.cleaning.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkingCalendarImplTest {
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @Mock
+    private CleanerDayOffRepository cleanerDayOffRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private WorkingCalendarImpl calendar;
+
+    // a Monday next year, so the year is never dropped as past during the test
+    private final LocalDate monday = LocalDate.now().plusYears(1).withDayOfYear(10)
+            .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+    @BeforeEach
+    void setUp() {
+        calendar = new WorkingCalendarImpl(holidayRepository, cleanerDayOffRepository,
+                new CalendarProperties(), eventPublisher);
+    }
+
+    @Test
+    void isWorkingDay_shouldBeFalse_onWeeklyRestDayAndHoliday() {
+        when(holidayRepository.findByHolidayDateBetween(any(), any()))
+                .thenReturn(List.of(Holiday.builder().holidayDate(monday).name("New Year").build()));
+
+        assertFalse(calendar.isWorkingDay(monday));
+        assertFalse(calendar.isWorkingDay(monday.with(TemporalAdjusters.next(DayOfWeek.FRIDAY))));
+        assertTrue(calendar.isWorkingDay(monday.plusDays(1)));
+    }
+
+    @Test
+    void isCleanerOff_shouldOnlyMatchThatCleanerAndDate() {
+        when(cleanerDayOffRepository.findByDayOffDateBetween(any(), any()))
+                .thenReturn(List.of(CleanerDayOff.builder().cleanerId(1L).dayOffDate(monday).build()));
+
+        assertTrue(calendar.isCleanerOff(1L, monday));
+        assertFalse(calendar.isCleanerOff(1L, monday.plusDays(1)));
+        assertFalse(calendar.isCleanerOff(2L, monday));
+    }
+
+    @Test
+    void year_shouldBeCompiledOnce_andServedFromMemory() {
+        calendar.isWorkingDay(monday);
+        calendar.isWorkingDay(monday.plusDays(30));
+        calendar.isCleanerOff(1L, monday.plusDays(60));
+
+        verify(holidayRepository, times(1)).findByHolidayDateBetween(any(), any());
+        verify(cleanerDayOffRepository, times(1)).findByDayOffDateBetween(any(), any());
+    }
+
+    @Test
+    void reload_shouldSwapInNewDaysOff_andPublishOnlyWhenChanged() {
+        assertFalse(calendar.isCleanerOff(1L, monday));
+
+        calendar.reload();
+        verifyNoInteractions(eventPublisher);
+
+        when(cleanerDayOffRepository.findByDayOffDateBetween(any(), any()))
+                .thenReturn(List.of(CleanerDayOff.builder().cleanerId(1L).dayOffDate(monday).build()));
+
+        calendar.reload();
+
+        assertTrue(calendar.isCleanerOff(1L, monday));
+        verify(eventPublisher).publishEvent(any(WorkingCalendarChangedEvent.class));
+    }
+}
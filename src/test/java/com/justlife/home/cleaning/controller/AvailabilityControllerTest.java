@@ -1,11 +1,21 @@
 package com.justlife.home.cleaning.controller;
 
+import com.justlife.home.cleaning.availability.version.AvailabilityVersionRegistry;
+import com.justlife.home.cleaning.dto.AvailabilityFilterDTO;
+import com.justlife.home.cleaning.dto.AvailabilityHeatmapDTO;
 import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
 import com.justlife.home.cleaning.dto.CleanerDTO;
+import com.justlife.home.cleaning.dto.CompactAvailabilityDTO;
+import com.justlife.home.cleaning.dto.SlotAvailabilityDTO;
 import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.dto.ZoneAvailabilityDTO;
 import com.justlife.home.cleaning.enums.ApplicationErrorCode;
-import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
 import com.justlife.home.cleaning.service.AvailabilityService;
+import com.justlife.home.cleaning.service.FleetAvailabilityService;
+import com.justlife.home.cleaning.service.HeatmapService;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,15 +24,20 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -35,13 +50,19 @@ class AvailabilityControllerTest {
     @MockitoBean
     private AvailabilityService availabilityService;
 
+    @MockitoBean
+    private HeatmapService heatmapService;
+
+    @MockitoBean
+    private FleetAvailabilityService fleetAvailabilityService;
+
+    @Autowired
+    private AvailabilityVersionRegistry versionRegistry;
+
     // -------------------------------------------------------------
     @Test
     void shouldRejectPastDates() throws Exception {
 
-        doThrow(new BookingValidationException(ApplicationErrorCode.PAST_DATE_NOT_ALLOWED))
-                .when(availabilityService).getAvailabilityForDate(any());
-
         mvc.perform(get("/api/v1/availability")
                         .param("date", "2020-01-01"))
                 .andExpect(status().isBadRequest())
@@ -96,4 +117,267 @@ class AvailabilityControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].cleanerName").value("Aisha"));
     }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldCheckBatchOfSlots() throws Exception {
+
+        SlotAvailabilityDTO dto = SlotAvailabilityDTO.builder()
+                .date(LocalDate.of(2025, 12, 10))
+                .start(LocalTime.of(10, 0))
+                .durationHours(2)
+                .cleanerCount(2)
+                .available(true)
+                .vehicleId(1L)
+                .cleanerIds(List.of(1L, 2L))
+                .build();
+
+        when(availabilityService.checkSlots(anyList())).thenReturn(List.of(dto));
+
+        mvc.perform(post("/api/v1/availability/slot/batch")
+                        .contentType("application/json")
+                        .content("""
+                                {"queries": [
+                                  {"date": "2025-12-10", "start": "10:00", "durationHours": 2, "cleanerCount": 2}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[0].vehicleId").value(1L));
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldRejectEmptyBatch() throws Exception {
+
+        mvc.perform(post("/api/v1/availability/slot/batch")
+                        .contentType("application/json")
+                        .content("{\"queries\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldAnswerNotModified_withoutCallingService() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(10);
+
+        when(availabilityService.getAvailabilityForDate(date)).thenReturn(List.of());
+
+        String etag = mvc.perform(get("/api/v1/availability")
+                        .param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mvc.perform(get("/api/v1/availability")
+                        .param("date", date.toString())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(availabilityService, times(1)).getAvailabilityForDate(date);
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void bookingWrite_shouldChangeEtagOfItsDate() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(11);
+        String before = versionRegistry.etag(date);
+
+        LocalDateTime start = date.atTime(10, 0);
+        versionRegistry.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(BookingSlot.builder()
+                        .start(start)
+                        .end(start.plusHours(2))
+                        .cleanerIds(List.of(1L))
+                        .build())
+                .build());
+
+        assertNotEquals(before, versionRegistry.etag(date));
+
+        when(availabilityService.getAvailableCleaners(eq(date), any(), eq(2))).thenReturn(List.of());
+
+        mvc.perform(get("/api/v1/availability/slot")
+                        .param("date", date.toString())
+                        .param("start", "10:00")
+                        .param("durationHours", "2")
+                        .header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", versionRegistry.etag(date)));
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void pastDates_shouldBeRejectedWithoutCacheHeaders() throws Exception {
+
+        mvc.perform(get("/api/v1/availability")
+                        .param("date", "2020-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ApplicationErrorCode.PAST_DATE_NOT_ALLOWED.getCode()))
+                .andExpect(header().doesNotExist("Cache-Control"))
+                .andExpect(header().doesNotExist("ETag"));
+
+        verifyNoInteractions(availabilityService);
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldReturnCompactAvailability_withVehiclesOnce() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(12);
+
+        when(availabilityService.getAvailabilityForDate(date)).thenReturn(List.of(
+                CleanerAvailabilityDTO.builder()
+                        .cleanerId(1L).cleanerName("John").vehicleId(10L).vehicleName("Car-A")
+                        .availableWindows(List.of(new TimeWindowDTO(LocalTime.of(8, 0), LocalTime.of(10, 0))))
+                        .build(),
+                CleanerAvailabilityDTO.builder()
+                        .cleanerId(2L).cleanerName("Aisha").vehicleId(10L).vehicleName("Car-A")
+                        .availableWindows(List.of(new TimeWindowDTO(LocalTime.of(12, 30), LocalTime.of(22, 0))))
+                        .build()
+        ));
+
+        mvc.perform(get("/api/v1/availability/compact")
+                        .param("date", date.toString())
+                        .accept(CompactAvailabilityDTO.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CompactAvailabilityDTO.MEDIA_TYPE))
+                .andExpect(jsonPath("$.vehicles.length()").value(1))
+                .andExpect(jsonPath("$.vehicles[0].name").value("Car-A"))
+                .andExpect(jsonPath("$.cleaners[0].vehicleName").doesNotExist())
+                .andExpect(jsonPath("$.cleaners[0].windows[0]").value(480))
+                .andExpect(jsonPath("$.cleaners[0].windows[1]").value(600));
+
+        mvc.perform(get("/api/v1/availability/compact")
+                        .param("date", date.toString())
+                        .param("encoding", "BITMASK")
+                        .accept(CompactAvailabilityDTO.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                // 08:00-10:00 is the first 8 quarter hours of the day
+                .andExpect(jsonPath("$.cleaners[0].mask").value(0xFF))
+                .andExpect(jsonPath("$.slotMinutes").value(15));
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldNegotiateCbor_withItsOwnEtag() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(13);
+
+        when(availabilityService.getAvailabilityForDate(date)).thenReturn(List.of());
+
+        String cborEtag = mvc.perform(get("/api/v1/availability/compact")
+                        .param("date", date.toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        assertNotEquals(versionRegistry.etag(date), cborEtag);
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldReturnHeatmap() throws Exception {
+
+        LocalDate from = LocalDate.of(2025, 12, 1);
+        LocalDate to = LocalDate.of(2025, 12, 2);
+
+        AvailabilityHeatmapDTO dto = AvailabilityHeatmapDTO.builder()
+                .from(from)
+                .to(to)
+                .slotMinutes(30)
+                .days(List.of(
+                        AvailabilityHeatmapDTO.Day.builder()
+                                .date(from)
+                                .bookable(true)
+                                .slots(List.of(AvailabilityHeatmapDTO.Slot.builder()
+                                        .start(LocalTime.of(8, 0))
+                                        .teamsOf1(25).teamsOf2(10).teamsOf3(5)
+                                        .build()))
+                                .build(),
+                        AvailabilityHeatmapDTO.Day.builder()
+                                .date(to)
+                                .bookable(false)
+                                .build()))
+                .build();
+
+        when(heatmapService.getHeatmap(from, to)).thenReturn(dto);
+
+        mvc.perform(get("/api/v1/availability/heatmap")
+                        .param("from", "2025-12-01")
+                        .param("to", "2025-12-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].slots[0].teamsOf2").value(10))
+                .andExpect(jsonPath("$.days[1].bookable").value(false))
+                .andExpect(jsonPath("$.days[1].slots").doesNotExist());
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldPassFiltersToService_withTheirOwnEtag() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(3);
+        when(availabilityService.getAvailabilityForDate(eq(date), any(AvailabilityFilterDTO.class)))
+                .thenReturn(List.of());
+
+        String etag = mvc.perform(get("/api/v1/availability")
+                        .param("date", date.toString())
+                        .param("vehicleId", "2", "1")
+                        .param("minWindowHours", "4")
+                        .param("page", "1")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(versionRegistry.etag(date), etag);
+        verify(availabilityService).getAvailabilityForDate(eq(date), argThat((AvailabilityFilterDTO filter) ->
+                filter.getVehicleIds().equals(List.of(2L, 1L))
+                        && filter.getMinWindowHours() == 4
+                        && filter.getPage() == 1
+                        && filter.getLimit() == 20));
+        verify(availabilityService, never()).getAvailabilityForDate(date);
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldScopeAvailabilityToZone_withItsOwnEtag() throws Exception {
+
+        LocalDate date = LocalDate.now().plusDays(3);
+        when(availabilityService.getAvailabilityForDate(date, "MARINA")).thenReturn(List.of());
+
+        String etag = mvc.perform(get("/api/v1/availability")
+                        .param("date", date.toString())
+                        .param("zone", "MARINA"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(versionRegistry.etag(date), etag);
+        verify(availabilityService, never()).getAvailabilityForDate(date);
+    }
+
+    // -------------------------------------------------------------
+    @Test
+    void shouldReturnFleetAvailabilityPerZone() throws Exception {
+
+        LocalDate date = LocalDate.of(2025, 12, 10);
+
+        when(fleetAvailabilityService.getFleetAvailability(date)).thenReturn(List.of(
+                ZoneAvailabilityDTO.builder().zone("DEIRA").cleaners(List.of()).build(),
+                ZoneAvailabilityDTO.builder().zone("MARINA").cleaners(List.of()).build()));
+
+        mvc.perform(get("/api/v1/availability/zones").param("date", "2025-12-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].zone").value("DEIRA"))
+                .andExpect(jsonPath("$[1].zone").value("MARINA"));
+    }
 }
@@ -2,13 +2,22 @@ package com.justlife.home.cleaning.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.justlife.home.cleaning.dto.BookingImportReportDTO;
 import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSearchCriteriaDTO;
+import com.justlife.home.cleaning.dto.BookingSearchPageDTO;
 import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.CreateRecurringBookingRequestDTO;
 import com.justlife.home.cleaning.dto.UpdateBookingRequestDTO;
 import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.enums.BookingStatus;
 import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.exception.RecurrenceConflictException;
 import com.justlife.home.cleaning.exception.ResourceNotFoundException;
 import com.justlife.home.cleaning.service.BookingService;
+import com.justlife.home.cleaning.service.export.BookingCsvExporter;
+import com.justlife.home.cleaning.service.importing.BookingCsvImporter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,10 +29,16 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +55,12 @@ class BookingControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private BookingCsvExporter bookingCsvExporter;
+
+    @MockitoBean
+    private BookingCsvImporter bookingCsvImporter;
+
     @BeforeEach
     void setup() {
         mapper = JsonMapper.builder().findAndAddModules().build();
@@ -56,7 +77,8 @@ class BookingControllerTest {
                 LocalDateTime.of(2025, 12, 10, 10, 0),
                 2,
                 2,
-                "Sanal Sunny"
+                "Sanal Sunny",
+                null
         );
 
         BookingResponseDTO response = BookingResponseDTO.builder()
@@ -83,7 +105,8 @@ class BookingControllerTest {
                 LocalDateTime.of(2025, 12, 10, 23, 0), // invalid time slot
                 2,
                 10, // invalid cleaner count → validation failure
-                "Test User"
+                "Test User",
+                null
         );
 
         doThrow(new NoAvailableCleanersException(ApplicationErrorCode.VALIDATION_FAILED))
@@ -106,7 +129,8 @@ class BookingControllerTest {
                 LocalDateTime.of(2025, 12, 12, 14, 0),
                 4,
                 3,
-                "User"
+                "User",
+                null
         );
 
         doThrow(new NoAvailableCleanersException(ApplicationErrorCode.NO_VEHICLE_WITH_REQUIRED_CLEANERS))
@@ -121,6 +145,54 @@ class BookingControllerTest {
                 ));
     }
 
+    // -------------------------------------------------------------------------
+    // CREATE RECURRING BOOKING
+    // -------------------------------------------------------------------------
+    @Test
+    void shouldReturn409_withConflictingDates_whenRecurrenceCannotBeServed() throws Exception {
+
+        CreateRecurringBookingRequestDTO request = new CreateRecurringBookingRequestDTO(
+                LocalDateTime.of(2025, 12, 4, 10, 0),
+                2,
+                2,
+                "User",
+                null,
+                1,
+                4
+        );
+
+        doThrow(new RecurrenceConflictException(ApplicationErrorCode.RECURRENCE_CONFLICT,
+                List.of(LocalDate.of(2025, 12, 18))))
+                .when(bookingService).createRecurringBooking(any());
+
+        mvc.perform(post("/api/v1/bookings/recurring")
+                        .contentType("application/json")
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value(ApplicationErrorCode.RECURRENCE_CONFLICT.getCode()))
+                .andExpect(jsonPath("$.conflictingDates[0]").value("2025-12-18"));
+    }
+
+    @Test
+    void shouldReturn400_whenRecurrenceHasTooManyOccurrences() throws Exception {
+
+        CreateRecurringBookingRequestDTO request = new CreateRecurringBookingRequestDTO(
+                LocalDateTime.of(2025, 12, 4, 10, 0),
+                2,
+                2,
+                "User",
+                null,
+                1,
+                53
+        );
+
+        mvc.perform(post("/api/v1/bookings/recurring")
+                        .contentType("application/json")
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.occurrences").exists());
+    }
+
     // -------------------------------------------------------------------------
     // UPDATE BOOKING
     // -------------------------------------------------------------------------
@@ -199,4 +271,88 @@ class BookingControllerTest {
                         ApplicationErrorCode.BOOKING_NOT_FOUND.getCode()
                 ));
     }
+
+    // -------------------------------------------------------------------------
+    // SEARCH BOOKINGS
+    // -------------------------------------------------------------------------
+    @Test
+    void shouldSearchBookings_withFiltersAndCursor() throws Exception {
+
+        when(bookingService.searchBookings(any())).thenReturn(BookingSearchPageDTO.builder()
+                .items(List.of())
+                .nextCursor("next")
+                .build());
+
+        mvc.perform(get("/api/v1/bookings/search")
+                        .param("from", "2030-01-07")
+                        .param("to", "2030-01-13")
+                        .param("customerName", "John")
+                        .param("status", "CONFIRMED")
+                        .param("vehicleId", "3")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(bookingService).searchBookings(argThat((BookingSearchCriteriaDTO c) ->
+                c.getFrom().equals(LocalDate.of(2030, 1, 7))
+                        && c.getTo().equals(LocalDate.of(2030, 1, 13))
+                        && c.getCustomerName().equals("John")
+                        && c.getStatus() == BookingStatus.CONFIRMED
+                        && c.getVehicleId() == 3L
+                        && c.getCursor().equals("abc")
+                        && c.getLimit() == 20));
+    }
+
+    // -------------------------------------------------------------------------
+    // EXPORT BOOKINGS
+    // -------------------------------------------------------------------------
+    @Test
+    void shouldStreamExportAsCsvAttachment() throws Exception {
+
+        mvc.perform(get("/api/v1/bookings/export")
+                        .param("from", "2030-01-01")
+                        .param("to", "2030-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"bookings-2030-01-01-2030-01-31.csv\""));
+
+        verify(bookingCsvExporter).export(eq(LocalDate.of(2030, 1, 1)), eq(LocalDate.of(2030, 1, 31)), any());
+    }
+
+    @Test
+    void shouldReturn400_whenExportRangeEndsBeforeItStarts() throws Exception {
+
+        mvc.perform(get("/api/v1/bookings/export")
+                        .param("from", "2030-01-31")
+                        .param("to", "2030-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.errorCode").value(BookingErrorCode.INVALID_EXPORT_RANGE.getCode()));
+
+        verifyNoInteractions(bookingCsvExporter);
+    }
+
+    // -------------------------------------------------------------------------
+    // IMPORT BOOKINGS
+    // -------------------------------------------------------------------------
+    @Test
+    void shouldImportCsvBody_andReturnReport() throws Exception {
+
+        when(bookingCsvImporter.importCsv(any())).thenReturn(BookingImportReportDTO.builder()
+                .rowsRead(2)
+                .imported(1)
+                .rejected(1)
+                .rejections(List.of())
+                .build());
+
+        mvc.perform(post("/api/v1/bookings/import")
+                        .contentType("text/csv")
+                        .content("start_date_time,duration_hours,customer_name,cleaner_ids\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
 }
@@ -0,0 +1,416 @@
+package com.justlife.home.cleaning.controller;
+
+import com.justlife.home.cleaning.availability.heatmap.SlotCounterStore;
+import com.justlife.home.cleaning.availability.roster.RosterIndex;
+import com.justlife.home.cleaning.availability.utilization.UtilizationCounterStore;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCache;
+import com.justlife.home.cleaning.config.ImportProperties;
+import com.justlife.home.cleaning.dto.CompactAvailabilityDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.BookingArchive;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.enums.BookingStatus;
+import com.justlife.home.cleaning.repository.BookingArchiveRepository;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.repository.CleanerScheduleRepository;
+import com.justlife.home.cleaning.repository.VehicleRepository;
+import com.justlife.home.cleaning.support.StatementBudget;
+import com.justlife.home.cleaning.support.StatementCountingConfig;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint runs against a real (in-memory) database with a fixed
+ * statement budget. Each test runs with a small and a large fleet: the budget
+ * is the same for both, so lazy associations loaded per booking or per cleaner
+ * fail the large run. Caches are emptied first, the budgets cover the cold path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementCountingConfig.class)
+class StatementBudgetTest {
+
+    private static final int CLEANERS_PER_VEHICLE = 5;
+
+    @Autowired
+    private StatementBudget budget;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Autowired
+    private CleanerScheduleRepository cleanerScheduleRepository;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Autowired
+    private RosterIndex rosterIndex;
+
+    @Autowired
+    private FreeWindowCache freeWindowCache;
+
+    @Autowired
+    private SlotCounterStore slotCounterStore;
+
+    @Autowired
+    private UtilizationCounterStore utilizationCounterStore;
+
+    private final LocalDate date = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    /**
+     * Replaces the fleet with {@code size} cleaners, five per vehicle, and gives
+     * every vehicle one booking on the test date. Returns the seeded bookings.
+     */
+    private List<Booking> fleetOf(int size) {
+        bookingRepository.deleteAll();
+        cleanerScheduleRepository.deleteAllInBatch();
+        cleanerRepository.deleteAllInBatch();
+        vehicleRepository.deleteAllInBatch();
+
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 1; i <= size / CLEANERS_PER_VEHICLE; i++) {
+            vehicles.add(Vehicle.builder().name("Vehicle-" + i).build());
+        }
+        vehicleRepository.saveAll(vehicles);
+
+        List<Cleaner> cleaners = new ArrayList<>();
+        for (Vehicle vehicle : vehicles) {
+            for (int i = 1; i <= CLEANERS_PER_VEHICLE; i++) {
+                cleaners.add(Cleaner.builder()
+                        .name("Cleaner-" + vehicle.getId() + "-" + i)
+                        .vehicle(vehicle)
+                        .build());
+            }
+        }
+        cleanerRepository.saveAll(cleaners);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < cleaners.size(); i += CLEANERS_PER_VEHICLE) {
+            bookings.add(Booking.builder()
+                    .startDateTime(date.atTime(10, 0))
+                    .endDateTime(date.atTime(12, 0))
+                    .durationHours(2)
+                    .requiredCleanerCount(1)
+                    .customerName("Seed")
+                    .status(BookingStatus.CONFIRMED)
+                    .cleaners(new ArrayList<>(List.of(cleaners.get(i))))
+                    .build());
+        }
+        bookingRepository.saveAll(bookings);
+
+        rosterIndex.refresh();
+        freeWindowCache.clear();
+        slotCounterStore.clear();
+        utilizationCounterStore.clear();
+        return bookings;
+    }
+
+    // -------------------------------------------------------------------------
+    // AvailabilityController
+    // -------------------------------------------------------------------------
+
+    // working calendar (2) + bookings of the date (1)
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void availabilityForDate(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        budget.assertStatements(get("/api/v1/availability").param("date", date.toString()), 3)
+                .andExpect(status().isOk());
+    }
+
+    // working calendar (2) + bookings of the requested vehicles (1)
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void filteredAvailability(int fleetSize) throws Exception {
+        Booking seeded = fleetOf(fleetSize).getFirst();
+
+        budget.assertStatements(get("/api/v1/availability")
+                        .param("date", date.toString())
+                        .param("vehicleId", seeded.getCleaners().getFirst().getVehicle().getId().toString())
+                        .param("minWindowHours", "4")
+                        .param("limit", "2"), 3)
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void compactAvailability(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        budget.assertStatements(get("/api/v1/availability/compact")
+                        .param("date", date.toString())
+                        .accept(CompactAvailabilityDTO.MEDIA_TYPE), 3)
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void availableCleanersForSlot(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        budget.assertStatements(get("/api/v1/availability/slot")
+                        .param("date", date.toString())
+                        .param("start", "14:00")
+                        .param("durationHours", "2"), 3)
+                .andExpect(status().isOk());
+    }
+
+    // one booking query per distinct date of the batch
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void slotBatch(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        String body = """
+                {"queries": [
+                  {"date": "%1$s", "start": "10:00", "durationHours": 2, "cleanerCount": 2},
+                  {"date": "%1$s", "start": "14:00", "durationHours": 4, "cleanerCount": 3}
+                ]}
+                """.formatted(date);
+
+        budget.assertStatements(post("/api/v1/availability/slot/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body), 3)
+                .andExpect(status().isOk());
+    }
+
+    // working calendar of up to two years (4) + cleaners (1) + bookings of the range (1)
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void heatmap(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        budget.assertStatements(get("/api/v1/availability/heatmap")
+                        .param("from", date.toString())
+                        .param("to", date.plusDays(6).toString()), 6)
+                .andExpect(status().isOk());
+    }
+
+    // every seeded vehicle is in the default zone: one zone, one booking query
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void fleetAvailability(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        budget.assertStatements(get("/api/v1/availability/zones").param("date", date.toString()), 3)
+                .andExpect(status().isOk());
+    }
+
+    // -------------------------------------------------------------------------
+    // BookingController
+    // -------------------------------------------------------------------------
+
+    // calendar (2) + bookings of the date (1) + schedule rows read (1) and
+    // inserted (2) + booking (1) + booking_cleaner rows (2)
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void createBooking(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        String body = """
+                {"startDateTime": "%sT14:00:00", "durationHours": 2, "cleanerCount": 2, "customerName": "Budget"}
+                """.formatted(date);
+
+        budget.assertStatements(post("/api/v1/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body), 10)
+                .andExpect(status().isOk());
+    }
+
+    // calendar (2) + cleaners (1) + bookings of all occurrences (1) + schedule
+    // rows read (1) and inserted (4) + booking batch (1) + booking_cleaner batch (1)
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void createRecurringBooking(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+        // the first cleaner of every vehicle is booked at 10:00 on the first date
+        Long secondCleaner = cleanerRepository.findAllWithVehicle().get(1).getId();
+
+        String body = """
+                {"startDateTime": "%sT10:00:00", "durationHours": 2, "cleanerCount": 1,
+                 "customerName": "Budget", "occurrences": 4}
+                """.formatted(date);
+
+        budget.assertStatements(post("/api/v1/bookings/recurring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body), 11)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.length()").value(4))
+                .andExpect(jsonPath("$.cleanerIds[0]").value(secondCleaner));
+    }
+
+    // booking (1) + calendar (2) + its cleaners (1) + vehicle's bookings (1)
+    // + schedule rows read (1) and inserted (1) + booking update (1)
+    // + booking_cleaner rows replaced (2), with room for one vehicle proxy
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void updateBooking(int fleetSize) throws Exception {
+        Long id = fleetOf(fleetSize).getFirst().getId();
+
+        String body = """
+                {"newStartDateTime": "%sT15:00:00"}
+                """.formatted(date);
+
+        budget.assertStatements(put("/api/v1/bookings/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body), 12)
+                .andExpect(status().isOk());
+    }
+
+    // cleaners (1) + calendar (2) + bookings of the date for the index (1), then
+    // per chunk: bookings of the date (1) + schedule rows read (1), bumped (1)
+    // and inserted (1) + booking batch (1) + booking_cleaner batch (1). Every
+    // cleaner gets a booking and the file is cut in three chunks, so the rows
+    // per chunk grow with the fleet but the statements do not.
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void importBookings(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+        List<Cleaner> cleaners = cleanerRepository.findAllWithVehicle();
+
+        StringBuilder csv = new StringBuilder("start_date_time,duration_hours,customer_name,cleaner_ids\n");
+        for (Cleaner cleaner : cleaners) {
+            csv.append(date).append("T14:00,2,Imported,").append(cleaner.getId()).append('\n');
+        }
+
+        int chunkSize = importProperties.getChunkSize();
+        importProperties.setChunkSize((cleaners.size() + 2) / 3);
+        try {
+            budget.assertStatements(post("/api/v1/bookings/import")
+                            .contentType("text/csv")
+                            .content(csv.toString()), 22)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(cleaners.size()))
+                    .andExpect(jsonPath("$.rejected").value(0));
+        } finally {
+            importProperties.setChunkSize(chunkSize);
+        }
+    }
+
+    // a single projection query
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void getBooking(int fleetSize) throws Exception {
+        Long id = fleetOf(fleetSize).getFirst().getId();
+
+        budget.assertStatements(get("/api/v1/bookings/{id}", id), 1)
+                .andExpect(status().isOk());
+    }
+
+    // one keyset projection query, whatever the fleet size
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void searchBookings(int fleetSize) throws Exception {
+        LocalDate date = fleetOf(fleetSize).getFirst().getStartDateTime().toLocalDate();
+
+        budget.assertStatements(get("/api/v1/bookings/search")
+                        .param("from", date.toString())
+                        .param("to", date.plusDays(6).toString())
+                        .param("limit", "20"), 1)
+                .andExpect(status().isOk());
+    }
+
+    // one streaming query; cleaners and vehicles come from the same join
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void exportBookings(int fleetSize) throws Exception {
+        List<Booking> bookings = fleetOf(fleetSize);
+
+        String csv = budget.assertStatements(get("/api/v1/bookings/export")
+                        .param("from", date.toString())
+                        .param("to", date.toString()), 1)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertEquals(bookings.size() + 1, lines.length);
+        Booking first = bookings.getFirst();
+        assertEquals(first.getId() + "," + date + "T10:00:00," + date + "T12:00:00,2,1,Seed,CONFIRMED,"
+                        + first.getCleaners().getFirst().getVehicle().getId() + "," + first.getCleaners().getFirst().getId(),
+                lines[1]);
+    }
+
+    // still one streaming query when the range reaches into the archive
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void exportBookings_shouldIncludeArchivedBookings(int fleetSize) throws Exception {
+        List<Booking> bookings = fleetOf(fleetSize);
+        Cleaner cleaner = bookings.getFirst().getCleaners().getFirst();
+        LocalDate archivedDate = LocalDate.now().minusYears(1);
+
+        bookingArchiveRepository.deleteAll();
+        BookingArchive archived = bookingArchiveRepository.save(BookingArchive.builder()
+                .id(-1L)
+                .startDateTime(archivedDate.atTime(9, 0))
+                .endDateTime(archivedDate.atTime(11, 0))
+                .durationHours(2)
+                .requiredCleanerCount(1)
+                .customerName("Archived")
+                .status(BookingStatus.CONFIRMED)
+                .vehicleId(cleaner.getVehicle().getId())
+                .cleanerIds(new ArrayList<>(List.of(cleaner.getId())))
+                .archivedAt(archivedDate.plusDays(100).atStartOfDay())
+                .build());
+
+        String csv = budget.assertStatements(get("/api/v1/bookings/export")
+                        .param("from", archivedDate.toString())
+                        .param("to", date.toString()), 1)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertEquals(bookings.size() + 2, lines.length);
+        assertEquals(archived.getId() + "," + archivedDate + "T09:00:00," + archivedDate + "T11:00:00,2,1,Archived,CONFIRMED,"
+                        + cleaner.getVehicle().getId() + "," + cleaner.getId(),
+                lines[1]);
+    }
+
+    // -------------------------------------------------------------------------
+    // UtilizationController
+    // -------------------------------------------------------------------------
+
+    // working calendar of up to two years (4) + cleaners (1) + bookings of the range (1)
+    @ParameterizedTest
+    @ValueSource(ints = {5, 500})
+    void utilization(int fleetSize) throws Exception {
+        fleetOf(fleetSize);
+
+        budget.assertStatements(get("/api/v1/utilization")
+                        .param("from", date.toString())
+                        .param("to", date.plusDays(6).toString()), 6)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].vehicles.length()").value(fleetSize / CLEANERS_PER_VEHICLE))
+                .andExpect(jsonPath("$.days[0].vehicles[0].bookedMinutes").value(120));
+    }
+}
@@ -0,0 +1,188 @@
+package com.justlife.home.cleaning.heatmap;
+
+import com.justlife.home.cleaning.availability.heatmap.SlotCounterStore;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Incrementally maintained counters must always equal the counters built
+ * from scratch for the same bookings. Every repetition uses its own fixed seed.
+ */
+class SlotCounterStoreTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    private List<Cleaner> roster() {
+        List<Cleaner> cleaners = new ArrayList<>();
+        for (long v = 1; v <= 2; v++) {
+            Vehicle vehicle = Vehicle.builder().id(v).name("Vehicle-" + v).build();
+            for (long c = 1; c <= 4; c++) {
+                cleaners.add(Cleaner.builder()
+                        .id(v * 10 + c)
+                        .name("Cleaner-" + v + "-" + c)
+                        .workStart(c == 4 ? LocalTime.of(10, 0) : LocalTime.of(8, 0))
+                        .workEnd(LocalTime.of(22, 0))
+                        .vehicle(vehicle)
+                        .build());
+            }
+        }
+        return cleaners;
+    }
+
+    private Booking booking(long id, LocalDateTime start, int hours, List<Cleaner> cleaners) {
+        return Booking.builder()
+                .id(id)
+                .startDateTime(start)
+                .endDateTime(start.plusHours(hours))
+                .durationHours(hours)
+                .cleaners(new ArrayList<>(cleaners))
+                .build();
+    }
+
+    private BookingSlot slotOf(Booking booking) {
+        return BookingSlot.builder()
+                .start(booking.getStartDateTime())
+                .end(booking.getEndDateTime())
+                .cleanerIds(booking.getCleaners().stream().map(Cleaner::getId).toList())
+                .build();
+    }
+
+    @Test
+    void populate_shouldCountTeamsPerVehicle() {
+        SlotCounterStore store = new SlotCounterStore();
+        List<Cleaner> cleaners = roster();
+
+        // cleaner 11 busy 10:00-12:00 (blocks 09:30-12:30 with breaks)
+        Booking b = booking(1L, date.atTime(10, 0), 2, List.of(cleaners.getFirst()));
+
+        int[][] teams = store.populate(date, store.generation(date), cleaners, List.of(b));
+
+        // 08:00: vehicle 1 and 2 each have 3 cleaners on shift
+        assertEquals(6, teams[0][0]);
+        assertEquals(2, teams[1][0]);
+        assertEquals(2, teams[2][0]);
+
+        // 11:00 (slot 6): vehicle 1 has 3 free (one busy, 4th on shift), vehicle 2 has 4
+        assertEquals(7, teams[0][6]);
+        assertEquals(1 + 2, teams[1][6]);
+        assertEquals(1 + 1, teams[2][6]);
+
+        // 12:30 (slot 9) is free again after the break
+        assertEquals(8, teams[0][9]);
+    }
+
+    @RepeatedTest(200)
+    void incrementalUpdates_shouldMatchFullRebuild(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        List<Cleaner> cleaners = roster();
+
+        SlotCounterStore store = new SlotCounterStore();
+        store.populate(date, store.generation(date), cleaners, List.of());
+
+        List<Booking> bookings = new ArrayList<>();
+        long nextId = 1;
+
+        for (int step = 0; step < 30; step++) {
+            if (bookings.isEmpty() || random.nextInt(3) > 0) {
+                LocalDateTime start = date.atTime(8, 0).plusMinutes(30L * random.nextInt(24));
+                Cleaner cleaner = cleaners.get(random.nextInt(cleaners.size()));
+                Booking created = booking(nextId++, start, random.nextBoolean() ? 2 : 4, List.of(cleaner));
+
+                bookings.add(created);
+                store.onBookingChanged(BookingChangedEvent.builder()
+                        .bookingId(created.getId())
+                        .changeType(BookingChangeType.CREATED)
+                        .current(slotOf(created))
+                        .build());
+            } else {
+                Booking moved = bookings.get(random.nextInt(bookings.size()));
+                BookingSlot previous = slotOf(moved);
+
+                LocalDateTime start = date.atTime(8, 0).plusMinutes(30L * random.nextInt(20));
+                moved.setStartDateTime(start);
+                moved.setEndDateTime(start.plusHours(moved.getDurationHours()));
+
+                store.onBookingChanged(BookingChangedEvent.builder()
+                        .bookingId(moved.getId())
+                        .changeType(BookingChangeType.UPDATED)
+                        .previous(previous)
+                        .current(slotOf(moved))
+                        .build());
+            }
+
+            SlotCounterStore rebuilt = new SlotCounterStore();
+            int[][] expected = rebuilt.populate(date, 0L, cleaners, bookings);
+
+            assertArrayEquals(expected, store.teams(date).orElseThrow(),
+                    "seed " + info.getCurrentRepetition() + ", step " + step);
+        }
+    }
+
+    @Test
+    void populate_shouldBeSkipped_whenWriteHappenedMeanwhile() {
+        SlotCounterStore store = new SlotCounterStore();
+        List<Cleaner> cleaners = roster();
+
+        long generation = store.generation(date);
+
+        Booking b = booking(1L, date.atTime(12, 0), 2, List.of(cleaners.getFirst()));
+        store.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(slotOf(b))
+                .build());
+
+        store.populate(date, generation, cleaners, List.of());
+
+        assertTrue(store.teams(date).isEmpty());
+    }
+
+    @Test
+    void onBookingChanged_shouldNotCountReplayedChangeTwice_whenDateWasLoadedAfterTheWrite() {
+        SlotCounterStore store = new SlotCounterStore();
+        List<Cleaner> cleaners = roster();
+
+        // the remote write commits, then the date is loaded with it, then the change feed replays it
+        Booking created = booking(1L, date.atTime(12, 0), 2, List.of(cleaners.getFirst()));
+        int[][] loaded = store.populate(date, store.generation(date), cleaners, List.of(created));
+
+        store.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(slotOf(created))
+                .build());
+
+        assertArrayEquals(loaded, store.teams(date).orElseThrow());
+
+        // a move delivered twice ends where the booking is
+        BookingSlot previous = slotOf(created);
+        Booking moved = booking(1L, date.atTime(16, 0), 2, List.of(cleaners.getFirst()));
+        BookingChangedEvent move = BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.UPDATED)
+                .previous(previous)
+                .current(slotOf(moved))
+                .build();
+        store.onBookingChanged(move);
+        store.onBookingChanged(move);
+
+        assertArrayEquals(new SlotCounterStore().populate(date, 0L, cleaners, List.of(moved)),
+                store.teams(date).orElseThrow());
+    }
+}
@@ -0,0 +1,126 @@
+package com.justlife.home.cleaning.packing;
+
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
+import com.justlife.home.cleaning.availability.packing.DayRepacker;
+import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRuleImpl;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculatorImpl;
+import com.justlife.home.cleaning.config.RepackingProperties;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DayRepackerTest {
+
+    private final LocalDate date = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private WorkingCalendar workingCalendar;
+
+    private DayRepacker repacker;
+    private Cleaner first;
+    private Cleaner second;
+    private Cleaner third;
+
+    @BeforeEach
+    void setUp() {
+        RepackingProperties properties = new RepackingProperties();
+        properties.setMaxRestarts(5);
+
+        repacker = new DayRepacker(
+                new CleanerAvailabilityRuleImpl(workingCalendar),
+                new FreeWindowCalculatorImpl(),
+                workingCalendar,
+                properties);
+
+        first = Cleaner.builder().id(1L).name("C1").build();
+        second = Cleaner.builder().id(2L).name("C2").build();
+        third = Cleaner.builder().id(3L).name("C3").build();
+    }
+
+    private Booking booking(long id, String start, String end, Cleaner... cleaners) {
+        return Booking.builder()
+                .id(id)
+                .startDateTime(date.atTime(LocalTime.parse(start)))
+                .endDateTime(date.atTime(LocalTime.parse(end)))
+                .cleaners(new ArrayList<>(List.of(cleaners)))
+                .build();
+    }
+
+    private Instant inOneSecond() {
+        return Instant.now().plus(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void repack_shouldPutBackToBackBookingsOnOneCleaner_toFreeAWholeDay() {
+        // first's 08:00-10:00 and second's 10:30-12:30 leave second a 150 min gap before 10:30
+        List<Booking> bookings = List.of(
+                booking(1, "08:00", "10:00", first),
+                booking(2, "10:30", "12:30", second));
+
+        DayRepacker.Result result = repacker.repack(date, List.of(first, second), bookings, inOneSecond(), new Random(1));
+
+        assertTrue(result.after().compareTo(result.before()) > 0);
+        assertEquals(1380, result.after().sellableMinutes());
+        assertEquals(result.assignment().get(1L), result.assignment().get(2L));
+        // times are never touched
+        assertEquals(date.atTime(10, 30), bookings.get(1).getStartDateTime());
+    }
+
+    @Test
+    void repack_shouldKeepOverlappingBookingsOnDifferentCleaners() {
+        List<Booking> bookings = List.of(
+                booking(1, "10:00", "12:00", first),
+                booking(2, "11:00", "13:00", second));
+
+        DayRepacker.Result result = repacker.repack(date, List.of(first, second), bookings, inOneSecond(), new Random(1));
+
+        assertNotEquals(result.assignment().get(1L), result.assignment().get(2L));
+        assertEquals(0, result.after().compareTo(result.before()));
+    }
+
+    @Test
+    void repack_shouldNeverAssignCleanerWhoIsOff() {
+        when(workingCalendar.isCleanerOff(anyLong(), eq(date))).thenAnswer(call -> call.getArgument(0).equals(3L));
+        List<Booking> bookings = List.of(
+                booking(1, "08:00", "10:00", first),
+                booking(2, "10:30", "12:30", second),
+                booking(3, "14:00", "18:00", first, second));
+
+        DayRepacker.Result result = repacker.repack(date, List.of(first, second, third), bookings, inOneSecond(), new Random(1));
+
+        assertTrue(result.assignment().values().stream().noneMatch(ids -> ids.contains(3L)));
+        assertEquals(Set.of(1L, 2L), result.assignment().get(3L));
+    }
+
+    @Test
+    void repack_shouldReturnCurrentAssignment_whenNoTimeIsLeft() {
+        List<Booking> bookings = List.of(
+                booking(1, "08:00", "10:00", first),
+                booking(2, "10:30", "12:30", second));
+
+        DayRepacker.Result result = repacker.repack(date, List.of(first, second), bookings, Instant.now(), new Random(1));
+
+        assertEquals(Map.of(1L, Set.of(1L), 2L, Set.of(2L)), result.assignment());
+        assertEquals(result.before(), result.after());
+    }
+}
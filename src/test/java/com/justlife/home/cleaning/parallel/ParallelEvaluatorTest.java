@@ -0,0 +1,67 @@
+package com.justlife.home.cleaning.parallel;
+
+import com.justlife.home.cleaning.availability.parallel.ParallelEvaluator;
+import com.justlife.home.cleaning.config.AvailabilityEvaluationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEvaluatorTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final AvailabilityEvaluationProperties properties = new AvailabilityEvaluationProperties();
+    private final ParallelEvaluator evaluator = new ParallelEvaluator(pool, properties);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void map_shouldStayOnCallingThread_belowThreshold() {
+        properties.setSequentialThreshold(100);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> result = evaluator.map(IntStream.range(0, 99).boxed().toList(), i -> {
+            threads.add(Thread.currentThread());
+            return i * 2;
+        });
+
+        assertEquals(99, result.size());
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void map_shouldKeepOrder_andAvoidCommonPool_aboveThreshold() {
+        properties.setSequentialThreshold(10);
+        properties.setChunkSize(8);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> input = IntStream.range(0, 1_000).boxed().toList();
+        List<Integer> result = evaluator.map(input, i -> {
+            threads.add(Thread.currentThread());
+            return i * 2;
+        });
+
+        assertEquals(input.stream().map(i -> i * 2).toList(), result);
+        assertTrue(threads.stream().noneMatch(t -> t.getName().startsWith("ForkJoinPool.commonPool")));
+    }
+
+    @Test
+    void map_shouldEvaluateSequentially_whenParallelModeIsOff() {
+        properties.setParallel(false);
+        properties.setSequentialThreshold(1);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        evaluator.map(IntStream.range(0, 1_000).boxed().toList(), i -> threads.add(Thread.currentThread()));
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+}
@@ -0,0 +1,123 @@
+package com.justlife.home.cleaning.querymetrics;
+
+import com.justlife.home.cleaning.config.QueryMetricsProperties;
+import com.justlife.home.cleaning.repository.metrics.QueryContext;
+import com.justlife.home.cleaning.repository.metrics.QueryMetrics;
+import com.justlife.home.cleaning.repository.metrics.QueryTimingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryTimingDataSourceTest {
+
+    private static final String SELECT = "select b.id from booking b where b.start_date_time >= ?";
+    private static final String INSERT = "insert into booking_cleaner (booking_id, cleaners_id) values (?, ?)";
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryMetricsProperties properties = new QueryMetricsProperties();
+
+    private QueryTimingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new QueryTimingDataSource(target, new QueryMetrics(registry, properties));
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void shouldTimeStatementUnderRepositoryMethod_andCountRowsRead() throws Exception {
+        when(connection.prepareStatement(SELECT)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        String outer = QueryContext.enter("BookingRepository.findByDate");
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(SELECT)) {
+            ps.setObject(1, "2030-01-07T00:00");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // read every row
+                }
+            }
+        } finally {
+            QueryContext.exit(outer);
+        }
+
+        assertEquals(1, registry.get("db.query").tag("query", "BookingRepository.findByDate").timer().count());
+        assertEquals(2.0, registry.get("db.query.rows").tag("query", "BookingRepository.findByDate")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void shouldNameStatementAfterItsTable_outsideRepositoryCalls() throws Exception {
+        when(connection.prepareStatement(INSERT)).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(INSERT)) {
+            ps.executeUpdate();
+        }
+
+        assertEquals(1, registry.get("db.query").tag("query", "insert booking_cleaner").timer().count());
+        assertEquals(1.0, registry.get("db.query.rows").tag("query", "insert booking_cleaner")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void shouldCountSlowStatements_overThreshold() throws Exception {
+        properties.setSlowThreshold(Duration.ZERO);
+        dataSource = new QueryTimingDataSource(target, new QueryMetrics(registry, properties));
+        when(connection.prepareStatement(INSERT)).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement(INSERT)) {
+            ps.executeUpdate();
+            ps.executeUpdate();
+        }
+
+        assertEquals(2.0, registry.get("db.query.slow").tag("query", "insert booking_cleaner").counter().count());
+    }
+
+    @Test
+    void slowQueryBinds_shouldMaskStrings() {
+        Map<Integer, Object> binds = new TreeMap<>();
+        binds.put(1, "Jane Doe");
+        binds.put(2, 42L);
+        binds.put(3, null);
+
+        Map<Integer, Object> masked = QueryMetrics.masked(binds);
+
+        assertEquals("<8 chars>", masked.get(1));
+        assertEquals(42L, masked.get(2));
+        assertNull(masked.get(3));
+    }
+}
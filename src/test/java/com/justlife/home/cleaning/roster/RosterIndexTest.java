@@ -0,0 +1,79 @@
+package com.justlife.home.cleaning.roster;
+
+import com.justlife.home.cleaning.availability.roster.RosterIndex;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.event.RosterChangedEvent;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RosterIndexTest {
+
+    @Mock
+    private CleanerRepository cleanerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RosterIndex rosterIndex;
+
+    private final Vehicle marina = Vehicle.builder().id(1L).name("Vehicle-1").zone("MARINA").build();
+    private final Vehicle deira = Vehicle.builder().id(2L).name("Vehicle-2").zone("DEIRA").build();
+
+    @BeforeEach
+    void setUp() {
+        rosterIndex = new RosterIndex(cleanerRepository, eventPublisher);
+    }
+
+    private Cleaner cleaner(long id, int startHour, Vehicle vehicle) {
+        return Cleaner.builder()
+                .id(id)
+                .name("Cleaner-" + id)
+                .workStart(LocalTime.of(startHour, 0))
+                .workEnd(LocalTime.of(22, 0))
+                .vehicle(vehicle)
+                .build();
+    }
+
+    @Test
+    void refresh_shouldPublishChangedCleaners_whenShiftOrVehicleChanged() {
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(
+                List.of(cleaner(1L, 8, marina), cleaner(2L, 8, marina), cleaner(3L, 8, marina)),
+                List.of(cleaner(1L, 8, marina), cleaner(2L, 10, marina), cleaner(3L, 8, deira)));
+
+        rosterIndex.current();
+        rosterIndex.refresh();
+
+        ArgumentCaptor<RosterChangedEvent> event = ArgumentCaptor.forClass(RosterChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(2L, 3L), event.getValue().getCleanerIds());
+        assertEquals(Set.of("DEIRA", "MARINA"), rosterIndex.zones());
+    }
+
+    @Test
+    void refresh_shouldNotPublish_whenNothingChanged() {
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(
+                List.of(cleaner(1L, 8, marina)),
+                List.of(cleaner(1L, 8, marina)));
+
+        rosterIndex.current();
+        rosterIndex.refresh();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
@@ -0,0 +1,55 @@
+package com.justlife.home.cleaning.roster;
+
+import com.justlife.home.cleaning.availability.roster.Roster;
+import com.justlife.home.cleaning.entity.Cleaner;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    private Cleaner cleaner(long id, int startHour, int endHour) {
+        return Cleaner.builder()
+                .id(id)
+                .name("Cleaner-" + id)
+                .workStart(LocalTime.of(startHour, 0))
+                .workEnd(LocalTime.of(endHour, 0))
+                .build();
+    }
+
+    @Test
+    void of_shouldGroupCleanersByShift_orderedByShiftStart() {
+        Roster roster = Roster.of(List.of(
+                cleaner(1L, 12, 22), cleaner(2L, 8, 16), cleaner(3L, 12, 22)));
+
+        assertEquals(2, roster.buckets().size());
+        assertEquals(LocalTime.of(8, 0), roster.buckets().get(0).shiftStart());
+        assertEquals(2, roster.buckets().get(1).cleaners().size());
+        assertEquals(3, roster.cleaners().size());
+    }
+
+    @Test
+    void cleanersCovering_shouldOnlyReturnShiftsContainingInterval() {
+        Roster roster = Roster.of(List.of(
+                cleaner(1L, 12, 22), cleaner(2L, 8, 16), cleaner(3L, 8, 22), cleaner(4L, 14, 22)));
+
+        List<Long> ids = roster.cleanersCovering(date.atTime(12, 0), date.atTime(16, 0)).stream()
+                .map(Cleaner::getId)
+                .toList();
+
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    void cleanersCovering_shouldBeEmpty_whenIntervalCrossesMidnight() {
+        Roster roster = Roster.of(List.of(cleaner(1L, 8, 22)));
+
+        assertTrue(roster.cleanersCovering(date.atTime(21, 0), date.plusDays(1).atTime(1, 0)).isEmpty());
+    }
+}
@@ -1,11 +1,11 @@
 package com.justlife.home.cleaning.rules;
 
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
 import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
 import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRuleImpl;
 import com.justlife.home.cleaning.constants.ApplicationConstants;
 import com.justlife.home.cleaning.entity.Booking;
 import com.justlife.home.cleaning.entity.Cleaner;
-import com.justlife.home.cleaning.repository.BookingRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,14 +24,14 @@ import static org.mockito.Mockito.*;
 class CleanerAvailabilityRuleImplTest {
 
     @Mock
-    private BookingRepository bookingRepository;
+    private WorkingCalendar workingCalendar;
 
     private CleanerAvailabilityRule rule;
     private Cleaner cleaner;
 
     @BeforeEach
     void setup() {
-        rule = new CleanerAvailabilityRuleImpl(bookingRepository);
+        rule = new CleanerAvailabilityRuleImpl(workingCalendar);
 
         cleaner = new Cleaner();
         cleaner.setId(1L);
@@ -78,92 +79,38 @@ class CleanerAvailabilityRuleImplTest {
     }
 
     @Test
-    void isCleanerAvailable_shouldReturnFalse_whenMultipleBookingsConflict() {
-        LocalDate date = LocalDate.now().plusDays(1);
-
-        Booking b1 = booking(1L, date.atTime(8, 0), date.atTime(10, 0));
-        Booking b2 = booking(2L, date.atTime(12, 0), date.atTime(14, 0));
-
-        // New request overlaps b2 by break buffer
-        LocalDateTime start = date.atTime(13, 50);
-        LocalDateTime end = date.atTime(15, 0);
-
-        boolean result = rule.isCleanerAvailable(cleaner, date, start, end, List.of(b1, b2));
-
-        assertFalse(result, "Should detect conflict with second booking");
-    }
-
-    @Test
-    void isCleanerAvailableForUpdate_shouldIgnoreSameBookingId() {
+    void isCleanerAvailable_shouldReturnFalse_whenCleanerIsOff() {
         LocalDate date = LocalDate.now().plusDays(1);
+        when(workingCalendar.isCleanerOff(cleaner.getId(), date)).thenReturn(true);
 
-        Booking existing = booking(100L, date.atTime(10, 0), date.atTime(12, 0));
-
-        when(bookingRepository.findByCleanerAndDate(cleaner, date))
-                .thenReturn(List.of(existing));
-
-        // Updating same booking → must ignore conflict
-        LocalDateTime newStart = date.atTime(11, 0);
-        LocalDateTime newEnd = date.atTime(13, 0);
-
-        boolean result = rule.isCleanerAvailableForUpdate(
-                cleaner,
-                100L,
-                date,
-                newStart,
-                newEnd
-        );
+        boolean result = rule.isCleanerAvailable(cleaner, date, date.atTime(10, 0), date.atTime(12, 0), List.of());
 
-        assertTrue(result, "Same booking ID must be ignored during update");
+        assertFalse(result, "Should reject a cleaner on a day off even without bookings");
     }
 
     @Test
-    void isCleanerAvailableForUpdate_shouldReturnFalse_whenConflictingOtherBooking() {
+    void isCleanerAvailable_shouldReturnFalse_whenSlotOutsideOwnShift() {
         LocalDate date = LocalDate.now().plusDays(1);
+        cleaner.setWorkEnd(LocalTime.of(16, 0));
 
-        Booking currentBooking = booking(100L, date.atTime(9, 0), date.atTime(11, 0));
-        Booking anotherBooking = booking(200L, date.atTime(12, 0), date.atTime(14, 0));
+        boolean result = rule.isCleanerAvailable(cleaner, date, date.atTime(15, 0), date.atTime(17, 0), List.of());
 
-        when(bookingRepository.findByCleanerAndDate(cleaner, date))
-                .thenReturn(List.of(currentBooking, anotherBooking));
-
-        // New time overlaps booking 200 → should return false
-        LocalDateTime newStart = date.atTime(13, 50);
-        LocalDateTime newEnd = date.atTime(15, 0);
-
-        boolean result = rule.isCleanerAvailableForUpdate(
-                cleaner,
-                100L,      // Updating booking 100
-                date,
-                newStart,
-                newEnd
-        );
-
-        assertFalse(result, "Should detect conflict with another booking during update");
+        assertFalse(result, "Should reject a slot ending after the cleaner's shift");
     }
 
     @Test
-    void isCleanerAvailableForUpdate_shouldReturnTrue_whenNoConflicts() {
+    void isCleanerAvailable_shouldReturnFalse_whenMultipleBookingsConflict() {
         LocalDate date = LocalDate.now().plusDays(1);
 
-        Booking b1 = booking(11L, date.atTime(8, 0), date.atTime(10, 0));
-        Booking b2 = booking(12L, date.atTime(14, 0), date.atTime(16, 0));
-
-        when(bookingRepository.findByCleanerAndDate(cleaner, date))
-                .thenReturn(List.of(b1, b2));
+        Booking b1 = booking(1L, date.atTime(8, 0), date.atTime(10, 0));
+        Booking b2 = booking(2L, date.atTime(12, 0), date.atTime(14, 0));
 
-        // New request sits between two bookings peacefully
-        LocalDateTime newStart = date.atTime(10, 30);
-        LocalDateTime newEnd = date.atTime(12, 30);
+        // New request overlaps b2 by break buffer
+        LocalDateTime start = date.atTime(13, 50);
+        LocalDateTime end = date.atTime(15, 0);
 
-        boolean result = rule.isCleanerAvailableForUpdate(
-                cleaner,
-                999L,  // Updating unrelated booking
-                date,
-                newStart,
-                newEnd
-        );
+        boolean result = rule.isCleanerAvailable(cleaner, date, start, end, List.of(b1, b2));
 
-        assertTrue(result, "Should allow update because no conflict occurs");
+        assertFalse(result, "Should detect conflict with second booking");
     }
 }
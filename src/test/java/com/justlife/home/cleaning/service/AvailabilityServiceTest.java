@@ -1,29 +1,51 @@
 package com.justlife.home.cleaning.service;
 
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendarImpl;
+import com.justlife.home.cleaning.availability.parallel.ParallelEvaluator;
+import com.justlife.home.cleaning.availability.roster.RosterIndex;
 import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
+import com.justlife.home.cleaning.availability.strategy.CleanerAssignmentStrategy;
+import com.justlife.home.cleaning.availability.strategy.SameVehicleAssignmentStrategy;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCache;
 import com.justlife.home.cleaning.availability.windows.FreeWindowCalculator;
+import com.justlife.home.cleaning.config.AvailabilityEvaluationProperties;
+import com.justlife.home.cleaning.config.CalendarProperties;
+import com.justlife.home.cleaning.dto.AvailabilityFilterDTO;
 import com.justlife.home.cleaning.dto.CleanerAvailabilityDTO;
+import com.justlife.home.cleaning.dto.SlotAvailabilityDTO;
+import com.justlife.home.cleaning.dto.SlotQueryDTO;
 import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.dto.ZoneAvailabilityDTO;
 import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.CleanerDayOff;
+import com.justlife.home.cleaning.entity.Holiday;
 import com.justlife.home.cleaning.entity.Vehicle;
 import com.justlife.home.cleaning.enums.ApplicationErrorCode;
 import com.justlife.home.cleaning.enums.BookingErrorCode;
 import com.justlife.home.cleaning.exception.BookingValidationException;
 import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerDayOffRepository;
 import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.repository.HolidayRepository;
 import com.justlife.home.cleaning.service.impl.AvailabilityServiceImpl;
+import com.justlife.home.cleaning.service.impl.FleetAvailabilityServiceImpl;
+import com.justlife.home.cleaning.validation.BookingValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,15 +65,39 @@ class AvailabilityServiceTest {
     @Mock
     private FreeWindowCalculator freeWindowCalculator;
 
+    @Mock
+    private BookingValidator bookingValidator;
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @Mock
+    private CleanerDayOffRepository cleanerDayOffRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final CleanerAssignmentStrategy assignmentStrategy = new SameVehicleAssignmentStrategy();
+
     private AvailabilityServiceImpl availabilityService;
+    private RosterIndex rosterIndex;
+    private FreeWindowCache freeWindowCache;
 
     @BeforeEach
     void setUp() {
+        rosterIndex = new RosterIndex(cleanerRepository, eventPublisher);
+        freeWindowCache = new FreeWindowCache(freeWindowCalculator);
         availabilityService = new AvailabilityServiceImpl(
-                cleanerRepository,
+                rosterIndex,
                 bookingRepository,
                 cleanerAvailabilityRule,
-                freeWindowCalculator
+                freeWindowCalculator,
+                freeWindowCache,
+                assignmentStrategy,
+                bookingValidator,
+                new WorkingCalendarImpl(holidayRepository, cleanerDayOffRepository,
+                        new CalendarProperties(), eventPublisher),
+                new ParallelEvaluator(new ForkJoinPool(2), new AvailabilityEvaluationProperties())
         );
     }
 
@@ -68,9 +114,13 @@ class AvailabilityServiceTest {
         v.setId(10L);
         v.setName("Vehicle-1");
 
+        return createCleaner(1L, v);
+    }
+
+    private Cleaner createCleaner(long id, Vehicle v) {
         Cleaner c = new Cleaner();
-        c.setId(1L);
-        c.setName("Cleaner-1");
+        c.setId(id);
+        c.setName("Cleaner-" + id);
         c.setVehicle(v);
         return c;
     }
@@ -81,8 +131,8 @@ class AvailabilityServiceTest {
 
         Cleaner cleaner = createCleaner();
 
-        when(cleanerRepository.findAll()).thenReturn(List.of(cleaner));
-        when(bookingRepository.findByDate(date)).thenReturn(Collections.emptyList());
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(cleaner));
+        when(bookingRepository.findByDateWithCleaners(date)).thenReturn(Collections.emptyList());
 
         TimeWindowDTO window = new TimeWindowDTO(LocalTime.of(9, 0), LocalTime.of(11, 0));
         when(freeWindowCalculator.computeFreeWindows(cleaner, date, Collections.emptyList()))
@@ -136,6 +186,33 @@ class AvailabilityServiceTest {
         verifyNoInteractions(cleanerRepository);
     }
 
+    @Test
+    void getAvailableCleaners_shouldReturnEmpty_onHoliday() {
+        LocalDate date = futureNonFriday();
+
+        when(holidayRepository.findByHolidayDateBetween(any(), any()))
+                .thenReturn(List.of(Holiday.builder().holidayDate(date).name("National Day").build()));
+
+        List<?> result = availabilityService.getAvailableCleaners(date, LocalTime.of(10, 0), 2);
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(cleanerRepository, bookingRepository);
+    }
+
+    @Test
+    void getAvailableCleaners_shouldSkipCleanerOnDayOff_withoutReadingBookings() {
+        LocalDate date = futureNonFriday();
+        Cleaner cleaner = createCleaner();
+
+        when(cleanerDayOffRepository.findByDayOffDateBetween(any(), any()))
+                .thenReturn(List.of(CleanerDayOff.builder().cleanerId(cleaner.getId()).dayOffDate(date).build()));
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(cleaner));
+
+        var result = availabilityService.getAvailableCleaners(date, LocalTime.of(10, 0), 2);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(bookingRepository, cleanerAvailabilityRule);
+    }
+
     @Test
     void getAvailableCleaners_shouldReturnCleaner_whenRuleAllows() {
         LocalDate date = futureNonFriday();
@@ -144,9 +221,8 @@ class AvailabilityServiceTest {
 
         Cleaner cleaner = createCleaner();
 
-        when(cleanerRepository.findAll()).thenReturn(List.of(cleaner));
-        when(bookingRepository.findByCleanerAndDate(eq(cleaner), eq(date)))
-                .thenReturn(Collections.emptyList());
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(cleaner));
+        when(bookingRepository.findByDateWithCleaners(date)).thenReturn(Collections.emptyList());
 
         when(cleanerAvailabilityRule.isCleanerAvailable(
                 eq(cleaner),
@@ -161,4 +237,204 @@ class AvailabilityServiceTest {
         assertEquals(1, result.size());
         assertEquals(cleaner.getId(), result.getFirst().getCleanerId());
     }
+
+    @Test
+    void getAvailableCleaners_shouldOnlyCheckCleanersWhoseShiftCoversSlot() {
+        LocalDate date = futureNonFriday();
+
+        Vehicle v = new Vehicle();
+        v.setId(10L);
+        v.setName("Vehicle-1");
+        Cleaner morning = createCleaner(1L, v);
+        morning.setWorkEnd(LocalTime.of(13, 0));
+        Cleaner evening = createCleaner(2L, v);
+        evening.setWorkStart(LocalTime.of(13, 0));
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(morning, evening));
+        when(bookingRepository.findByDateWithCleaners(date)).thenReturn(Collections.emptyList());
+        when(cleanerAvailabilityRule.isCleanerAvailable(eq(evening), eq(date), any(), any(), anyList()))
+                .thenReturn(true);
+
+        var result = availabilityService.getAvailableCleaners(date, LocalTime.of(14, 0), 2);
+
+        assertEquals(List.of(2L), result.stream().map(c -> c.getCleanerId()).toList());
+        verify(cleanerAvailabilityRule, never()).isCleanerAvailable(eq(morning), any(), any(), any(), anyList());
+    }
+
+    @Test
+    void getAvailabilityForDate_withZone_shouldOnlyUseThatZonesCleanersAndBookings() {
+        LocalDate date = futureNonFriday();
+
+        Vehicle marina = new Vehicle();
+        marina.setId(10L);
+        marina.setName("Vehicle-1");
+        marina.setZone("MARINA");
+        Vehicle deira = new Vehicle();
+        deira.setId(20L);
+        deira.setName("Vehicle-2");
+        deira.setZone("DEIRA");
+        Cleaner inZone = createCleaner(1L, marina);
+        Cleaner otherZone = createCleaner(2L, deira);
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(inZone, otherZone));
+        when(bookingRepository.findByZoneAndDateWithCleaners("MARINA", date)).thenReturn(Collections.emptyList());
+        when(freeWindowCalculator.computeFreeWindows(inZone, date, Collections.emptyList()))
+                .thenReturn(List.of(new TimeWindowDTO(LocalTime.of(8, 0), LocalTime.of(22, 0))));
+
+        List<CleanerAvailabilityDTO> result = availabilityService.getAvailabilityForDate(date, "MARINA");
+
+        assertEquals(List.of(1L), result.stream().map(CleanerAvailabilityDTO::getCleanerId).toList());
+        verify(freeWindowCalculator, never()).computeFreeWindows(eq(otherZone), any(), any());
+        verify(bookingRepository, never()).findByDateWithCleaners(any());
+    }
+
+    @Test
+    void fleetAvailability_shouldEvaluateZonesInParallel_andMergeTheirViewsInTheCache() {
+        LocalDate date = futureNonFriday();
+
+        List<Cleaner> cleaners = new ArrayList<>();
+        List<String> zones = List.of("DEIRA", "JLT", "MARINA");
+        for (int i = 0; i < zones.size(); i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setId(10L * (i + 1));
+            vehicle.setName("Vehicle-" + (i + 1));
+            vehicle.setZone(zones.get(i));
+            cleaners.add(createCleaner(i + 1, vehicle));
+        }
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(cleaners);
+        when(bookingRepository.findByZoneAndDateWithCleaners(anyString(), eq(date))).thenReturn(List.of());
+        when(freeWindowCalculator.computeFreeWindows(any(Cleaner.class), eq(date), eq(List.of())))
+                .thenReturn(List.of(new TimeWindowDTO(LocalTime.of(8, 0), LocalTime.of(22, 0))));
+
+        // MARINA is already cached when the fleet is evaluated
+        availabilityService.getAvailabilityForDate(date, "MARINA");
+
+        FleetAvailabilityService fleetService =
+                new FleetAvailabilityServiceImpl(availabilityService, rosterIndex, new ForkJoinPool(3));
+        List<ZoneAvailabilityDTO> fleet = fleetService.getFleetAvailability(date);
+
+        assertEquals(zones, fleet.stream().map(ZoneAvailabilityDTO::getZone).toList());
+        for (int i = 0; i < zones.size(); i++) {
+            assertEquals(List.of(i + 1L),
+                    fleet.get(i).getCleaners().stream().map(CleanerAvailabilityDTO::getCleanerId).toList());
+        }
+        verify(bookingRepository, times(1)).findByZoneAndDateWithCleaners("MARINA", date);
+        verify(bookingRepository, times(1)).findByZoneAndDateWithCleaners("DEIRA", date);
+        verify(bookingRepository, times(1)).findByZoneAndDateWithCleaners("JLT", date);
+
+        // the zone views were merged, not overwritten: the whole fleet is now served from the cache
+        assertEquals(Set.of(1L, 2L, 3L), freeWindowCache.get(date).orElseThrow().keySet());
+        assertEquals(3, availabilityService.getAvailabilityForDate(date).size());
+        verify(bookingRepository, never()).findByDateWithCleaners(any());
+    }
+
+    @Test
+    void getAvailabilityForDate_withFilter_shouldSkipOtherVehicles_andStopOnceThePageIsFull() {
+        LocalDate date = futureNonFriday();
+
+        Vehicle v1 = new Vehicle();
+        v1.setId(10L);
+        v1.setName("Vehicle-1");
+        Vehicle v2 = new Vehicle();
+        v2.setId(20L);
+        v2.setName("Vehicle-2");
+        Cleaner shortOnly = createCleaner(1L, v1);
+        Cleaner withLongWindow = createCleaner(2L, v1);
+        Cleaner notReached = createCleaner(3L, v1);
+        Cleaner otherVehicle = createCleaner(4L, v2);
+
+        TimeWindowDTO shortWindow = new TimeWindowDTO(LocalTime.of(9, 0), LocalTime.of(11, 0));
+        TimeWindowDTO longWindow = new TimeWindowDTO(LocalTime.of(12, 0), LocalTime.of(16, 0));
+
+        when(cleanerRepository.findAllWithVehicle())
+                .thenReturn(List.of(shortOnly, withLongWindow, notReached, otherVehicle));
+        when(bookingRepository.findByVehiclesAndDateWithCleaners(Set.of(10L), date)).thenReturn(List.of());
+        when(freeWindowCalculator.computeFreeWindows(shortOnly, date, List.of())).thenReturn(List.of(shortWindow));
+        when(freeWindowCalculator.computeFreeWindows(withLongWindow, date, List.of()))
+                .thenReturn(List.of(shortWindow, longWindow));
+
+        List<CleanerAvailabilityDTO> result = availabilityService.getAvailabilityForDate(date,
+                AvailabilityFilterDTO.builder().vehicleIds(List.of(10L)).minWindowHours(4).limit(1).build());
+
+        assertEquals(List.of(2L), result.stream().map(CleanerAvailabilityDTO::getCleanerId).toList());
+        assertEquals(List.of(longWindow), result.getFirst().getAvailableWindows());
+        verify(freeWindowCalculator, never()).computeFreeWindows(eq(notReached), any(), any());
+        verify(freeWindowCalculator, never()).computeFreeWindows(eq(otherVehicle), any(), any());
+        verify(bookingRepository, never()).findByDateWithCleaners(any());
+    }
+
+    @Test
+    void getAvailabilityForDate_withFilter_shouldRejectInvalidPage() {
+        AvailabilityFilterDTO filter = AvailabilityFilterDTO.builder().page(-1).limit(10).build();
+
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> availabilityService.getAvailabilityForDate(futureNonFriday(), filter));
+
+        assertEquals(BookingErrorCode.INVALID_PAGE.getCode(), ex.getErrorCode());
+        verifyNoInteractions(cleanerRepository, bookingRepository);
+    }
+
+    @Test
+    void getAvailabilityForDate_withFilter_shouldRejectLaterPageWithoutLimit() {
+        AvailabilityFilterDTO filter = AvailabilityFilterDTO.builder().page(1).build();
+
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> availabilityService.getAvailabilityForDate(futureNonFriday(), filter));
+
+        assertEquals(BookingErrorCode.INVALID_PAGE.getCode(), ex.getErrorCode());
+        verifyNoInteractions(cleanerRepository, bookingRepository);
+    }
+
+    @Test
+    void checkSlots_shouldLoadEachDateOnce_andReportPerQuery() {
+        LocalDate date = futureNonFriday();
+
+        Vehicle v = new Vehicle();
+        v.setId(10L);
+        v.setName("Vehicle-1");
+        Cleaner c1 = createCleaner(1L, v);
+        Cleaner c2 = createCleaner(2L, v);
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(c1, c2));
+        when(bookingRepository.findByDateWithCleaners(date)).thenReturn(Collections.emptyList());
+        when(cleanerAvailabilityRule.isCleanerAvailable(any(), eq(date), any(), any(), anyList()))
+                .thenReturn(true);
+
+        List<SlotAvailabilityDTO> result = availabilityService.checkSlots(List.of(
+                new SlotQueryDTO(date, LocalTime.of(10, 0), 2, 2),
+                new SlotQueryDTO(date, LocalTime.of(14, 0), 4, 3)
+        ));
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).isAvailable());
+        assertEquals(10L, result.get(0).getVehicleId());
+        assertEquals(List.of(1L, 2L), result.get(0).getCleanerIds());
+
+        // only two cleaners in the vehicle → a team of three cannot be formed
+        assertFalse(result.get(1).isAvailable());
+        assertEquals(ApplicationErrorCode.NO_VEHICLE_WITH_REQUIRED_CLEANERS.getCode(),
+                result.get(1).getErrorCode());
+
+        verify(cleanerRepository, times(1)).findAllWithVehicle();
+        verify(bookingRepository, times(1)).findByDateWithCleaners(date);
+        verify(bookingRepository, never()).findByCleanerAndDate(any(), any());
+    }
+
+    @Test
+    void checkSlots_shouldReportValidationErrors_withoutLoadingBookings() {
+        LocalDate date = futureNonFriday();
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(createCleaner()));
+        doThrow(new BookingValidationException(BookingErrorCode.INVALID_DURATION))
+                .when(bookingValidator).validate(any(), any(), anyInt());
+
+        List<SlotAvailabilityDTO> result = availabilityService.checkSlots(List.of(
+                new SlotQueryDTO(date, LocalTime.of(10, 0), 3, 1)
+        ));
+
+        assertFalse(result.getFirst().isAvailable());
+        assertEquals(BookingErrorCode.INVALID_DURATION.getCode(), result.getFirst().getErrorCode());
+        verifyNoInteractions(bookingRepository);
+    }
 }
@@ -0,0 +1,91 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.config.ArchivalProperties;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.projection.BookingKeyView;
+import com.justlife.home.cleaning.service.archival.BookingArchivalJob;
+import com.justlife.home.cleaning.service.archival.BookingArchiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingArchivalJobTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingArchiver bookingArchiver;
+
+    private BookingArchivalJob job;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        ArchivalProperties properties = new ArchivalProperties();
+        properties.setBatchSize(2);
+        properties.setPauseBetweenBatches(Duration.ZERO);
+
+        job = new BookingArchivalJob(bookingRepository, bookingArchiver, properties);
+    }
+
+    private BookingKeyView key(long id, LocalDateTime start) {
+        return new BookingKeyView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStartDateTime() {
+                return start;
+            }
+        };
+    }
+
+    @Test
+    void archiveBefore_shouldWalkKeysetPages_inSmallBatches() {
+        LocalDateTime t1 = LocalDateTime.of(2024, 6, 1, 10, 0);
+        LocalDateTime t2 = LocalDateTime.of(2024, 6, 2, 10, 0);
+
+        when(bookingRepository.findArchivableKeys(cutoff, Limit.of(2)))
+                .thenReturn(List.of(key(5L, t1), key(3L, t2)));
+        when(bookingRepository.findArchivableKeysAfter(cutoff, t2, 3L, Limit.of(2)))
+                .thenReturn(List.of(key(9L, t2)));
+
+        when(bookingArchiver.archiveBatch(List.of(5L, 3L))).thenReturn(2);
+        when(bookingArchiver.archiveBatch(List.of(9L))).thenReturn(1);
+
+        int archived = job.archiveBefore(cutoff);
+
+        assertEquals(3, archived);
+        verify(bookingArchiver, times(2)).archiveBatch(anyList());
+    }
+
+    @Test
+    void archiveBefore_shouldContinue_whenOneBatchFails() {
+        LocalDateTime t1 = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+        when(bookingRepository.findArchivableKeys(cutoff, Limit.of(2)))
+                .thenReturn(List.of(key(1L, t1), key(2L, t1)));
+        when(bookingRepository.findArchivableKeysAfter(cutoff, t1, 2L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        when(bookingArchiver.archiveBatch(List.of(1L, 2L))).thenThrow(new IllegalStateException("lock timeout"));
+
+        assertEquals(0, job.archiveBefore(cutoff));
+        verify(bookingRepository).findArchivableKeysAfter(cutoff, t1, 2L, Limit.of(2));
+    }
+}
@@ -3,18 +3,34 @@ package com.justlife.home.cleaning.service;
 import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
 import com.justlife.home.cleaning.availability.strategy.CleanerAssignmentStrategy;
 import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.BookingSearchCriteriaDTO;
+import com.justlife.home.cleaning.dto.BookingSearchPageDTO;
 import com.justlife.home.cleaning.dto.CleanerDTO;
 import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.dto.CreateRecurringBookingRequestDTO;
+import com.justlife.home.cleaning.dto.RecurringBookingResponseDTO;
 import com.justlife.home.cleaning.dto.UpdateBookingRequestDTO;
 import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.BookingArchive;
 import com.justlife.home.cleaning.entity.Cleaner;
 import com.justlife.home.cleaning.entity.Vehicle;
 import com.justlife.home.cleaning.enums.BookingStatus;
 import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.exception.BookingValidationException;
 import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.exception.RecurrenceConflictException;
 import com.justlife.home.cleaning.exception.ResourceNotFoundException;
+import com.justlife.home.cleaning.repository.BookingArchiveRepository;
 import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.repository.batch.BookingBatchWriter;
+import com.justlife.home.cleaning.repository.projection.BookingResponseRow;
+import com.justlife.home.cleaning.repository.projection.BookingSearchRow;
 import com.justlife.home.cleaning.service.impl.BookingServiceImpl;
+import com.justlife.home.cleaning.service.schedule.CleanerScheduleGuard;
+import com.justlife.home.cleaning.utils.BookingCursor;
 import com.justlife.home.cleaning.validation.BookingValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,10 +38,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -48,6 +68,21 @@ class BookingServiceTest {
     @Mock
     private CleanerAvailabilityRule cleanerAvailabilityRule;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Mock
+    private CleanerScheduleGuard scheduleGuard;
+
+    @Mock
+    private CleanerRepository cleanerRepository;
+
+    @Mock
+    private BookingBatchWriter bookingBatchWriter;
+
     private BookingServiceImpl bookingService;
 
     @BeforeEach
@@ -57,7 +92,12 @@ class BookingServiceTest {
                 availabilityService,
                 assignmentStrategy,
                 bookingValidator,
-                cleanerAvailabilityRule
+                cleanerAvailabilityRule,
+                eventPublisher,
+                bookingArchiveRepository,
+                scheduleGuard,
+                cleanerRepository,
+                bookingBatchWriter
         );
     }
 
@@ -122,6 +162,8 @@ class BookingServiceTest {
         verify(bookingRepository).save(captor.capture());
         Booking savedBooking = captor.getValue();
         assertEquals(2, savedBooking.getCleaners().size());
+
+        verify(scheduleGuard).claim(List.of(1L, 2L), req.getStartDateTime().toLocalDate());
     }
 
     @Test
@@ -141,6 +183,104 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void createBooking_shouldOnlyLookInRequestedZone() {
+        CreateBookingRequestDTO req = createRequest();
+        req.setZone("MARINA");
+
+        when(availabilityService.getAvailableCleaners(any(), any(), anyInt(), eq("MARINA")))
+                .thenReturn(List.of());
+
+        assertThrows(NoAvailableCleanersException.class, () -> bookingService.createBooking(req));
+
+        verify(availabilityService, never()).getAvailableCleaners(any(), any(), anyInt());
+    }
+
+    private CreateRecurringBookingRequestDTO recurringRequest(int occurrences) {
+        CreateRecurringBookingRequestDTO dto = new CreateRecurringBookingRequestDTO();
+        dto.setCustomerName("John Doe");
+        dto.setCleanerCount(2);
+        dto.setDurationHours(2);
+        dto.setStartDateTime(LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0));
+        dto.setOccurrences(occurrences);
+        return dto;
+    }
+
+    @Test
+    void createRecurringBooking_shouldBookEveryOccurrence_withTeamFreeOnAll() {
+        CreateRecurringBookingRequestDTO req = recurringRequest(3);
+        LocalDate first = req.getStartDateTime().toLocalDate();
+        List<LocalDate> dates = List.of(first, first.plusWeeks(1), first.plusWeeks(2));
+
+        Vehicle v1 = new Vehicle();
+        v1.setId(10L);
+        Vehicle v2 = new Vehicle();
+        v2.setId(20L);
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(
+                cleaner(1L, v1), cleaner(2L, v1), cleaner(3L, v2), cleaner(4L, v2)));
+        when(bookingRepository.findConfirmedByVehiclesOnDates(any(), any(), any(), any())).thenReturn(List.of());
+
+        // cleaner 1 is taken in the second week, so vehicle 10 cannot serve the series
+        when(cleanerAvailabilityRule.isCleanerAvailable(any(), any(), any(), any(), anyList()))
+                .thenAnswer(invocation -> !(invocation.<Cleaner>getArgument(0).getId() == 1L
+                        && invocation.getArgument(1).equals(dates.get(1))));
+
+        when(bookingBatchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(100L + i);
+            }
+            return bookings;
+        });
+
+        RecurringBookingResponseDTO response = bookingService.createRecurringBooking(req);
+
+        assertEquals(20L, response.getVehicleId());
+        assertEquals(List.of(3L, 4L), response.getCleanerIds());
+        assertEquals(List.of(100L, 101L, 102L), response.getBookings().stream().map(BookingResponseDTO::getId).toList());
+        assertEquals(dates.get(2).atTime(10, 0), response.getBookings().get(2).getStartDateTime());
+
+        verify(bookingRepository).findConfirmedByVehiclesOnDates(
+                Set.of(10L, 20L), dates, first.atStartOfDay(), dates.get(2).plusDays(1).atStartOfDay());
+        verify(scheduleGuard).claim(List.of(3L, 4L), dates);
+        verify(eventPublisher, times(3)).publishEvent(any(BookingChangedEvent.class));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createRecurringBooking_shouldReportConflictingDates_andWriteNothing() {
+        CreateRecurringBookingRequestDTO req = recurringRequest(3);
+        LocalDate first = req.getStartDateTime().toLocalDate();
+        LocalDate second = first.plusWeeks(1);
+        LocalDate third = first.plusWeeks(2);
+
+        Vehicle v = new Vehicle();
+        v.setId(10L);
+
+        // the third week is a public holiday
+        doAnswer(invocation -> {
+            if (invocation.<LocalDateTime>getArgument(0).toLocalDate().equals(third)) {
+                throw new BookingValidationException(BookingErrorCode.NON_WORKING_DAY);
+            }
+            return null;
+        }).when(bookingValidator).validate(any(), any(), anyInt());
+
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(cleaner(1L, v), cleaner(2L, v)));
+        when(bookingRepository.findConfirmedByVehiclesOnDates(any(), any(), any(), any())).thenReturn(List.of());
+        when(cleanerAvailabilityRule.isCleanerAvailable(any(), any(), any(), any(), anyList()))
+                .thenAnswer(invocation -> !(invocation.<Cleaner>getArgument(0).getId() == 2L
+                        && invocation.getArgument(1).equals(second)));
+
+        RecurrenceConflictException ex = assertThrows(
+                RecurrenceConflictException.class,
+                () -> bookingService.createRecurringBooking(req));
+
+        assertEquals(ApplicationErrorCode.RECURRENCE_CONFLICT.getCode(), ex.getErrorCode());
+        assertEquals(List.of(second, third), ex.getConflictingDates());
+        verifyNoInteractions(scheduleGuard, bookingBatchWriter, eventPublisher);
+    }
+
     @Test
     void updateBooking_shouldUpdateTimes_whenEnoughCleanersRemain() {
         Long bookingId = 100L;
@@ -167,8 +307,9 @@ class BookingServiceTest {
                 .build();
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(cleanerAvailabilityRule.isCleanerAvailableForUpdate(
-                any(), eq(bookingId), any(), any(), any()
+        when(bookingRepository.findByVehicleAndDate(10L, newStart.toLocalDate())).thenReturn(List.of(booking));
+        when(cleanerAvailabilityRule.isCleanerAvailable(
+                any(), eq(newStart.toLocalDate()), any(), any(), anyList()
         )).thenReturn(true);
 
         when(bookingRepository.save(any(Booking.class)))
@@ -207,10 +348,12 @@ class BookingServiceTest {
                 .build();
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByVehicleAndDate(10L, newStart.toLocalDate())).thenReturn(List.of());
+        when(cleanerRepository.findByVehicleId(10L)).thenReturn(List.of(c1, c2));
 
-        // Both cleaners become unavailable
-        when(cleanerAvailabilityRule.isCleanerAvailableForUpdate(
-                any(), eq(bookingId), any(), any(), any()
+        // Both cleaners become unavailable, no teammate left
+        when(cleanerAvailabilityRule.isCleanerAvailable(
+                any(), any(), any(), any(), anyList()
         )).thenReturn(false);
 
         NoAvailableCleanersException ex = assertThrows(
@@ -222,9 +365,57 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void updateBooking_shouldReplaceBusyCleaner_withFreeTeammate() {
+        Long bookingId = 100L;
+        UpdateBookingRequestDTO req = new UpdateBookingRequestDTO();
+        LocalDateTime newStart = LocalDateTime.now().plusDays(2).withHour(12).withMinute(0);
+        req.setNewStartDateTime(newStart);
+
+        Vehicle v = new Vehicle();
+        v.setId(10L);
+        v.setName("Vehicle-1");
+
+        Cleaner c1 = cleaner(1L, v);
+        Cleaner c2 = cleaner(2L, v);
+        Cleaner c3 = cleaner(3L, v);
+
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .startDateTime(LocalDateTime.now().plusDays(1).withHour(10))
+                .endDateTime(LocalDateTime.now().plusDays(1).withHour(12))
+                .durationHours(2)
+                .requiredCleanerCount(2)
+                .customerName("John Doe")
+                .status(BookingStatus.CONFIRMED)
+                .cleaners(List.of(c1, c2))
+                .build();
+
+        // c2 already works at the new time
+        Booking other = Booking.builder()
+                .id(200L)
+                .startDateTime(newStart)
+                .endDateTime(newStart.plusHours(2))
+                .cleaners(List.of(c2))
+                .build();
+
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByVehicleAndDate(10L, newStart.toLocalDate())).thenReturn(List.of(other));
+        when(cleanerRepository.findByVehicleId(10L)).thenReturn(List.of(c1, c2, c3));
+        when(cleanerAvailabilityRule.isCleanerAvailable(any(), any(), any(), any(), anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(4)).isEmpty());
+        when(bookingRepository.save(any(Booking.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingResponseDTO response = bookingService.updateBooking(bookingId, req);
+
+        assertEquals(List.of(1L, 3L), response.getCleanerIds());
+        verify(bookingRepository, times(1)).findByVehicleAndDate(any(), any());
+    }
+
     @Test
     void getBooking_shouldThrow_whenNotFound() {
-        when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.findResponseRowsById(1L)).thenReturn(List.of());
 
         ResourceNotFoundException ex = assertThrows(
                 ResourceNotFoundException.class,
@@ -234,4 +425,118 @@ class BookingServiceTest {
         //ApplicationErrorCode.BOOKING_NOT_FOUND
         assertEquals(ApplicationErrorCode.BOOKING_NOT_FOUND.getCode(), ex.getErrorCode());
     }
+
+    @Test
+    void getBooking_shouldFoldProjectionRows() {
+        LocalDateTime start = LocalDateTime.of(2025, 12, 4, 10, 0);
+
+        when(bookingRepository.findResponseRowsById(5L)).thenReturn(List.of(
+                new BookingResponseRow(5L, start, start.plusHours(2), 2, 2, "John Doe", BookingStatus.CONFIRMED, 3L, 1L),
+                new BookingResponseRow(5L, start, start.plusHours(2), 2, 2, "John Doe", BookingStatus.CONFIRMED, 4L, 1L)
+        ));
+
+        BookingResponseDTO response = bookingService.getBooking(5L);
+
+        assertEquals(5L, response.getId());
+        assertEquals(start, response.getStartDateTime());
+        assertEquals(List.of(3L, 4L), response.getCleanerIds());
+        assertEquals(1L, response.getVehicleId());
+        verifyNoInteractions(bookingArchiveRepository);
+    }
+
+    @Test
+    void getBooking_shouldFallBackToArchive_whenNotInLiveTables() {
+        BookingArchive archived = BookingArchive.builder()
+                .id(7L)
+                .startDateTime(LocalDateTime.of(2024, 1, 10, 10, 0))
+                .endDateTime(LocalDateTime.of(2024, 1, 10, 12, 0))
+                .durationHours(2)
+                .requiredCleanerCount(2)
+                .customerName("John Doe")
+                .status(BookingStatus.CONFIRMED)
+                .vehicleId(3L)
+                .cleanerIds(List.of(11L, 12L))
+                .build();
+
+        when(bookingRepository.findResponseRowsById(7L)).thenReturn(List.of());
+        when(bookingArchiveRepository.findWithCleanersById(7L)).thenReturn(Optional.of(archived));
+
+        BookingResponseDTO response = bookingService.getBooking(7L);
+
+        assertEquals(7L, response.getId());
+        assertEquals(3L, response.getVehicleId());
+        assertEquals(List.of(11L, 12L), response.getCleanerIds());
+    }
+
+    // -------------------------------------------------------------------------
+    // SEARCH
+    // -------------------------------------------------------------------------
+
+    private BookingSearchRow searchRow(long id, LocalDateTime start) {
+        return new BookingSearchRow(id, start, start.plusHours(2), 2, 1, "John Doe", BookingStatus.CONFIRMED, 10L);
+    }
+
+    @Test
+    void searchBookings_firstPage_shouldSeekFromRangeStart_andReturnCursorWhenMoreRowsExist() {
+        LocalDate from = LocalDate.of(2030, 1, 7);
+        LocalDate to = LocalDate.of(2030, 1, 13);
+        BookingSearchRow first = searchRow(1L, from.atTime(10, 0));
+        BookingSearchRow second = searchRow(2L, from.atTime(14, 0));
+        BookingSearchRow extra = searchRow(3L, from.plusDays(1).atTime(10, 0));
+
+        when(bookingRepository.search(from.atStartOfDay(), 0L, to.plusDays(1).atStartOfDay(),
+                "John", null, null, Limit.of(3)))
+                .thenReturn(List.of(first, second, extra));
+
+        BookingSearchPageDTO page = bookingService.searchBookings(BookingSearchCriteriaDTO.builder()
+                .from(from).to(to).customerName(" John ").limit(2).build());
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(i -> i.getId()).toList());
+        assertEquals(BookingCursor.encode(second.startDateTime(), 2L), page.getNextCursor());
+    }
+
+    @Test
+    void searchBookings_withCursor_shouldContinueAfterLastRow_andEndOnShortPage() {
+        LocalDate from = LocalDate.of(2030, 1, 7);
+        LocalDate to = LocalDate.of(2030, 1, 13);
+        LocalDateTime lastStart = from.atTime(14, 0);
+
+        when(bookingRepository.search(lastStart, 42L, to.plusDays(1).atStartOfDay(),
+                null, BookingStatus.CONFIRMED, 10L, Limit.of(3)))
+                .thenReturn(List.of(searchRow(43L, from.plusDays(1).atTime(9, 0))));
+
+        BookingSearchPageDTO page = bookingService.searchBookings(BookingSearchCriteriaDTO.builder()
+                .from(from).to(to).status(BookingStatus.CONFIRMED).vehicleId(10L)
+                .cursor(BookingCursor.encode(lastStart, 42L)).limit(2).build());
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchBookings_shouldMatchWildcardsInCustomerNameLiterally() {
+        LocalDate from = LocalDate.of(2030, 1, 7);
+        LocalDate to = LocalDate.of(2030, 1, 13);
+
+        when(bookingRepository.search(from.atStartOfDay(), 0L, to.plusDays(1).atStartOfDay(),
+                "50!%!_off!!", null, null, Limit.of(11)))
+                .thenReturn(List.of());
+
+        BookingSearchPageDTO page = bookingService.searchBookings(BookingSearchCriteriaDTO.builder()
+                .from(from).to(to).customerName("50%_off!").limit(10).build());
+
+        assertTrue(page.getItems().isEmpty());
+    }
+
+    @Test
+    void searchBookings_shouldRejectInvalidCursor() {
+        BookingSearchCriteriaDTO criteria = BookingSearchCriteriaDTO.builder()
+                .from(LocalDate.of(2030, 1, 7)).to(LocalDate.of(2030, 1, 13)).cursor("not-a-cursor").limit(10).build();
+
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> bookingService.searchBookings(criteria));
+
+        assertEquals(BookingErrorCode.INVALID_SEARCH.getCode(), ex.getErrorCode());
+        verifyNoInteractions(bookingRepository);
+    }
 }
@@ -0,0 +1,252 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.availability.packing.DayRepacker;
+import com.justlife.home.cleaning.availability.packing.PackingScore;
+import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRule;
+import com.justlife.home.cleaning.config.RepackingProperties;
+import com.justlife.home.cleaning.dto.RepackingChangeDTO;
+import com.justlife.home.cleaning.dto.RepackingProposalDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.exception.BookingConflictException;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.service.impl.RepackingServiceImpl;
+import com.justlife.home.cleaning.service.schedule.CleanerScheduleGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepackingServiceTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(7);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CleanerRepository cleanerRepository;
+
+    @Mock
+    private CleanerAvailabilityRule cleanerAvailabilityRule;
+
+    @Mock
+    private CleanerScheduleGuard scheduleGuard;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DayRepacker dayRepacker;
+
+    private RepackingService repackingService;
+    private Cleaner first;
+    private Cleaner second;
+
+    @BeforeEach
+    void setUp() {
+        repackingService = new RepackingServiceImpl(bookingRepository, cleanerRepository, cleanerAvailabilityRule,
+                scheduleGuard, eventPublisher, dayRepacker, new RepackingProperties());
+
+        Vehicle vehicle = Vehicle.builder().id(5L).name("Vehicle-5").build();
+        first = Cleaner.builder().id(1L).name("C1").vehicle(vehicle).build();
+        second = Cleaner.builder().id(2L).name("C2").vehicle(vehicle).build();
+    }
+
+    private Booking booking(long id, String start, String end, Cleaner cleaner) {
+        return Booking.builder()
+                .id(id)
+                .startDateTime(date.atTime(LocalTime.parse(start)))
+                .endDateTime(date.atTime(LocalTime.parse(end)))
+                .cleaners(new ArrayList<>(List.of(cleaner)))
+                .build();
+    }
+
+    private RepackingProposalDTO moveSecondBookingToFirstCleaner() {
+        return RepackingProposalDTO.builder()
+                .date(date)
+                .changes(List.of(RepackingChangeDTO.builder()
+                        .bookingId(2L)
+                        .vehicleId(5L)
+                        .startDateTime(date.atTime(10, 30))
+                        .fromCleanerIds(List.of(2L))
+                        .toCleanerIds(List.of(1L))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void propose_shouldRejectDatesThatAreNotInTheFuture() {
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> repackingService.propose(LocalDate.now()));
+
+        assertEquals(BookingErrorCode.INVALID_REPACKING_DATE.getCode(), ex.getErrorCode());
+        verifyNoInteractions(bookingRepository, dayRepacker);
+    }
+
+    @Test
+    void propose_shouldListOnlyBookingsWhoseCleanersChange() {
+        List<Booking> bookings = List.of(booking(1, "08:00", "10:00", first), booking(2, "10:30", "12:30", second));
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(first, second));
+        when(bookingRepository.findByDateWithCleaners(date)).thenReturn(bookings);
+        when(dayRepacker.repack(eq(date), eq(List.of(first, second)), eq(bookings), any(), any()))
+                .thenReturn(new DayRepacker.Result(
+                        new PackingScore(1350, 1530, 0),
+                        new PackingScore(1380, 1380, 0),
+                        Map.of(1L, Set.of(1L), 2L, Set.of(1L))));
+
+        RepackingProposalDTO proposal = repackingService.propose(date);
+
+        assertEquals(1350, proposal.getSellableMinutesBefore());
+        assertEquals(1380, proposal.getSellableMinutesAfter());
+        assertEquals(moveSecondBookingToFirstCleaner().getChanges(), proposal.getChanges());
+    }
+
+    @Test
+    void apply_shouldReassignCleaners_claimTheirSchedules_andPublishUpdates() {
+        Booking moved = booking(2, "10:30", "12:30", second);
+        when(bookingRepository.findByDateWithCleaners(date))
+                .thenReturn(List.of(booking(1, "08:00", "10:00", first), moved));
+        when(cleanerRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(cleanerAvailabilityRule.isCleanerAvailable(eq(first), eq(date), any(), any(), any())).thenReturn(true);
+        when(bookingRepository.save(moved)).thenReturn(moved);
+
+        repackingService.apply(moveSecondBookingToFirstCleaner());
+
+        assertEquals(List.of(first), moved.getCleaners());
+        assertEquals(date.atTime(10, 30), moved.getStartDateTime());
+        verify(scheduleGuard).claim(Set.of(1L, 2L), date);
+
+        ArgumentCaptor<BookingChangedEvent> event = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(BookingChangeType.UPDATED, event.getValue().getChangeType());
+        assertEquals(second.getVehicle().getId(), event.getValue().getVehicleId());
+        assertEquals(List.of(2L), event.getValue().getPrevious().getCleanerIds());
+        assertEquals(List.of(1L), event.getValue().getCurrent().getCleanerIds());
+    }
+
+    @Test
+    void apply_shouldRejectWholeProposal_whenABookingChangedSince() {
+        Cleaner other = Cleaner.builder().id(3L).name("C3").vehicle(first.getVehicle()).build();
+        when(bookingRepository.findByDateWithCleaners(date))
+                .thenReturn(List.of(booking(2, "10:30", "12:30", other)));
+
+        BookingConflictException ex = assertThrows(BookingConflictException.class,
+                () -> repackingService.apply(moveSecondBookingToFirstCleaner()));
+
+        assertEquals(ApplicationErrorCode.REPACKING_STALE.getCode(), ex.getErrorCode());
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(scheduleGuard, eventPublisher);
+    }
+
+    @Test
+    void apply_shouldRejectProposal_whenItMovesABookingToAnotherVehicle() {
+        when(bookingRepository.findByDateWithCleaners(date))
+                .thenReturn(List.of(booking(2, "10:30", "12:30", second)));
+        // cleaner 3 drives vehicle 6, the booking is served by vehicle 5
+        RepackingProposalDTO proposal = RepackingProposalDTO.builder()
+                .date(date)
+                .changes(List.of(RepackingChangeDTO.builder()
+                        .bookingId(2L)
+                        .vehicleId(6L)
+                        .startDateTime(date.atTime(10, 30))
+                        .fromCleanerIds(List.of(2L))
+                        .toCleanerIds(List.of(3L))
+                        .build()))
+                .build();
+
+        BookingConflictException ex = assertThrows(BookingConflictException.class,
+                () -> repackingService.apply(proposal));
+
+        assertEquals(ApplicationErrorCode.REPACKING_STALE.getCode(), ex.getErrorCode());
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(scheduleGuard, eventPublisher);
+    }
+
+    @Test
+    void apply_shouldRejectProposal_whenATeamNamesACleanerTwice() {
+        RepackingProposalDTO proposal = RepackingProposalDTO.builder()
+                .date(date)
+                .changes(List.of(RepackingChangeDTO.builder()
+                        .bookingId(2L)
+                        .vehicleId(5L)
+                        .startDateTime(date.atTime(10, 30))
+                        .fromCleanerIds(List.of(1L, 2L))
+                        .toCleanerIds(List.of(1L, 1L))
+                        .build()))
+                .build();
+
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> repackingService.apply(proposal));
+
+        assertEquals(BookingErrorCode.INVALID_REPACKING_PROPOSAL.getCode(), ex.getErrorCode());
+        verifyNoInteractions(bookingRepository, scheduleGuard, eventPublisher);
+    }
+
+    @Test
+    void apply_shouldRejectProposal_whenABookingIsChangedTwice() {
+        RepackingChangeDTO change = moveSecondBookingToFirstCleaner().getChanges().getFirst();
+        RepackingProposalDTO proposal = RepackingProposalDTO.builder()
+                .date(date)
+                .changes(List.of(change, change))
+                .build();
+
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> repackingService.apply(proposal));
+
+        assertEquals(BookingErrorCode.INVALID_REPACKING_PROPOSAL.getCode(), ex.getErrorCode());
+        verifyNoInteractions(bookingRepository, scheduleGuard, eventPublisher);
+    }
+
+    @Test
+    void apply_shouldRejectProposal_whenTheNewTeamIsSmallerThanRequired() {
+        Booking pair = Booking.builder()
+                .id(2L)
+                .startDateTime(date.atTime(10, 30))
+                .endDateTime(date.atTime(12, 30))
+                .requiredCleanerCount(2)
+                .cleaners(new ArrayList<>(List.of(first, second)))
+                .build();
+        when(bookingRepository.findByDateWithCleaners(date)).thenReturn(List.of(pair));
+        RepackingProposalDTO proposal = RepackingProposalDTO.builder()
+                .date(date)
+                .changes(List.of(RepackingChangeDTO.builder()
+                        .bookingId(2L)
+                        .vehicleId(5L)
+                        .startDateTime(date.atTime(10, 30))
+                        .fromCleanerIds(List.of(1L, 2L))
+                        .toCleanerIds(List.of(1L))
+                        .build()))
+                .build();
+
+        BookingConflictException ex = assertThrows(BookingConflictException.class,
+                () -> repackingService.apply(proposal));
+
+        assertEquals(ApplicationErrorCode.REPACKING_STALE.getCode(), ex.getErrorCode());
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(scheduleGuard, eventPublisher);
+    }
+}
@@ -0,0 +1,88 @@
+package com.justlife.home.cleaning.service;
+
+import com.justlife.home.cleaning.config.BookingRetryProperties;
+import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.entity.CleanerSchedule;
+import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.exception.BookingConflictException;
+import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.service.impl.RetryingBookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryingBookingServiceTest {
+
+    @Mock
+    private BookingService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetryingBookingService bookingService;
+
+    private final CreateBookingRequestDTO req = new CreateBookingRequestDTO();
+
+    @BeforeEach
+    void setUp() {
+        BookingRetryProperties properties = new BookingRetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(2));
+
+        meterRegistry = new SimpleMeterRegistry();
+        bookingService = new RetryingBookingService(delegate, properties, meterRegistry);
+    }
+
+    private ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(CleanerSchedule.class, 1L);
+    }
+
+    @Test
+    void createBooking_shouldReplan_afterConflict() {
+        BookingResponseDTO booked = BookingResponseDTO.builder().id(42L).build();
+
+        when(delegate.createBooking(req))
+                .thenThrow(conflict())
+                .thenReturn(booked);
+
+        assertSame(booked, bookingService.createBooking(req));
+
+        verify(delegate, times(2)).createBooking(req);
+        assertEquals(1.0, meterRegistry.get("booking.write.conflicts").tag("operation", "create").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.write.retries").counter().count());
+    }
+
+    @Test
+    void createBooking_shouldGiveUp_afterMaxAttempts() {
+        when(delegate.createBooking(req)).thenThrow(conflict());
+
+        BookingConflictException ex = assertThrows(
+                BookingConflictException.class,
+                () -> bookingService.createBooking(req)
+        );
+
+        assertEquals(ApplicationErrorCode.BOOKING_CONFLICT.getCode(), ex.getErrorCode());
+        verify(delegate, times(3)).createBooking(req);
+        assertEquals(1.0, meterRegistry.get("booking.write.retries.exhausted").counter().count());
+    }
+
+    @Test
+    void createBooking_shouldNotRetry_businessErrors() {
+        when(delegate.createBooking(req))
+                .thenThrow(new NoAvailableCleanersException(ApplicationErrorCode.NO_CLEANERS_AVAILABLE));
+
+        assertThrows(NoAvailableCleanersException.class, () -> bookingService.createBooking(req));
+
+        verify(delegate, times(1)).createBooking(req);
+    }
+}
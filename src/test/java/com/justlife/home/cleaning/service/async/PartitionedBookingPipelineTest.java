@@ -0,0 +1,134 @@
+package com.justlife.home.cleaning.service.async;
+
+import com.justlife.home.cleaning.config.AsyncBookingProperties;
+import com.justlife.home.cleaning.dto.BookingRequestStatusDTO;
+import com.justlife.home.cleaning.dto.BookingResponseDTO;
+import com.justlife.home.cleaning.dto.CreateBookingRequestDTO;
+import com.justlife.home.cleaning.enums.ApplicationErrorCode;
+import com.justlife.home.cleaning.enums.BookingRequestState;
+import com.justlife.home.cleaning.exception.BookingQueueFullException;
+import com.justlife.home.cleaning.exception.NoAvailableCleanersException;
+import com.justlife.home.cleaning.service.BookingService;
+import com.justlife.home.cleaning.validation.BookingValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedBookingPipelineTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingValidator bookingValidator;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PartitionedBookingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        AsyncBookingProperties properties = new AsyncBookingProperties();
+        properties.setEnabled(true);
+        properties.setPartitions(1);
+        properties.setQueueCapacity(1);
+
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new PartitionedBookingPipeline(bookingService, bookingValidator, properties, meterRegistry);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    private CreateBookingRequestDTO request() {
+        return new CreateBookingRequestDTO(
+                LocalDateTime.now().plusDays(1).withHour(10).withMinute(0),
+                2,
+                2,
+                "John Doe",
+                null
+        );
+    }
+
+    private BookingRequestStatusDTO awaitFinished(String requestId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            BookingRequestStatusDTO status = pipeline.status(requestId).orElseThrow();
+            if (status.getState() == BookingRequestState.COMPLETED
+                    || status.getState() == BookingRequestState.FAILED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("request " + requestId + " did not finish in time");
+    }
+
+    @Test
+    void submit_shouldQueueAndCompleteBooking() throws Exception {
+        when(bookingService.createBooking(any()))
+                .thenReturn(BookingResponseDTO.builder().id(42L).build());
+
+        BookingRequestStatusDTO accepted = pipeline.submit(request());
+
+        assertEquals(BookingRequestState.QUEUED, accepted.getState());
+        assertEquals(PartitionedBookingPipeline.STATUS_PATH + accepted.getRequestId(), accepted.getStatusUrl());
+
+        BookingRequestStatusDTO finished = awaitFinished(accepted.getRequestId());
+
+        assertEquals(BookingRequestState.COMPLETED, finished.getState());
+        assertEquals(42L, finished.getBooking().getId());
+        assertEquals(1, meterRegistry.get("booking.pipeline.enqueue.to.commit").timer().count());
+    }
+
+    @Test
+    void submit_shouldReportFailure_whenNoCleanersAvailable() throws Exception {
+        when(bookingService.createBooking(any()))
+                .thenThrow(new NoAvailableCleanersException(ApplicationErrorCode.NO_CLEANERS_AVAILABLE));
+
+        BookingRequestStatusDTO finished = awaitFinished(pipeline.submit(request()).getRequestId());
+
+        assertEquals(BookingRequestState.FAILED, finished.getState());
+        assertEquals(ApplicationErrorCode.NO_CLEANERS_AVAILABLE.getCode(), finished.getErrorCode());
+    }
+
+    @Test
+    void submit_shouldRejectRequests_whenPartitionQueueIsFull() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(bookingService.createBooking(any())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return BookingResponseDTO.builder().id(1L).build();
+        });
+
+        pipeline.submit(request());                   // taken by the worker
+        assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+        pipeline.submit(request());                   // fills the queue (capacity 1)
+
+        BookingQueueFullException ex = assertThrows(
+                BookingQueueFullException.class,
+                () -> pipeline.submit(request())
+        );
+
+        assertEquals(ApplicationErrorCode.BOOKING_QUEUE_FULL.getCode(), ex.getErrorCode());
+        assertEquals(1.0, meterRegistry.get("booking.pipeline.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("booking.pipeline.rejected").counter().count());
+
+        release.countDown();
+    }
+}
@@ -0,0 +1,138 @@
+package com.justlife.home.cleaning.service.changefeed;
+
+import com.justlife.home.cleaning.config.ChangeFeedProperties;
+import com.justlife.home.cleaning.entity.BookingChangeLog;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.repository.BookingChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingChangeFeedTailerTest {
+
+    @Mock
+    private BookingChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ChangeFeedProperties properties = new ChangeFeedProperties();
+
+    private BookingChangeFeedTailer tailer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setNodeId("node-a");
+        tailer = new BookingChangeFeedTailer(changeLogRepository, eventPublisher, properties);
+
+        when(changeLogRepository.findMaxId()).thenReturn(10L);
+        tailer.poll();
+    }
+
+    private BookingChangeLog entry(long id, String node, LocalDateTime createdAt) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0);
+        return BookingChangeLog.builder()
+                .id(id)
+                .bookingId(100 + id)
+                .vehicleId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .originNode(node)
+                .currentStart(start)
+                .currentEnd(start.plusHours(2))
+                .currentCleanerIds("1,2")
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Test
+    void poll_shouldReplayOtherNodesChanges_andSkipOwn() {
+        LocalDateTime now = LocalDateTime.now();
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(entry(11, "node-b", now), entry(12, "node-a", now)));
+
+        tailer.poll();
+
+        ArgumentCaptor<BookingChangedEvent> captor = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(111L, captor.getValue().getBookingId());
+        assertEquals(List.of(1L, 2L), captor.getValue().getCurrent().getCleanerIds());
+        assertNull(captor.getValue().getPrevious());
+        assertEquals(12L, tailer.position());
+    }
+
+    @Test
+    void poll_shouldWaitInFrontOfRecentGap() {
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(entry(11, "node-b", LocalDateTime.now()),
+                        entry(13, "node-b", LocalDateTime.now())));
+
+        tailer.poll();
+
+        verify(eventPublisher, times(1)).publishEvent(any(BookingChangedEvent.class));
+        assertEquals(11L, tailer.position());
+    }
+
+    @Test
+    void poll_shouldSkipGap_onceThisNodeWaitedTheTimeout() {
+        properties.setGapTimeout(Duration.ZERO);
+        // timestamps of other nodes do not matter, even from a clock running ahead
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .thenReturn(List.of(entry(13, "node-b", LocalDateTime.now().plusHours(1))));
+
+        tailer.poll();
+
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        assertEquals(13L, tailer.position());
+    }
+
+    @Test
+    void poll_shouldNotReplayAnything_whenSkippedIdWasRolledBack() {
+        properties.setGapTimeout(Duration.ZERO);
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(entry(12, "node-b", LocalDateTime.now())), List.of());
+        when(changeLogRepository.findAllById(any())).thenReturn(List.of());
+
+        tailer.poll();
+        tailer.poll();
+
+        verify(changeLogRepository).findAllById(Set.of(11L));
+        verify(eventPublisher, times(1)).publishEvent(any(BookingChangedEvent.class));
+        assertEquals(12L, tailer.position());
+    }
+
+    @Test
+    void poll_shouldReplayEntryCommittingAfterItsIdWasSkipped() {
+        properties.setGapTimeout(Duration.ZERO);
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(entry(12, "node-b", LocalDateTime.now())), List.of());
+        when(changeLogRepository.findAllById(any())).thenReturn(List.of(entry(11, "node-b", LocalDateTime.now())));
+
+        tailer.poll();
+        tailer.poll();
+        tailer.poll();
+
+        ArgumentCaptor<BookingChangedEvent> captor = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(List.of(112L, 111L), captor.getAllValues().stream().map(BookingChangedEvent::getBookingId).toList());
+        // found once, so never looked up again
+        verify(changeLogRepository, times(1)).findAllById(any());
+        assertEquals(12L, tailer.position());
+    }
+}
@@ -0,0 +1,221 @@
+package com.justlife.home.cleaning.service.importing;
+
+import com.justlife.home.cleaning.availability.calendar.WorkingCalendar;
+import com.justlife.home.cleaning.availability.rules.CleanerAvailabilityRuleImpl;
+import com.justlife.home.cleaning.config.ImportProperties;
+import com.justlife.home.cleaning.config.ValidatorConfig;
+import com.justlife.home.cleaning.dto.BookingImportReportDTO;
+import com.justlife.home.cleaning.dto.RejectedImportRowDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.enums.BookingErrorCode;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.exception.BookingValidationException;
+import com.justlife.home.cleaning.repository.BookingRepository;
+import com.justlife.home.cleaning.repository.CleanerRepository;
+import com.justlife.home.cleaning.repository.batch.BookingBatchWriter;
+import com.justlife.home.cleaning.service.schedule.CleanerScheduleGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCsvImporterTest {
+
+    private static final String HEADER = "start_date_time,duration_hours,customer_name,cleaner_ids";
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private WorkingCalendar workingCalendar;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CleanerRepository cleanerRepository;
+
+    @Mock
+    private BookingBatchWriter bookingBatchWriter;
+
+    @Mock
+    private CleanerScheduleGuard scheduleGuard;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingCsvImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(2);
+
+        importer = new BookingCsvImporter(
+                new ValidatorConfig().importBookingValidator(workingCalendar),
+                new CleanerAvailabilityRuleImpl(workingCalendar),
+                bookingRepository,
+                cleanerRepository,
+                bookingBatchWriter,
+                scheduleGuard,
+                eventPublisher,
+                new TransactionTemplate(transactionManager),
+                properties);
+    }
+
+    /**
+     * Cleaners 1-3 share vehicle 1, cleaner 4 drives vehicle 2.
+     */
+    private void givenFleet() {
+        Vehicle first = Vehicle.builder().id(1L).name("Vehicle-1").build();
+        Vehicle second = Vehicle.builder().id(2L).name("Vehicle-2").build();
+        when(cleanerRepository.findAllWithVehicle()).thenReturn(List.of(
+                Cleaner.builder().id(1L).name("C1").vehicle(first).build(),
+                Cleaner.builder().id(2L).name("C2").vehicle(first).build(),
+                Cleaner.builder().id(3L).name("C3").vehicle(first).build(),
+                Cleaner.builder().id(4L).name("C4").vehicle(second).build()));
+    }
+
+    private BookingImportReportDTO importLines(String... lines) throws IOException {
+        String csv = String.join("\n", lines) + "\n";
+        return importer.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void importCsv_shouldInsertValidRowsPerChunk_andReportRejectedRows() throws IOException {
+        givenFleet();
+        when(bookingRepository.findByDateWithCleaners(MONDAY)).thenReturn(List.of());
+
+        BookingImportReportDTO report = importLines(
+                HEADER,
+                "2030-01-07T10:00,2,Alice,1",
+                "2030-01-07T11:00,2,Bob,1",              // overlaps Alice's booking of cleaner 1
+                "2030-01-07T10:00,2,\"Carol, Ltd\",2;3",
+                "not-a-date,2,Dan,1",
+                "2030-01-07T14:00,3,Erin,2",             // invalid duration
+                "2030-01-07T14:00,2,Frank,9",            // unknown cleaner
+                "2030-01-07T16:00,2,Gina,3;4");          // two vehicles
+
+        assertEquals(7, report.getRowsRead());
+        assertEquals(2, report.getImported());
+        assertEquals(5, report.getRejected());
+        assertEquals(List.of(3L, 5L, 6L, 7L, 8L),
+                report.getRejections().stream().map(RejectedImportRowDTO::getLine).toList());
+        assertEquals("Cleaner 1 is not available", report.getRejections().getFirst().getReason());
+        assertEquals(BookingErrorCode.INVALID_DURATION.getMessage(), report.getRejections().get(2).getReason());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Booking>> written = ArgumentCaptor.forClass(List.class);
+        verify(bookingBatchWriter, times(2)).insertAll(written.capture());
+        assertEquals("Alice", written.getAllValues().get(0).getFirst().getCustomerName());
+        assertEquals("Carol, Ltd", written.getAllValues().get(1).getFirst().getCustomerName());
+        assertEquals(2, written.getAllValues().get(1).getFirst().getRequiredCleanerCount());
+
+        verify(scheduleGuard).claimAll(Map.of(MONDAY, Set.of(1L)));
+        verify(scheduleGuard).claimAll(Map.of(MONDAY, Set.of(2L, 3L)));
+        verify(eventPublisher, times(2)).publishEvent(any(BookingChangedEvent.class));
+        // read once for the index, then again in each chunk transaction that writes to the date
+        verify(bookingRepository, times(3)).findByDateWithCleaners(MONDAY);
+    }
+
+    @Test
+    void importCsv_shouldRejectRow_whenApiBookingTakesItsSlotBetweenChunks() throws IOException {
+        givenFleet();
+        Booking apiBooking = Booking.builder()
+                .id(99L)
+                .startDateTime(MONDAY.atTime(14, 0))
+                .endDateTime(MONDAY.atTime(16, 0))
+                .cleaners(List.of(Cleaner.builder().id(3L).build()))
+                .build();
+        // index load and first chunk see an empty day, the API booking commits before the second chunk
+        when(bookingRepository.findByDateWithCleaners(MONDAY))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(apiBooking));
+
+        BookingImportReportDTO report = importLines(
+                HEADER,
+                "2030-01-07T10:00,2,Alice,1",
+                "2030-01-07T10:00,2,Bob,2",
+                "2030-01-07T14:00,2,Carol,3");
+
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(4L), report.getRejections().stream().map(RejectedImportRowDTO::getLine).toList());
+        assertEquals("Cleaner 3 is not available", report.getRejections().getFirst().getReason());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Booking>> written = ArgumentCaptor.forClass(List.class);
+        verify(bookingBatchWriter).insertAll(written.capture());
+        assertEquals(List.of("Alice", "Bob"),
+                written.getValue().stream().map(Booking::getCustomerName).toList());
+        verify(scheduleGuard).claimAll(Map.of(MONDAY, Set.of(1L, 2L)));
+        verify(scheduleGuard).claimAll(Map.of(MONDAY, Set.of()));
+        verify(eventPublisher, times(2)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    void importCsv_shouldRejectChunk_whenItCannotBeWritten_andReleaseItsSlots() throws IOException {
+        givenFleet();
+        when(bookingRepository.findByDateWithCleaners(MONDAY)).thenReturn(List.of());
+        when(bookingBatchWriter.insertAll(any()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingImportReportDTO report = importLines(
+                HEADER,
+                "2030-01-07T10:00,2,Alice,1",
+                "2030-01-07T10:00,2,Bob,2",
+                "2030-01-07T10:00,2,Carol,1");   // takes Alice's slot, which was never written
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertTrue(report.getRejections().stream()
+                .allMatch(r -> r.getReason().equals("Chunk could not be written: deadlock")));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importCsv_shouldRejectRow_whenDurationLeavesTheDateRange() throws IOException {
+        givenFleet();
+        when(bookingRepository.findByDateWithCleaners(MONDAY)).thenReturn(List.of());
+
+        BookingImportReportDTO report = importLines(
+                HEADER,
+                "+999999999-12-31T10:00,2147483647,Alice,1",
+                "2030-01-07T10:00,2,Bob,1");
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(2L), report.getRejections().stream().map(RejectedImportRowDTO::getLine).toList());
+        assertTrue(report.getRejections().getFirst().getReason().startsWith("Unparseable row"));
+    }
+
+    @Test
+    void importCsv_shouldRefuseFile_withoutRequiredColumns() {
+        BookingValidationException ex = assertThrows(BookingValidationException.class,
+                () -> importLines("start_date_time,customer_name", "2030-01-07T10:00,Alice"));
+
+        assertEquals(BookingErrorCode.INVALID_IMPORT_FILE.getCode(), ex.getErrorCode());
+        verifyNoInteractions(bookingBatchWriter);
+    }
+}
@@ -0,0 +1,145 @@
+package com.justlife.home.cleaning.service.outbox;
+
+import com.justlife.home.cleaning.config.OutboxProperties;
+import com.justlife.home.cleaning.entity.OutboxMessage;
+import com.justlife.home.cleaning.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxMessageRepository outboxRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setConcurrency(1);
+        properties.setMaxAttempts(3);
+        properties.setRetryBackoff(Duration.ofSeconds(1));
+
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxRepository, sink, new TransactionTemplate(transactionManager),
+                properties, meterRegistry);
+        relay.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    private OutboxMessage message(long id) {
+        return OutboxMessage.builder()
+                .id(id)
+                .aggregateId(100 + id)
+                .eventType("BOOKING_CREATED")
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void drain_shouldDeliverBatchesUntilEmpty_andMarkThemPublished() {
+        List<OutboxMessage> first = List.of(message(1), message(2));
+        List<OutboxMessage> second = List.of(message(3));
+        when(outboxRepository.lockPending(any(), eq(2))).thenReturn(first, second);
+
+        relay.drain();
+
+        verify(sink).deliver(first);
+        verify(sink).deliver(second);
+        assertTrue(first.stream().allMatch(m -> m.getPublishedAt() != null));
+        assertNotNull(second.getFirst().getPublishedAt());
+        assertEquals(3.0, meterRegistry.get("booking.outbox.delivered").counter().count());
+    }
+
+    @Test
+    void drain_shouldBackOffFailedMessages_whenSinkFails() {
+        List<OutboxMessage> batch = List.of(message(1), message(2));
+        when(outboxRepository.lockPending(any(), eq(2))).thenReturn(batch, List.of());
+        doThrow(new IllegalStateException("CRM down")).when(sink).deliver(anyList());
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.drain();
+
+        assertTrue(batch.stream().allMatch(m -> m.getPublishedAt() == null && m.getParkedAt() == null));
+        assertTrue(batch.stream().allMatch(m -> m.getAttempts() == 1 && "CRM down".equals(m.getLastError())));
+        assertTrue(batch.stream().allMatch(m -> !m.getNextAttemptAt().isBefore(before.plusSeconds(1))));
+        assertEquals(1.0, meterRegistry.get("booking.outbox.failures").counter().count());
+    }
+
+    @Test
+    void drain_shouldDeliverTheRestOfTheBatch_whenOneMessageFails() {
+        OutboxMessage good = message(1);
+        OutboxMessage bad = message(2);
+        when(outboxRepository.lockPending(any(), eq(2))).thenReturn(List.of(good, bad), List.of());
+        doAnswer(invocation -> {
+            List<OutboxMessage> messages = invocation.getArgument(0);
+            if (messages.contains(bad)) {
+                throw new IllegalArgumentException("unreadable payload");
+            }
+            return null;
+        }).when(sink).deliver(anyList());
+
+        relay.drain();
+
+        assertNotNull(good.getPublishedAt());
+        assertNull(bad.getPublishedAt());
+        assertEquals(1, bad.getAttempts());
+        assertEquals(1.0, meterRegistry.get("booking.outbox.delivered").counter().count());
+    }
+
+    @Test
+    void drain_shouldParkMessage_afterMaxAttempts() {
+        OutboxMessage message = message(1);
+        message.setAttempts(2);
+        when(outboxRepository.lockPending(any(), eq(2))).thenReturn(List.of(message));
+        doThrow(new IllegalStateException("CRM down")).when(sink).deliver(anyList());
+        when(outboxRepository.countParked()).thenReturn(1L);
+
+        relay.drain();
+
+        assertEquals(3, message.getAttempts());
+        assertNotNull(message.getParkedAt());
+        assertNull(message.getPublishedAt());
+        assertEquals(1.0, meterRegistry.get("booking.outbox.parked").gauge().value());
+    }
+
+    @Test
+    void drain_shouldReportLagOfOldestPendingMessage() {
+        when(outboxRepository.lockPending(any(), eq(2))).thenReturn(List.of());
+        when(outboxRepository.countPending()).thenReturn(5L);
+        when(outboxRepository.findOldestPendingCreatedAt()).thenReturn(LocalDateTime.now().minusSeconds(30));
+
+        relay.drain();
+
+        assertEquals(5.0, meterRegistry.get("booking.outbox.pending").gauge().value());
+        assertTrue(meterRegistry.get("booking.outbox.lag").gauge().value() >= 30.0);
+    }
+}
@@ -0,0 +1,33 @@
+package com.justlife.home.cleaning.support;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query budgets for endpoints: performs a request and fails when it sent
+ * more SQL statements than allowed. Budgets must not depend on the data
+ * volume, so an N+1 over bookings or cleaners shows up as a failure.
+ */
+public class StatementBudget {
+
+    private final MockMvc mvc;
+    private final StatementCounter counter;
+
+    public StatementBudget(MockMvc mvc, StatementCounter counter) {
+        this.mvc = mvc;
+        this.counter = counter;
+    }
+
+    public ResultActions assertStatements(RequestBuilder endpoint, int max) throws Exception {
+        counter.reset();
+        ResultActions result = mvc.perform(endpoint);
+        int executed = counter.count();
+
+        assertTrue(executed <= max,
+                () -> "Expected at most " + max + " SQL statements but " + executed + " were executed");
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.justlife.home.cleaning.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements sent to the database.
+ *
+ * Wraps every {@link DataSource} bean in a proxy that hands out proxied
+ * connections and statements; each {@code execute*} call is one round trip
+ * (a JDBC batch counts once). Statements of all threads are counted, so
+ * background jobs polling the database should be disabled in tests using it.
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    private final AtomicInteger executed = new AtomicInteger();
+
+    public int count() {
+        return executed.get();
+    }
+
+    public void reset() {
+        executed.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+    }
+
+    private Object proxy(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                executed.incrementAndGet();
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+
+            Class<?> returned = method.getReturnType();
+            if (result != null && (returned == Connection.class || Statement.class.isAssignableFrom(returned))) {
+                return proxy(returned, result);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.justlife.home.cleaning.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Import into a {@code @SpringBootTest} with MockMvc to get a {@link StatementBudget}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfig {
+
+    @Bean
+    static StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    StatementBudget statementBudget(MockMvc mvc, StatementCounter statementCounter) {
+        return new StatementBudget(mvc, statementCounter);
+    }
+}
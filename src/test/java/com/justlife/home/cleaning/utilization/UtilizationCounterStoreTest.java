@@ -0,0 +1,178 @@
+package com.justlife.home.cleaning.utilization;
+
+import com.justlife.home.cleaning.availability.utilization.UtilizationCounterStore;
+import com.justlife.home.cleaning.availability.utilization.VehicleUtilization;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculatorImpl;
+import com.justlife.home.cleaning.config.UtilizationProperties;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.entity.Vehicle;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Incrementally maintained counters must always equal the counters built
+ * from scratch for the same bookings. Every repetition uses its own fixed seed.
+ */
+class UtilizationCounterStoreTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    private UtilizationCounterStore newStore() {
+        return new UtilizationCounterStore(new FreeWindowCalculatorImpl(), new UtilizationProperties());
+    }
+
+    private List<Cleaner> roster() {
+        List<Cleaner> cleaners = new ArrayList<>();
+        for (long v = 1; v <= 2; v++) {
+            Vehicle vehicle = Vehicle.builder().id(v).name("Vehicle-" + v).build();
+            for (long c = 1; c <= 4; c++) {
+                cleaners.add(Cleaner.builder()
+                        .id(v * 10 + c)
+                        .name("Cleaner-" + v + "-" + c)
+                        .workStart(c == 4 ? LocalTime.of(10, 0) : LocalTime.of(8, 0))
+                        .workEnd(LocalTime.of(22, 0))
+                        .vehicle(vehicle)
+                        .build());
+            }
+        }
+        return cleaners;
+    }
+
+    private Booking booking(long id, LocalDateTime start, int hours, List<Cleaner> cleaners) {
+        return Booking.builder()
+                .id(id)
+                .startDateTime(start)
+                .endDateTime(start.plusHours(hours))
+                .durationHours(hours)
+                .cleaners(new ArrayList<>(cleaners))
+                .build();
+    }
+
+    private BookingSlot slotOf(Booking booking) {
+        return BookingSlot.builder()
+                .start(booking.getStartDateTime())
+                .end(booking.getEndDateTime())
+                .cleanerIds(booking.getCleaners().stream().map(Cleaner::getId).toList())
+                .build();
+    }
+
+    @Test
+    void populate_shouldSplitShiftsIntoBookedBreakAndFreeMinutes() {
+        UtilizationCounterStore store = newStore();
+        List<Cleaner> cleaners = roster();
+
+        // cleaner 11 busy 10:00-12:00, on break until 12:30; 08:00-10:00 is too short to sell with its break
+        Booking b = booking(1L, date.atTime(10, 0), 2, List.of(cleaners.getFirst()));
+
+        Map<Long, VehicleUtilization> totals = store.populate(date, store.generation(date), cleaners, List.of(b));
+
+        // three 14h shifts and one 12h shift per vehicle
+        assertEquals(new VehicleUtilization(3240, 120, 30, 3090, 120), totals.get(1L));
+        assertEquals(new VehicleUtilization(3240, 0, 0, 3240, 0), totals.get(2L));
+        assertEquals(120.0 / 3240, totals.get(1L).utilization(), 1e-9);
+    }
+
+    @RepeatedTest(100)
+    void incrementalUpdates_shouldMatchFullRebuild(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        List<Cleaner> cleaners = roster();
+
+        UtilizationCounterStore store = newStore();
+        store.populate(date, store.generation(date), cleaners, List.of());
+
+        List<Booking> bookings = new ArrayList<>();
+        long nextId = 1;
+
+        for (int step = 0; step < 30; step++) {
+            if (bookings.isEmpty() || random.nextInt(3) > 0) {
+                LocalDateTime start = date.atTime(8, 0).plusMinutes(30L * random.nextInt(24));
+                List<Cleaner> team = List.of(cleaners.get(random.nextInt(cleaners.size())));
+                Booking created = booking(nextId++, start, random.nextBoolean() ? 2 : 4, team);
+
+                bookings.add(created);
+                store.onBookingChanged(BookingChangedEvent.builder()
+                        .bookingId(created.getId())
+                        .changeType(BookingChangeType.CREATED)
+                        .current(slotOf(created))
+                        .build());
+            } else {
+                Booking moved = bookings.get(random.nextInt(bookings.size()));
+                BookingSlot previous = slotOf(moved);
+
+                LocalDateTime start = date.atTime(8, 0).plusMinutes(30L * random.nextInt(20));
+                moved.setStartDateTime(start);
+                moved.setEndDateTime(start.plusHours(moved.getDurationHours()));
+                moved.setCleaners(new ArrayList<>(List.of(cleaners.get(random.nextInt(cleaners.size())))));
+
+                store.onBookingChanged(BookingChangedEvent.builder()
+                        .bookingId(moved.getId())
+                        .changeType(BookingChangeType.UPDATED)
+                        .previous(previous)
+                        .current(slotOf(moved))
+                        .build());
+            }
+
+            Map<Long, VehicleUtilization> expected = newStore().populate(date, 0L, cleaners, bookings);
+
+            assertEquals(expected, store.get(date).orElseThrow(),
+                    "seed " + info.getCurrentRepetition() + ", step " + step);
+        }
+    }
+
+    @Test
+    void populate_shouldBeSkipped_whenWriteHappenedMeanwhile() {
+        UtilizationCounterStore store = newStore();
+        List<Cleaner> cleaners = roster();
+
+        long generation = store.generation(date);
+
+        Booking b = booking(1L, date.atTime(12, 0), 2, List.of(cleaners.getFirst()));
+        store.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(slotOf(b))
+                .build());
+
+        store.populate(date, generation, cleaners, List.of());
+
+        assertTrue(store.get(date).isEmpty());
+    }
+
+    @Test
+    void populate_shouldNotKeepDatesOutsideTheHorizon() {
+        UtilizationCounterStore store = newStore();
+        List<Cleaner> cleaners = roster();
+        LocalDate past = LocalDate.now().minusDays(1);
+        LocalDate farAhead = LocalDate.now().plusDays(new UtilizationProperties().getHorizonDays() + 1);
+
+        Map<Long, VehicleUtilization> totals = store.populate(past, store.generation(past), cleaners, List.of());
+        store.populate(farAhead, store.generation(farAhead), cleaners, List.of());
+
+        Booking b = booking(1L, farAhead.atTime(12, 0), 2, List.of(cleaners.getFirst()));
+        store.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(slotOf(b))
+                .build());
+
+        assertEquals(3240, totals.get(1L).availableMinutes());
+        assertTrue(store.get(past).isEmpty());
+        assertTrue(store.get(farAhead).isEmpty());
+        assertEquals(0L, store.generation(farAhead));
+    }
+}
@@ -0,0 +1,254 @@
+package com.justlife.home.cleaning.windows;
+
+import com.justlife.home.cleaning.availability.windows.FreeWindowCache;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculator;
+import com.justlife.home.cleaning.availability.windows.FreeWindowCalculatorImpl;
+import com.justlife.home.cleaning.constants.ApplicationConstants;
+import com.justlife.home.cleaning.dto.TimeWindowDTO;
+import com.justlife.home.cleaning.entity.Booking;
+import com.justlife.home.cleaning.entity.Cleaner;
+import com.justlife.home.cleaning.enums.BookingChangeType;
+import com.justlife.home.cleaning.event.BookingChangedEvent;
+import com.justlife.home.cleaning.event.BookingSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property-based checks: for random sequences of bookings that respect the
+ * availability rule, incremental reserve/release must always produce the same
+ * windows as a full recomputation. Every repetition uses its own fixed seed so
+ * failures are reproducible.
+ */
+class IncrementalFreeWindowTest {
+
+    private static final LocalTime[][] SHIFTS = {
+            {LocalTime.of(8, 0), LocalTime.of(22, 0)},
+            {LocalTime.of(9, 0), LocalTime.of(17, 0)},
+            {LocalTime.of(10, 30), LocalTime.of(20, 0)}
+    };
+
+    private FreeWindowCalculator calculator;
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    @BeforeEach
+    void setup() {
+        calculator = new FreeWindowCalculatorImpl();
+    }
+
+    private Cleaner cleaner(long id, Random random) {
+        LocalTime[] shift = SHIFTS[random.nextInt(SHIFTS.length)];
+        return Cleaner.builder()
+                .id(id)
+                .name("Cleaner-" + id)
+                .workStart(shift[0])
+                .workEnd(shift[1])
+                .build();
+    }
+
+    private Booking randomBooking(Random random) {
+        // 06:00 .. 21:45 in 15 minute steps, may start or end outside the shift
+        LocalDateTime start = LocalDateTime.of(date, LocalTime.of(6, 0))
+                .plusMinutes(15L * random.nextInt(64));
+        LocalDateTime end = start.plusHours(random.nextBoolean() ? 2 : 4);
+        if (!end.toLocalDate().equals(date)) {
+            end = LocalDateTime.of(date, LocalTime.of(23, 59));
+        }
+
+        Booking b = new Booking();
+        b.setStartDateTime(start);
+        b.setEndDateTime(end);
+        return b;
+    }
+
+    /**
+     * Same overlap rule as CleanerAvailabilityRuleImpl.
+     */
+    private boolean fits(Booking candidate, List<Booking> existing) {
+        return existing.stream().noneMatch(b ->
+                candidate.getStartDateTime().isBefore(b.getEndDateTime().plusMinutes(ApplicationConstants.BREAK_MINUTES))
+                        && candidate.getEndDateTime().isAfter(b.getStartDateTime().minusMinutes(ApplicationConstants.BREAK_MINUTES)));
+    }
+
+    @RepeatedTest(300)
+    void incrementalUpdates_shouldMatchFullRecomputation(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        Cleaner cleaner = cleaner(1L, random);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<TimeWindowDTO> windows = calculator.computeFreeWindows(cleaner, date, bookings);
+
+        for (int step = 0; step < 25; step++) {
+            int action = random.nextInt(3);
+
+            if (action == 0 || bookings.isEmpty()) {
+                Booking added = randomBooking(random);
+                if (!fits(added, bookings)) {
+                    continue;
+                }
+                bookings.add(added);
+                windows = calculator.reserveInterval(cleaner, date, windows,
+                        added.getStartDateTime(), added.getEndDateTime());
+
+            } else if (action == 1) {
+                Booking removed = bookings.remove(random.nextInt(bookings.size()));
+                windows = calculator.releaseInterval(cleaner, date, windows,
+                        removed.getStartDateTime(), removed.getEndDateTime());
+
+            } else {
+                // move: release old interval, reserve new one
+                Booking moved = bookings.remove(random.nextInt(bookings.size()));
+                Booking target = randomBooking(random);
+                if (!fits(target, bookings)) {
+                    bookings.add(moved);
+                    continue;
+                }
+                bookings.add(target);
+                windows = calculator.releaseInterval(cleaner, date, windows,
+                        moved.getStartDateTime(), moved.getEndDateTime());
+                windows = calculator.reserveInterval(cleaner, date, windows,
+                        target.getStartDateTime(), target.getEndDateTime());
+            }
+
+            List<TimeWindowDTO> expected = calculator.computeFreeWindows(cleaner, date, bookings);
+            assertEquals(expected, windows,
+                    "seed " + info.getCurrentRepetition() + ", step " + step + ", bookings " + bookings.size());
+        }
+    }
+
+    @RepeatedTest(100)
+    void releaseAfterReserve_shouldRestoreOriginalWindows(RepetitionInfo info) {
+        Random random = new Random(10_000L + info.getCurrentRepetition());
+        Cleaner cleaner = cleaner(1L, random);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Booking b = randomBooking(random);
+            if (fits(b, bookings)) {
+                bookings.add(b);
+            }
+        }
+
+        List<TimeWindowDTO> original = calculator.computeFreeWindows(cleaner, date, bookings);
+
+        Booking extra = randomBooking(random);
+        if (!fits(extra, bookings)) {
+            return;
+        }
+
+        List<TimeWindowDTO> reserved = calculator.reserveInterval(cleaner, date, original,
+                extra.getStartDateTime(), extra.getEndDateTime());
+        List<TimeWindowDTO> restored = calculator.releaseInterval(cleaner, date, reserved,
+                extra.getStartDateTime(), extra.getEndDateTime());
+
+        assertEquals(original, restored);
+    }
+
+    @Test
+    void cachePatch_shouldLeaveOtherCleanersUntouched() {
+        FreeWindowCache cache = new FreeWindowCache(calculator);
+        Random random = new Random(42);
+
+        List<Cleaner> cleaners = List.of(cleaner(1L, random), cleaner(2L, random), cleaner(3L, random));
+        Map<Long, List<TimeWindowDTO>> initial = Map.of(
+                1L, calculator.computeFreeWindows(cleaners.get(0), date, List.of()),
+                2L, calculator.computeFreeWindows(cleaners.get(1), date, List.of()),
+                3L, calculator.computeFreeWindows(cleaners.get(2), date, List.of())
+        );
+
+        cache.populate(date, cache.generation(date), cleaners, initial);
+        Map<Long, List<TimeWindowDTO>> before = cache.get(date).orElseThrow();
+
+        LocalDateTime start = LocalDateTime.of(date, LocalTime.of(11, 0));
+        cache.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(7L)
+                .vehicleId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(BookingSlot.builder()
+                        .start(start)
+                        .end(start.plusHours(2))
+                        .cleanerIds(List.of(2L))
+                        .build())
+                .build());
+
+        Map<Long, List<TimeWindowDTO>> after = cache.get(date).orElseThrow();
+
+        assertSame(before.get(1L), after.get(1L));
+        assertSame(before.get(3L), after.get(3L));
+        assertNotEquals(before.get(2L), after.get(2L));
+
+        Booking booking = new Booking();
+        booking.setStartDateTime(start);
+        booking.setEndDateTime(start.plusHours(2));
+        assertEquals(calculator.computeFreeWindows(cleaners.get(1), date, List.of(booking)), after.get(2L));
+    }
+
+    @Test
+    void populate_shouldBeSkipped_whenWriteHappenedMeanwhile() {
+        FreeWindowCache cache = new FreeWindowCache(calculator);
+        Cleaner c = cleaner(1L, new Random(1));
+
+        long generation = cache.generation(date);
+
+        // a write for the date commits while the view is being computed
+        cache.onBookingChanged(BookingChangedEvent.builder()
+                .bookingId(1L)
+                .changeType(BookingChangeType.CREATED)
+                .current(BookingSlot.builder()
+                        .start(LocalDateTime.of(date, LocalTime.of(12, 0)))
+                        .end(LocalDateTime.of(date, LocalTime.of(14, 0)))
+                        .cleanerIds(List.of(1L))
+                        .build())
+                .build());
+
+        cache.populate(date, generation, List.of(c),
+                Map.of(1L, calculator.computeFreeWindows(c, date, List.of())));
+
+        assertTrue(cache.get(date).isEmpty());
+    }
+
+    @Test
+    void populate_shouldMergeConcurrentZoneViews_andKeepCachedCleaners() throws Exception {
+        FreeWindowCache cache = new FreeWindowCache(calculator);
+        Random random = new Random(7);
+        List<Cleaner> cleaners = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            cleaners.add(cleaner(id, random));
+        }
+
+        // one zone is cached before the others are populated concurrently
+        Cleaner cached = cleaners.getFirst();
+        List<TimeWindowDTO> cachedWindows = calculator.computeFreeWindows(cached, date, List.of());
+        cache.populate(date, cache.generation(date), List.of(cached), Map.of(cached.getId(), cachedWindows));
+
+        long generation = cache.generation(date);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> cleaners.subList(1, cleaners.size()).parallelStream().forEach(c ->
+                    cache.populate(date, generation, List.of(c),
+                            Map.of(c.getId(), calculator.computeFreeWindows(c, date, List.of())))))
+                    .get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Long, List<TimeWindowDTO>> windows = cache.get(date).orElseThrow();
+        assertEquals(cleaners.size(), windows.size());
+        assertSame(cachedWindows.getFirst(), windows.get(cached.getId()).getFirst());
+        for (Cleaner c : cleaners) {
+            assertEquals(calculator.computeFreeWindows(c, date, List.of()), windows.get(c.getId()));
+        }
+    }
+}